@@ -31,6 +31,8 @@ const CourseList = () => {
   const [loading, setLoading] = useState(true);
   const [searchTerm, setSearchTerm] = useState('');
   const [filteredCourses, setFilteredCourses] = useState([]);
+  // Live seat counts by course code, newer than those in the loaded list
+  const [availability, setAvailability] = useState({});
   const [alert, setAlert] = useState({ open: false, message: '', severity: 'success' });
   const [confirmDialog, setConfirmDialog] = useState({
     open: false,
@@ -39,22 +41,52 @@ const CourseList = () => {
     id: null,
   });
 
+  useEffect(() => courseService.subscribeToAvailability(
+    (capacities) => {
+      setAvailability((previous) => {
+        const next = { ...previous };
+        capacities.forEach((capacity) => {
+          next[capacity.courseCode] = capacity;
+        });
+        return next;
+      });
+    },
+    async () => {
+      try {
+        const data = await courseService.getAllCourses();
+        setAvailability({});
+        setCourses(data);
+      } catch (error) {
+        console.error('Error refreshing courses:', error);
+      }
+    }
+  ), []);
+
   useEffect(() => {
     fetchCourses();
   }, []);
 
   useEffect(() => {
-    if (searchTerm) {
-      const filtered = courses.filter(
-        (course) =>
-          course.courseCode.toLowerCase().includes(searchTerm.toLowerCase()) ||
-          course.name.toLowerCase().includes(searchTerm.toLowerCase()) ||
-          course.description.toLowerCase().includes(searchTerm.toLowerCase())
-      );
-      setFilteredCourses(filtered);
-    } else {
+    if (!searchTerm.trim()) {
       setFilteredCourses(courses);
+      return undefined;
     }
+    // Search on the server once typing pauses; responses to older terms are ignored
+    let cancelled = false;
+    const timer = setTimeout(async () => {
+      try {
+        const results = await courseService.searchCourses(searchTerm);
+        if (!cancelled) {
+          setFilteredCourses(results);
+        }
+      } catch (error) {
+        console.error('Error searching courses:', error);
+      }
+    }, 250);
+    return () => {
+      cancelled = true;
+      clearTimeout(timer);
+    };
   }, [searchTerm, courses]);
 
   const fetchCourses = async () => {
@@ -75,6 +107,8 @@ const CourseList = () => {
     }
   };
 
+  const seatsOf = (course) => availability[course.courseCode] || course;
+
   const handleDeleteClick = (id) => {
     const course = courses.find((c) => c.id === id);
     setConfirmDialog({
@@ -178,10 +212,10 @@ const CourseList = () => {
                         variant="outlined"
                       />
                       <Chip
-                        label={`${course.currentEnrollment}/${course.maxCapacity} Students`}
+                        label={`${seatsOf(course).currentEnrollment}/${seatsOf(course).maxCapacity} Students`}
                         size="small"
                         color={
-                          course.currentEnrollment >= course.maxCapacity
+                          seatsOf(course).currentEnrollment >= seatsOf(course).maxCapacity
                             ? 'error'
                             : 'success'
                         }
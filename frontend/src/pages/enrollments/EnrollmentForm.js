@@ -37,13 +37,8 @@ const EnrollmentForm = () => {
   const [availableCourses, setAvailableCourses] = useState([]);
   const [selectedStudent, setSelectedStudent] = useState('');
   const [selectedCourse, setSelectedCourse] = useState('');
-  const [semester, setSemester] = useState('Fall 2023');
-  const [checkingPrerequisites, setCheckingPrerequisites] = useState(false);
-  const [checkingTimeConflict, setCheckingTimeConflict] = useState(false);
-  const [checkingCapacity, setCheckingCapacity] = useState(false);
-  const [prerequisites, setPrerequisites] = useState({ checked: false, passed: false });
-  const [timeConflict, setTimeConflict] = useState({ checked: false, passed: false });
-  const [capacity, setCapacity] = useState({ checked: false, passed: false });
+  const [checkingEligibility, setCheckingEligibility] = useState(false);
+  const [eligibility, setEligibility] = useState(null);
   const [alert, setAlert] = useState({ open: false, message: '', severity: 'success' });
 
   useEffect(() => {
@@ -106,9 +101,7 @@ const EnrollmentForm = () => {
   };
 
   const resetChecks = () => {
-    setPrerequisites({ checked: false, passed: false });
-    setTimeConflict({ checked: false, passed: false });
-    setCapacity({ checked: false, passed: false });
+    setEligibility(null);
   };
 
   const handleNext = () => {
@@ -125,35 +118,16 @@ const EnrollmentForm = () => {
 
   const checkEnrollmentRequirements = async () => {
     try {
-      // Check prerequisites
-      setCheckingPrerequisites(true);
+      // All rules are evaluated by the server in one request
+      setCheckingEligibility(true);
       const student = students.find(s => s.id === selectedStudent);
       const course = courses.find(c => c.id === selectedCourse);
       
-      const prereqResult = await enrollmentService.checkPrerequisites(
+      const result = await enrollmentService.checkEligibility(
         student.studentId,
         course.courseCode
       );
-      setPrerequisites({ checked: true, passed: prereqResult });
-      setCheckingPrerequisites(false);
-      
-      // Check time conflict
-      setCheckingTimeConflict(true);
-      const conflictResult = await enrollmentService.checkTimeConflict(
-        student.studentId,
-        course.courseCode,
-        semester
-      );
-      setTimeConflict({ checked: true, passed: !conflictResult });
-      setCheckingTimeConflict(false);
-      
-      // Check capacity
-      setCheckingCapacity(true);
-      const capacityResult = await enrollmentService.checkCourseCapacity(
-        course.courseCode
-      );
-      setCapacity({ checked: true, passed: capacityResult });
-      setCheckingCapacity(false);
+      setEligibility(result);
     } catch (error) {
       console.error('Error checking enrollment requirements:', error);
       setAlert({
@@ -161,27 +135,57 @@ const EnrollmentForm = () => {
         message: 'Failed to check enrollment requirements',
         severity: 'error',
       });
-      setCheckingPrerequisites(false);
-      setCheckingTimeConflict(false);
-      setCheckingCapacity(false);
+    } finally {
+      setCheckingEligibility(false);
     }
   };
 
+  const failureFor = (reason) => eligibility?.failures.find(f => f.reason === reason);
+
+  const renderCheck = (label, reason, passedText, failedText) => {
+    const failed = failureFor(reason);
+    return (
+      <Box sx={{ mb: 1, display: 'flex', alignItems: 'center' }}>
+        {checkingEligibility ? (
+          <CircularProgress size={20} sx={{ mr: 1 }} />
+        ) : eligibility ? (
+          failed ? (
+            <ErrorIcon color="error" sx={{ mr: 1 }} />
+          ) : (
+            <CheckCircleIcon color="success" sx={{ mr: 1 }} />
+          )
+        ) : null}
+        <Typography>
+          {label}: {checkingEligibility
+            ? 'Checking...'
+            : eligibility
+            ? failed
+              ? failedText
+              : passedText
+            : 'Not checked'}
+        </Typography>
+      </Box>
+    );
+  };
+
   const handleEnroll = async () => {
     try {
       setLoading(true);
       const student = students.find(s => s.id === selectedStudent);
       const course = courses.find(c => c.id === selectedCourse);
       
-      await enrollmentService.enrollStudentInCourse(
+      const enrollment = await enrollmentService.enrollStudentInCourse(
         student.studentId,
         course.courseCode
       );
       
+      // A full course puts the student on its waitlist instead of rejecting the enrollment
       setAlert({
         open: true,
-        message: 'Student enrolled successfully',
-        severity: 'success',
+        message: enrollment.status === 'WAITLISTED'
+          ? 'Course is full; student added to the waitlist'
+          : 'Student enrolled successfully',
+        severity: enrollment.status === 'WAITLISTED' ? 'info' : 'success',
       });
       
       // Reset form
@@ -207,7 +211,10 @@ const EnrollmentForm = () => {
 
   const canProceedToStep2 = selectedStudent !== '';
   const canProceedToStep3 = selectedCourse !== '';
-  const canEnroll = prerequisites.passed && timeConflict.passed && capacity.passed;
+  // A full course, or one with students already waiting, still takes the student onto its waitlist
+  const canJoinWaitlist = eligibility?.eligible === false
+    && eligibility.failures.every(f => f.reason === 'COURSE_FULL');
+  const canEnroll = eligibility?.eligible === true || canJoinWaitlist;
 
   if (loading && activeStep !== 2) {
     return <LoadingSpinner />;
@@ -302,21 +309,6 @@ const EnrollmentForm = () => {
                   )}
                 </TextField>
               </Grid>
-              
-              <Grid item xs={12}>
-                <TextField
-                  select
-                  fullWidth
-                  label="Semester"
-                  value={semester}
-                  onChange={(e) => setSemester(e.target.value)}
-                  required
-                >
-                  <MenuItem value="Fall 2023">Fall 2023</MenuItem>
-                  <MenuItem value="Spring 2024">Spring 2024</MenuItem>
-                  <MenuItem value="Summer 2024">Summer 2024</MenuItem>
-                </TextField>
-              </Grid>
             </Grid>
             
             <Box sx={{ display: 'flex', justifyContent: 'space-between', mt: 3 }}>
@@ -368,93 +360,33 @@ const EnrollmentForm = () => {
                   Enrollment Checks
                 </Typography>
                 
-                <Box sx={{ mb: 1, display: 'flex', alignItems: 'center' }}>
-                  {checkingPrerequisites ? (
-                    <CircularProgress size={20} sx={{ mr: 1 }} />
-                  ) : prerequisites.checked ? (
-                    prerequisites.passed ? (
-                      <CheckCircleIcon color="success" sx={{ mr: 1 }} />
-                    ) : (
-                      <ErrorIcon color="error" sx={{ mr: 1 }} />
-                    )
-                  ) : null}
-                  <Typography>
-                    Prerequisites: {checkingPrerequisites
-                      ? 'Checking...'
-                      : prerequisites.checked
-                      ? prerequisites.passed
-                        ? 'Passed'
-                        : 'Not met'
-                      : 'Not checked'}
-                  </Typography>
-                </Box>
-                
-                <Box sx={{ mb: 1, display: 'flex', alignItems: 'center' }}>
-                  {checkingTimeConflict ? (
-                    <CircularProgress size={20} sx={{ mr: 1 }} />
-                  ) : timeConflict.checked ? (
-                    timeConflict.passed ? (
-                      <CheckCircleIcon color="success" sx={{ mr: 1 }} />
-                    ) : (
-                      <ErrorIcon color="error" sx={{ mr: 1 }} />
-                    )
-                  ) : null}
-                  <Typography>
-                    Schedule Conflict: {checkingTimeConflict
-                      ? 'Checking...'
-                      : timeConflict.checked
-                      ? timeConflict.passed
-                        ? 'No conflicts'
-                        : 'Conflict detected'
-                      : 'Not checked'}
-                  </Typography>
-                </Box>
-                
-                <Box sx={{ mb: 1, display: 'flex', alignItems: 'center' }}>
-                  {checkingCapacity ? (
-                    <CircularProgress size={20} sx={{ mr: 1 }} />
-                  ) : capacity.checked ? (
-                    capacity.passed ? (
-                      <CheckCircleIcon color="success" sx={{ mr: 1 }} />
-                    ) : (
-                      <ErrorIcon color="error" sx={{ mr: 1 }} />
-                    )
-                  ) : null}
-                  <Typography>
-                    Course Capacity: {checkingCapacity
-                      ? 'Checking...'
-                      : capacity.checked
-                      ? capacity.passed
-                        ? 'Available'
-                        : 'Course full'
-                      : 'Not checked'}
-                  </Typography>
-                </Box>
+                {renderCheck('Already Enrolled', 'ALREADY_ENROLLED', 'No', 'Yes')}
+                {renderCheck('Prerequisites', 'PREREQUISITES_NOT_MET', 'Passed', 'Not met')}
+                {renderCheck(
+                  eligibility?.semester ? `Schedule Conflict (${eligibility.semester})` : 'Schedule Conflict',
+                  'TIME_CONFLICT',
+                  'No conflicts',
+                  'Conflict detected'
+                )}
+                {renderCheck(
+                  'Course Capacity',
+                  'COURSE_FULL',
+                  'Available',
+                  `Course full, ${eligibility?.waitlistSize ?? 0} on the waitlist`
+                )}
               </Grid>
               
-              {prerequisites.checked && !prerequisites.passed && (
-                <Grid item xs={12}>
-                  <Alert severity="error">
-                    Student does not meet the prerequisites for this course.
-                  </Alert>
-                </Grid>
-              )}
-              
-              {timeConflict.checked && !timeConflict.passed && (
-                <Grid item xs={12}>
-                  <Alert severity="error">
-                    This course conflicts with another course in the student's schedule.
-                  </Alert>
-                </Grid>
-              )}
-              
-              {capacity.checked && !capacity.passed && (
-                <Grid item xs={12}>
-                  <Alert severity="error">
-                    This course has reached its maximum capacity.
+              {eligibility?.failures.map((failure) => (
+                <Grid item xs={12} key={failure.reason}>
+                  <Alert severity={canJoinWaitlist ? 'info' : 'error'}>
+                    {failure.reason === 'PREREQUISITES_NOT_MET' && eligibility.missingPrerequisites?.length
+                      ? `${failure.message}: missing ${eligibility.missingPrerequisites.join(', ')}`
+                      : failure.reason === 'COURSE_FULL'
+                      ? `${failure.message}. ${eligibility.waitlistSize} student(s) waiting; enrolling joins the waitlist.`
+                      : failure.message}
                   </Alert>
                 </Grid>
-              )}
+              ))}
             </Grid>
             
             <Box sx={{ display: 'flex', justifyContent: 'space-between', mt: 3 }}>
@@ -465,9 +397,9 @@ const EnrollmentForm = () => {
                 variant="contained"
                 color="primary"
                 onClick={handleEnroll}
-                disabled={!canEnroll || checkingPrerequisites || checkingTimeConflict || checkingCapacity}
+                disabled={!canEnroll || checkingEligibility}
               >
-                Enroll
+                {canJoinWaitlist ? 'Join waitlist' : 'Enroll'}
               </Button>
             </Box>
           </Box>
@@ -39,18 +39,26 @@ const StudentList = () => {
   }, []);
 
   useEffect(() => {
-    if (searchTerm) {
-      const filtered = students.filter(
-        (student) =>
-          student.studentId.toLowerCase().includes(searchTerm.toLowerCase()) ||
-          student.firstName.toLowerCase().includes(searchTerm.toLowerCase()) ||
-          student.lastName.toLowerCase().includes(searchTerm.toLowerCase()) ||
-          student.email.toLowerCase().includes(searchTerm.toLowerCase())
-      );
-      setFilteredStudents(filtered);
-    } else {
+    if (!searchTerm.trim()) {
       setFilteredStudents(students);
+      return undefined;
     }
+    // Search on the server once typing pauses; responses to older terms are ignored
+    let cancelled = false;
+    const timer = setTimeout(async () => {
+      try {
+        const results = await studentService.searchStudents(searchTerm);
+        if (!cancelled) {
+          setFilteredStudents(results);
+        }
+      } catch (error) {
+        console.error('Error searching students:', error);
+      }
+    }, 250);
+    return () => {
+      cancelled = true;
+      clearTimeout(timer);
+    };
   }, [searchTerm, students]);
 
   const fetchStudents = async () => {
@@ -19,6 +19,27 @@ const courseService = {
     return response.data;
   },
 
+  // Search courses by keywords in code, name and description, best matches first
+  searchCourses: async (query, filters = {}, limit = 100) => {
+    const response = await api.get('/courses/search', { params: { q: query, ...filters, limit } });
+    return response.data;
+  },
+
+  // Receive seat counts of courses as enrollments commit; returns a function that closes the stream.
+  // onReconnect runs whenever the stream comes back after a drop, since updates sent meanwhile are lost
+  subscribeToAvailability: (onUpdate, onReconnect) => {
+    const source = new EventSource(`${api.defaults.baseURL}/courses/availability/stream`);
+    let opened = false;
+    source.onopen = () => {
+      if (opened && onReconnect) {
+        onReconnect();
+      }
+      opened = true;
+    };
+    source.addEventListener('availability', (event) => onUpdate(JSON.parse(event.data)));
+    return () => source.close();
+  },
+
   // Get enrolled courses by student ID
   getEnrolledCoursesByStudentId: async (studentId) => {
     const response = await api.get(`/courses/student/${studentId}`);
@@ -37,21 +37,9 @@ const enrollmentService = {
     return response.data;
   },
 
-  // Check prerequisites
-  checkPrerequisites: async (studentId, courseCode) => {
-    const response = await api.get(`/enrollments/check-prerequisites?studentId=${studentId}&courseCode=${courseCode}`);
-    return response.data;
-  },
-
-  // Check time conflict
-  checkTimeConflict: async (studentId, courseCode, semester) => {
-    const response = await api.get(`/enrollments/check-time-conflict?studentId=${studentId}&courseCode=${courseCode}&semester=${semester}`);
-    return response.data;
-  },
-
-  // Check course capacity
-  checkCourseCapacity: async (courseCode) => {
-    const response = await api.get(`/enrollments/check-capacity?courseCode=${courseCode}`);
+  // Check every enrollment rule in one request
+  checkEligibility: async (studentId, courseCode) => {
+    const response = await api.get(`/enrollments/eligibility?studentId=${studentId}&courseCode=${courseCode}`);
     return response.data;
   },
 };
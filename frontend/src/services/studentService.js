@@ -19,6 +19,12 @@ const studentService = {
     return response.data;
   },
 
+  // Search students by studentId, name or email, best matches first
+  searchStudents: async (query, limit = 100) => {
+    const response = await api.get('/students/search', { params: { q: query, limit } });
+    return response.data;
+  },
+
   // Create a new student
   createStudent: async (studentData) => {
     const response = await api.post('/students', studentData);
@@ -4,10 +4,12 @@ import com.enrollment.system.model.Course;
 import com.enrollment.system.model.Enrollment;
 import com.enrollment.system.model.Schedule;
 import com.enrollment.system.model.Student;
+import com.enrollment.system.model.Term;
 import com.enrollment.system.repository.CourseRepository;
 import com.enrollment.system.repository.EnrollmentRepository;
 import com.enrollment.system.repository.ScheduleRepository;
 import com.enrollment.system.repository.StudentRepository;
+import com.enrollment.system.repository.TermRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Profile;
@@ -25,17 +27,20 @@ public class DataLoader implements CommandLineRunner {
     private final CourseRepository courseRepository;
     private final EnrollmentRepository enrollmentRepository;
     private final ScheduleRepository scheduleRepository;
+    private final TermRepository termRepository;
 
     @Autowired
     public DataLoader(
             StudentRepository studentRepository,
             CourseRepository courseRepository,
             EnrollmentRepository enrollmentRepository,
-            ScheduleRepository scheduleRepository) {
+            ScheduleRepository scheduleRepository,
+            TermRepository termRepository) {
         this.studentRepository = studentRepository;
         this.courseRepository = courseRepository;
         this.enrollmentRepository = enrollmentRepository;
         this.scheduleRepository = scheduleRepository;
+        this.termRepository = termRepository;
     }
 
     @Override
@@ -136,10 +141,14 @@ public class DataLoader implements CommandLineRunner {
         schedule5.setSemester("Fall 2023");
         scheduleRepository.save(schedule5);
 
+        // Create term
+        Term term = termRepository.save(new Term(null, "Fall 2023", Term.TermStatus.OPEN));
+
         // Create enrollments
         Enrollment enrollment1 = new Enrollment();
         enrollment1.setStudent(student1);
         enrollment1.setCourse(course1);
+        enrollment1.setTerm(term);
         enrollment1.setEnrollmentDate(LocalDateTime.now().minusDays(10));
         enrollment1.setStatus(Enrollment.EnrollmentStatus.ENROLLED);
         enrollmentRepository.save(enrollment1);
@@ -147,6 +156,7 @@ public class DataLoader implements CommandLineRunner {
         Enrollment enrollment2 = new Enrollment();
         enrollment2.setStudent(student2);
         enrollment2.setCourse(course1);
+        enrollment2.setTerm(term);
         enrollment2.setEnrollmentDate(LocalDateTime.now().minusDays(8));
         enrollment2.setStatus(Enrollment.EnrollmentStatus.ENROLLED);
         enrollmentRepository.save(enrollment2);
@@ -0,0 +1,53 @@
+package com.enrollment.system.config;
+
+import com.enrollment.system.service.metrics.EnrollmentMetrics;
+import com.enrollment.system.service.metrics.QueryCounter;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Wiring for the metrics exported at /actuator/prometheus. HTTP endpoints and the
+ * Hikari pool are timed by Spring Boot itself; this adds @Timed service methods,
+ * per-request JPA statement counts and the cap on per-course meters.
+ */
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+    private final QueryCountInterceptor queryCountInterceptor;
+
+    @Autowired
+    public MetricsConfig(QueryCountInterceptor queryCountInterceptor) {
+        this.queryCountInterceptor = queryCountInterceptor;
+    }
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCounterCustomizer(QueryCounter queryCounter) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, queryCounter);
+    }
+
+    // Courses beyond the limit are not exported rather than growing the registry without bound.
+    // Static so the registry, which applies it, does not depend on this configuration's interceptor.
+    @Bean
+    public static MeterFilter courseTagLimit(@Value("${enrollment.metrics.max-course-tags:1000}") int maxCourseTags) {
+        return MeterFilter.maximumAllowableTags(EnrollmentMetrics.ATTEMPTS, "course", maxCourseTags, MeterFilter.deny());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(queryCountInterceptor);
+    }
+}
@@ -0,0 +1,45 @@
+package com.enrollment.system.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/**
+ * Reads that fill node-local caches, which must come from the primary wherever they run.
+ *
+ * A cache filled from a lagging replica would keep the old rows until its next invalidation,
+ * and the change that should have invalidated it may already have been applied. Outside a
+ * transaction, or inside a read-write one, pinning the primary is enough. A read-only
+ * transaction may already hold a replica connection, so with a replica configured the read
+ * runs in a transaction of its own on the primary, and its entities come back detached.
+ */
+@Component
+public class PrimaryReads {
+
+    private final boolean replicaConfigured;
+    private final TransactionTemplate separateTransaction;
+
+    @Autowired
+    public PrimaryReads(
+            PlatformTransactionManager transactionManager,
+            @Value("${enrollment.datasource.replica.jdbc-url:}") String replicaUrl) {
+        this.replicaConfigured = !replicaUrl.isBlank();
+        this.separateTransaction = new TransactionTemplate(transactionManager);
+        separateTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        separateTransaction.setReadOnly(true);
+    }
+
+    public <T> T read(Supplier<T> work) {
+        if (replicaConfigured && TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return ReadWriteRouting.onPrimary(() -> separateTransaction.execute(status -> work.get()));
+        }
+        return ReadWriteRouting.onPrimary(work);
+    }
+}
@@ -0,0 +1,84 @@
+package com.enrollment.system.config;
+
+import com.enrollment.system.service.metrics.QueryCount;
+import com.enrollment.system.service.metrics.QueryCounter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Records how many JPA statements each request issued, tagged like
+ * http.server.requests with the method and URI template. Counting covers the
+ * handler and response serialization; work an async handler hands to another
+ * thread is not included.
+ *
+ * Requests that issue more statements than the configured budget are logged, which
+ * is how a new per-row query shows up long before it hurts. With fail-on-exceed the
+ * statement over budget fails the request instead, for development and perf runs.
+ */
+@Component
+public class QueryCountInterceptor implements AsyncHandlerInterceptor {
+
+    public static final String QUERIES = "http.server.requests.queries";
+
+    private static final Logger log = LoggerFactory.getLogger(QueryCountInterceptor.class);
+
+    private final QueryCounter queryCounter;
+    private final MeterRegistry meterRegistry;
+    private final int maxStatements;
+    private final boolean failOnExceed;
+
+    @Autowired
+    public QueryCountInterceptor(
+            QueryCounter queryCounter,
+            MeterRegistry meterRegistry,
+            @Value("${enrollment.query-budget.max-statements:50}") int maxStatements,
+            @Value("${enrollment.query-budget.fail-on-exceed:false}") boolean failOnExceed) {
+        this.queryCounter = queryCounter;
+        this.meterRegistry = meterRegistry;
+        this.maxStatements = maxStatements;
+        this.failOnExceed = failOnExceed;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        queryCounter.start(failOnExceed ? maxStatements : 0);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        record(request);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        record(request);
+    }
+
+    // Helper method to stop counting and record the total under the matched URI template
+    private void record(HttpServletRequest request) {
+        QueryCount queries = queryCounter.stop();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        if (maxStatements > 0 && queries.getTotal() > maxStatements) {
+            log.warn("{} {} issued {} SQL statements, over the budget of {} ({})",
+                    request.getMethod(), uri, queries.getTotal(), maxStatements, queries);
+        }
+        DistributionSummary.builder(QUERIES)
+                .description("JPA statements issued per HTTP request")
+                .baseUnit("queries")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(queries.getTotal());
+    }
+}
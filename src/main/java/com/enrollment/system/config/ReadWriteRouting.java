@@ -0,0 +1,53 @@
+package com.enrollment.system.config;
+
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Supplier;
+
+/**
+ * Decides which database a new connection goes to when a read replica is configured.
+ *
+ * Connections opened for a read-only transaction go to the replica; everything else,
+ * including any work inside {@link #onPrimary}, goes to the primary. A transaction keeps
+ * the connection it opened first, so pinning only affects transactions started inside it.
+ */
+public final class ReadWriteRouting {
+
+    public enum Target {
+        PRIMARY, REPLICA
+    }
+
+    private static final ThreadLocal<Integer> PINNED = ThreadLocal.withInitial(() -> 0);
+
+    private ReadWriteRouting() {
+    }
+
+    public static Target currentTarget() {
+        boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        return readOnly && PINNED.get() == 0 ? Target.REPLICA : Target.PRIMARY;
+    }
+
+    // Runs the work with every read on the primary, for reads that must see the latest commit
+    public static <T> T onPrimary(Supplier<T> work) {
+        pin();
+        try {
+            return work.get();
+        } finally {
+            unpin();
+        }
+    }
+
+    // Pins must be paired with unpin in a finally block on the same thread
+    static void pin() {
+        PINNED.set(PINNED.get() + 1);
+    }
+
+    static void unpin() {
+        int depth = PINNED.get() - 1;
+        if (depth == 0) {
+            PINNED.remove();
+        } else {
+            PINNED.set(depth);
+        }
+    }
+}
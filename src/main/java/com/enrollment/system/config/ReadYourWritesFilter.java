@@ -0,0 +1,75 @@
+package com.enrollment.system.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Lets a client read its own writes while the replica catches up.
+ *
+ * Every POST, PUT, PATCH or DELETE sets a short-lived cookie on the response. A request
+ * that carries the cookie runs with all of its reads on the primary, so a student who
+ * just enrolled sees the enrollment on the next page load. The cookie lives for the
+ * configured window, which should cover the replica's usual lag; a zero window turns
+ * this off. Clients without a cookie jar can send the cookie header themselves.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String COOKIE = "read-your-writes";
+
+    private final int maxAgeSeconds;
+
+    public ReadYourWritesFilter(Duration window) {
+        this.maxAgeSeconds = (int) Math.min(Integer.MAX_VALUE, (window.toMillis() + 999) / 1000);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (maxAgeSeconds == 0) {
+            chain.doFilter(request, response);
+            return;
+        }
+        // Set before the handler runs, since the response may be committed by the time it returns
+        if (isWrite(request)) {
+            Cookie cookie = new Cookie(COOKIE, "1");
+            cookie.setPath(request.getContextPath().isEmpty() ? "/" : request.getContextPath());
+            cookie.setMaxAge(maxAgeSeconds);
+            cookie.setHttpOnly(true);
+            response.addCookie(cookie);
+        }
+        if (!hasCookie(request)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        ReadWriteRouting.pin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReadWriteRouting.unpin();
+        }
+    }
+
+    private static boolean isWrite(HttpServletRequest request) {
+        String method = request.getMethod();
+        return "POST".equals(method) || "PUT".equals(method) || "PATCH".equals(method) || "DELETE".equals(method);
+    }
+
+    private static boolean hasCookie(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (COOKIE.equals(cookie.getName())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,33 @@
+package com.enrollment.system.config;
+
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Stops the virtual-threads profile from starting on a JVM without virtual threads.
+ *
+ * Before Java 21 Spring ignores spring.threads.virtual.enabled and keeps Tomcat's platform
+ * worker pool, but the profile's pool settings still apply: 40 connections held open for
+ * request threads that can never use more than the workers do. Failing at startup makes
+ * the mismatch visible instead of leaving a deployment running on the wrong sizing.
+ */
+@Configuration
+@Profile("virtual-threads")
+public class VirtualThreadsGuard {
+
+    static final int MIN_FEATURE_VERSION = 21;
+
+    // Static and run before any singleton, so the pool is never created on an unsupported JVM
+    @Bean
+    public static BeanFactoryPostProcessor virtualThreadsRequireJava21() {
+        return beanFactory -> {
+            int feature = Runtime.version().feature();
+            if (feature < MIN_FEATURE_VERSION) {
+                throw new IllegalStateException("The virtual-threads profile needs Java " + MIN_FEATURE_VERSION
+                        + " or later, but this JVM is Java " + feature + "; start without the profile");
+            }
+        };
+    }
+}
@@ -0,0 +1,72 @@
+package com.enrollment.system.controller;
+
+import com.enrollment.system.config.WireFormatConfig;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Answers a GET from its ETag alone when the client already holds the current version.
+ *
+ * The tag must be taken before the body is read, so that a change committed in between
+ * leaves the client with an older tag rather than a stale body under a newer one. On a
+ * match the body supplier is never called: no query runs and nothing is serialized.
+ * Responses ask clients to revalidate on every use, so browsers resend If-None-Match
+ * by themselves and hand the cached body back to the application on a 304.
+ *
+ * A strong tag names one exact body, so the CBOR and Smile encodings of a version get
+ * tags of their own, and responses vary by Accept.
+ */
+final class ConditionalGet {
+
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ConditionalGet() {
+    }
+
+    // A null tag means the version cannot be vouched for yet; the body is then served uncached
+    static <T> ResponseEntity<T> respond(WebRequest request, String etag, Supplier<T> body) {
+        if (etag == null) {
+            return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(body.get());
+        }
+        if (request.checkNotModified(forRepresentation(etag, request.getHeader(HttpHeaders.ACCEPT)))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE)
+                    .varyBy(HttpHeaders.ACCEPT).build();
+        }
+        return ResponseEntity.ok().cacheControl(REVALIDATE).varyBy(HttpHeaders.ACCEPT).body(body.get());
+    }
+
+    // Follows the converter choice closely enough: the most specific accepted type wins, and wildcards mean JSON
+    private static String forRepresentation(String etag, String accept) {
+        String suffix = "";
+        try {
+            List<MediaType> accepted = new ArrayList<>(MediaType.parseMediaTypes(accept));
+            MimeTypeUtils.sortBySpecificity(accepted);
+            for (MediaType type : accepted) {
+                if (type.isWildcardType() || type.isWildcardSubtype() || type.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                    break;
+                }
+                if (type.isCompatibleWith(MediaType.APPLICATION_CBOR)) {
+                    suffix = "cbor";
+                    break;
+                }
+                if (type.isCompatibleWith(WireFormatConfig.APPLICATION_SMILE)) {
+                    suffix = "smile";
+                    break;
+                }
+            }
+        } catch (InvalidMediaTypeException e) {
+            // Spring rejects the request with 406 itself
+        }
+        return suffix.isEmpty() ? etag : etag.substring(0, etag.length() - 1) + "-" + suffix + "\"";
+    }
+}
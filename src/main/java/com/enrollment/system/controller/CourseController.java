@@ -1,34 +1,72 @@
 package com.enrollment.system.controller;
 
+import com.enrollment.system.dto.CacheStatsDTO;
+import com.enrollment.system.dto.CourseCapacityDTO;
 import com.enrollment.system.dto.CourseDTO;
+import com.enrollment.system.dto.CourseSearchResultDTO;
+import com.enrollment.system.dto.CursorPage;
 import com.enrollment.system.service.CourseService;
+import com.enrollment.system.service.availability.SeatAvailabilityStream;
+import com.enrollment.system.service.version.ResourceVersions;
+import com.enrollment.system.service.version.ResourceVersions.Resource;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/courses")
 public class CourseController {
 
     private final CourseService courseService;
+    private final ResourceVersions resourceVersions;
+    private final SeatAvailabilityStream seatAvailabilityStream;
 
     @Autowired
-    public CourseController(CourseService courseService) {
+    public CourseController(
+            CourseService courseService,
+            ResourceVersions resourceVersions,
+            SeatAvailabilityStream seatAvailabilityStream) {
         this.courseService = courseService;
+        this.resourceVersions = resourceVersions;
+        this.seatAvailabilityStream = seatAvailabilityStream;
     }
 
     @GetMapping
-    public ResponseEntity<List<CourseDTO>> getAllCourses() {
-        return ResponseEntity.ok(courseService.getAllCourses());
+    public ResponseEntity<List<CourseDTO>> getAllCourses(WebRequest request) {
+        return ConditionalGet.respond(request, resourceVersions.collectionTag(Resource.COURSES),
+                courseService::getAllCourses);
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<CourseDTO>> getCoursesPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(courseService.getCoursesPage(cursor, limit));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<CourseSearchResultDTO>> searchCourses(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer creditHours,
+            @RequestParam(required = false) String semester,
+            @RequestParam(required = false) Boolean openSeats,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(courseService.searchCourses(q, creditHours, semester, openSeats, limit));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<CourseDTO> getCourseById(@PathVariable Long id) {
-        return ResponseEntity.ok(courseService.getCourseById(id));
+    public ResponseEntity<CourseDTO> getCourseById(@PathVariable Long id, WebRequest request) {
+        return ConditionalGet.respond(request, resourceVersions.entityTag(Resource.COURSES, id),
+                () -> courseService.getCourseById(id));
     }
 
     @GetMapping("/code/{courseCode}")
@@ -41,11 +79,42 @@ public class CourseController {
         return ResponseEntity.ok(courseService.getEnrolledCoursesByStudentId(studentId));
     }
 
+    @GetMapping("/student/{studentId}/page")
+    public ResponseEntity<CursorPage<CourseDTO>> getEnrolledCoursesPageByStudentId(
+            @PathVariable Long studentId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(courseService.getEnrolledCoursesPageByStudentId(studentId, cursor, limit));
+    }
+
     @GetMapping("/available/student/{studentId}")
     public ResponseEntity<List<CourseDTO>> getAvailableCoursesByStudentId(@PathVariable Long studentId) {
         return ResponseEntity.ok(courseService.getAvailableCoursesByStudentId(studentId));
     }
 
+    @GetMapping("/available/student/{studentId}/page")
+    public ResponseEntity<CursorPage<CourseDTO>> getAvailableCoursesPageByStudentId(
+            @PathVariable Long studentId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(courseService.getAvailableCoursesPageByStudentId(studentId, cursor, limit));
+    }
+
+    @GetMapping("/capacity")
+    public ResponseEntity<List<CourseCapacityDTO>> getCourseCapacities(@RequestParam List<String> codes) {
+        return ResponseEntity.ok(courseService.getCourseCapacities(codes));
+    }
+
+    @GetMapping(path = "/availability/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamAvailability() {
+        return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(seatAvailabilityStream.subscribe());
+    }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<CacheStatsDTO> getCatalogCacheStats() {
+        return ResponseEntity.ok(courseService.getCatalogCacheStats());
+    }
+
     @PostMapping
     public ResponseEntity<CourseDTO> createCourse(@Valid @RequestBody CourseDTO courseDTO) {
         return new ResponseEntity<>(courseService.createCourse(courseDTO), HttpStatus.CREATED);
@@ -70,6 +139,11 @@ public class CourseController {
         return ResponseEntity.noContent().build();
     }
 
+    @GetMapping("/{courseCode}/prerequisites/closure")
+    public ResponseEntity<Set<String>> getPrerequisiteClosure(@PathVariable String courseCode) {
+        return ResponseEntity.ok(courseService.getPrerequisiteClosure(courseCode));
+    }
+
     @DeleteMapping("/{courseCode}/prerequisites/{prerequisiteCode}")
     public ResponseEntity<Void> removePrerequisite(
             @PathVariable String courseCode,
@@ -1,11 +1,22 @@
 package com.enrollment.system.controller;
 
+import com.enrollment.system.dto.BatchEnrollmentItemDTO;
+import com.enrollment.system.dto.BatchEnrollmentResponseDTO;
+import com.enrollment.system.dto.CursorPage;
+import com.enrollment.system.dto.EligibilityDTO;
 import com.enrollment.system.dto.EnrollmentDTO;
+import com.enrollment.system.dto.WaitlistPositionDTO;
+import com.enrollment.system.model.Enrollment.EnrollmentStatus;
+import com.enrollment.system.service.BulkEnrollmentService;
 import com.enrollment.system.service.EnrollmentService;
+import com.enrollment.system.service.admission.EnrollmentAdmission;
+import com.enrollment.system.service.version.ResourceVersions;
+import com.enrollment.system.service.version.ResourceVersions.Resource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
@@ -15,20 +26,41 @@ import java.util.Map;
 public class EnrollmentController {
 
     private final EnrollmentService enrollmentService;
+    private final BulkEnrollmentService bulkEnrollmentService;
+    private final EnrollmentAdmission enrollmentAdmission;
+    private final ResourceVersions resourceVersions;
 
     @Autowired
-    public EnrollmentController(EnrollmentService enrollmentService) {
+    public EnrollmentController(
+            EnrollmentService enrollmentService,
+            BulkEnrollmentService bulkEnrollmentService,
+            EnrollmentAdmission enrollmentAdmission,
+            ResourceVersions resourceVersions) {
         this.enrollmentService = enrollmentService;
+        this.bulkEnrollmentService = bulkEnrollmentService;
+        this.enrollmentAdmission = enrollmentAdmission;
+        this.resourceVersions = resourceVersions;
     }
 
     @GetMapping
-    public ResponseEntity<List<EnrollmentDTO>> getAllEnrollments() {
-        return ResponseEntity.ok(enrollmentService.getAllEnrollments());
+    public ResponseEntity<List<EnrollmentDTO>> getAllEnrollments(WebRequest request) {
+        return ConditionalGet.respond(request, resourceVersions.collectionTag(Resource.ENROLLMENTS),
+                enrollmentService::getAllEnrollments);
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<EnrollmentDTO>> getEnrollmentsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) EnrollmentStatus status,
+            @RequestParam(required = false) String semester) {
+        return ResponseEntity.ok(enrollmentService.getEnrollmentsPage(cursor, limit, status, semester));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<EnrollmentDTO> getEnrollmentById(@PathVariable Long id) {
-        return ResponseEntity.ok(enrollmentService.getEnrollmentById(id));
+    public ResponseEntity<EnrollmentDTO> getEnrollmentById(@PathVariable Long id, WebRequest request) {
+        return ConditionalGet.respond(request, resourceVersions.entityTag(Resource.ENROLLMENTS, id),
+                () -> enrollmentService.getEnrollmentById(id));
     }
 
     @GetMapping("/student/{studentId}")
@@ -36,21 +68,47 @@ public class EnrollmentController {
         return ResponseEntity.ok(enrollmentService.getEnrollmentsByStudentId(studentId));
     }
 
+    @GetMapping("/student/{studentId}/page")
+    public ResponseEntity<CursorPage<EnrollmentDTO>> getEnrollmentsPageByStudentId(
+            @PathVariable Long studentId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) EnrollmentStatus status) {
+        return ResponseEntity.ok(enrollmentService.getEnrollmentsPageByStudentId(studentId, cursor, limit, status));
+    }
+
     @GetMapping("/course/{courseId}")
     public ResponseEntity<List<EnrollmentDTO>> getEnrollmentsByCourseId(@PathVariable Long courseId) {
         return ResponseEntity.ok(enrollmentService.getEnrollmentsByCourseId(courseId));
     }
 
+    @GetMapping("/course/{courseId}/page")
+    public ResponseEntity<CursorPage<EnrollmentDTO>> getEnrollmentsPageByCourseId(
+            @PathVariable Long courseId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) EnrollmentStatus status) {
+        return ResponseEntity.ok(enrollmentService.getEnrollmentsPageByCourseId(courseId, cursor, limit, status));
+    }
+
     @PostMapping("/enroll")
     public ResponseEntity<EnrollmentDTO> enrollStudentInCourse(@RequestBody Map<String, String> enrollmentRequest) {
         String studentId = enrollmentRequest.get("studentId");
         String courseCode = enrollmentRequest.get("courseCode");
         
+        // Requests beyond the admission rate get a place in line and a 429 before any database work
+        enrollmentAdmission.admit(studentId);
+        
         return new ResponseEntity<>(
                 enrollmentService.enrollStudentInCourse(studentId, courseCode),
                 HttpStatus.CREATED);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<BatchEnrollmentResponseDTO> enrollBatch(@RequestBody List<BatchEnrollmentItemDTO> items) {
+        return ResponseEntity.ok(bulkEnrollmentService.enrollBatch(items));
+    }
+
     @PostMapping("/drop")
     public ResponseEntity<EnrollmentDTO> dropCourse(@RequestBody Map<String, String> dropRequest) {
         String studentId = dropRequest.get("studentId");
@@ -59,6 +117,20 @@ public class EnrollmentController {
         return ResponseEntity.ok(enrollmentService.dropCourse(studentId, courseCode));
     }
 
+    @GetMapping("/waitlist/position")
+    public ResponseEntity<WaitlistPositionDTO> getWaitlistPosition(
+            @RequestParam String studentId,
+            @RequestParam String courseCode) {
+        return ResponseEntity.ok(enrollmentService.getWaitlistPosition(studentId, courseCode));
+    }
+
+    @GetMapping("/eligibility")
+    public ResponseEntity<EligibilityDTO> checkEligibility(
+            @RequestParam String studentId,
+            @RequestParam String courseCode) {
+        return ResponseEntity.ok(enrollmentService.checkEligibility(studentId, courseCode));
+    }
+
     @GetMapping("/check-prerequisites")
     public ResponseEntity<Boolean> checkPrerequisites(
             @RequestParam String studentId,
@@ -78,4 +150,21 @@ public class EnrollmentController {
     public ResponseEntity<Boolean> checkCourseCapacity(@RequestParam String courseCode) {
         return ResponseEntity.ok(enrollmentService.checkCourseCapacity(courseCode));
     }
+
+    @GetMapping("/hot-courses")
+    public ResponseEntity<Map<String, Integer>> getHotCourses() {
+        return ResponseEntity.ok(enrollmentService.getHotCourses());
+    }
+
+    @PostMapping("/hot-courses/{courseCode}")
+    public ResponseEntity<Void> enableHotCourse(@PathVariable String courseCode) {
+        enrollmentService.enableHotCourse(courseCode);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/hot-courses/{courseCode}")
+    public ResponseEntity<Void> disableHotCourse(@PathVariable String courseCode) {
+        enrollmentService.disableHotCourse(courseCode);
+        return ResponseEntity.noContent().build();
+    }
 }
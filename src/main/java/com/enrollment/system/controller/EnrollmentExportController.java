@@ -0,0 +1,68 @@
+package com.enrollment.system.controller;
+
+import com.enrollment.system.dto.ExportFormat;
+import com.enrollment.system.model.Enrollment.EnrollmentStatus;
+import com.enrollment.system.service.CourseService;
+import com.enrollment.system.service.EnrollmentExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/enrollments/export")
+public class EnrollmentExportController {
+
+    private final EnrollmentExportService enrollmentExportService;
+    private final CourseService courseService;
+
+    @Autowired
+    public EnrollmentExportController(EnrollmentExportService enrollmentExportService, CourseService courseService) {
+        this.enrollmentExportService = enrollmentExportService;
+        this.courseService = courseService;
+    }
+
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> exportAllEnrollments(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) EnrollmentStatus status) {
+        ExportFormat exportFormat = ExportFormat.fromValue(format);
+        return stream("enrollments", exportFormat,
+                outputStream -> enrollmentExportService.exportAllEnrollments(exportFormat, status, outputStream));
+    }
+
+    @GetMapping("/course/{courseCode}")
+    public ResponseEntity<StreamingResponseBody> exportCourseRoster(
+            @PathVariable String courseCode,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) EnrollmentStatus status) {
+        ExportFormat exportFormat = ExportFormat.fromValue(format);
+        // Resolve the course up front so an unknown code still gets a 404 before streaming starts
+        Long courseId = courseService.getCourseByCourseCode(courseCode).getId();
+        return stream("roster-" + courseCode, exportFormat,
+                outputStream -> enrollmentExportService.exportCourseRoster(courseId, exportFormat, status, outputStream));
+    }
+
+    @GetMapping("/semester/{semester}")
+    public ResponseEntity<StreamingResponseBody> exportSemester(
+            @PathVariable String semester,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) EnrollmentStatus status) {
+        ExportFormat exportFormat = ExportFormat.fromValue(format);
+        return stream("enrollments-" + semester, exportFormat,
+                outputStream -> enrollmentExportService.exportSemester(semester, exportFormat, status, outputStream));
+    }
+
+    private ResponseEntity<StreamingResponseBody> stream(String fileName, ExportFormat format, StreamingResponseBody body) {
+        ContentDisposition disposition = ContentDisposition.attachment()
+                .filename(fileName.replaceAll("[^A-Za-z0-9._-]", "_") + "." + format.getFileExtension())
+                .build();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .body(body);
+    }
+}
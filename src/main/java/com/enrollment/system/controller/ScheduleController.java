@@ -1,5 +1,6 @@
 package com.enrollment.system.controller;
 
+import com.enrollment.system.dto.CursorPage;
 import com.enrollment.system.dto.ScheduleDTO;
 import com.enrollment.system.service.ScheduleService;
 import jakarta.validation.Valid;
@@ -26,6 +27,14 @@ public class ScheduleController {
         return ResponseEntity.ok(scheduleService.getAllSchedules());
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<ScheduleDTO>> getSchedulesPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String semester) {
+        return ResponseEntity.ok(scheduleService.getSchedulesPage(cursor, limit, semester));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ScheduleDTO> getScheduleById(@PathVariable Long id) {
         return ResponseEntity.ok(scheduleService.getScheduleById(id));
@@ -36,11 +45,27 @@ public class ScheduleController {
         return ResponseEntity.ok(scheduleService.getSchedulesByCourseId(courseId));
     }
 
+    @GetMapping("/course/{courseId}/page")
+    public ResponseEntity<CursorPage<ScheduleDTO>> getSchedulesPageByCourseId(
+            @PathVariable Long courseId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(scheduleService.getSchedulesPageByCourseId(courseId, cursor, limit));
+    }
+
     @GetMapping("/semester/{semester}")
     public ResponseEntity<List<ScheduleDTO>> getSchedulesBySemester(@PathVariable String semester) {
         return ResponseEntity.ok(scheduleService.getSchedulesBySemester(semester));
     }
 
+    @GetMapping("/semester/{semester}/page")
+    public ResponseEntity<CursorPage<ScheduleDTO>> getSchedulesPageBySemester(
+            @PathVariable String semester,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(scheduleService.getSchedulesPage(cursor, limit, semester));
+    }
+
     @GetMapping("/student/{studentId}/semester/{semester}")
     public ResponseEntity<List<ScheduleDTO>> getStudentSchedule(
             @PathVariable String studentId,
@@ -48,6 +73,15 @@ public class ScheduleController {
         return ResponseEntity.ok(scheduleService.getStudentSchedule(studentId, semester));
     }
 
+    @GetMapping("/student/{studentId}/semester/{semester}/page")
+    public ResponseEntity<CursorPage<ScheduleDTO>> getStudentSchedulePage(
+            @PathVariable String studentId,
+            @PathVariable String semester,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(scheduleService.getStudentSchedulePage(studentId, semester, cursor, limit));
+    }
+
     @PostMapping
     public ResponseEntity<ScheduleDTO> createSchedule(@Valid @RequestBody ScheduleDTO scheduleDTO) {
         return new ResponseEntity<>(scheduleService.createSchedule(scheduleDTO), HttpStatus.CREATED);
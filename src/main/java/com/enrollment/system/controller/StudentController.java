@@ -1,12 +1,17 @@
 package com.enrollment.system.controller;
 
+import com.enrollment.system.dto.CursorPage;
 import com.enrollment.system.dto.StudentDTO;
+import com.enrollment.system.dto.StudentSearchResultDTO;
 import com.enrollment.system.service.StudentService;
+import com.enrollment.system.service.version.ResourceVersions;
+import com.enrollment.system.service.version.ResourceVersions.Resource;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -15,20 +20,38 @@ import java.util.List;
 public class StudentController {
 
     private final StudentService studentService;
+    private final ResourceVersions resourceVersions;
 
     @Autowired
-    public StudentController(StudentService studentService) {
+    public StudentController(StudentService studentService, ResourceVersions resourceVersions) {
         this.studentService = studentService;
+        this.resourceVersions = resourceVersions;
     }
 
     @GetMapping
-    public ResponseEntity<List<StudentDTO>> getAllStudents() {
-        return ResponseEntity.ok(studentService.getAllStudents());
+    public ResponseEntity<List<StudentDTO>> getAllStudents(WebRequest request) {
+        return ConditionalGet.respond(request, resourceVersions.collectionTag(Resource.STUDENTS),
+                studentService::getAllStudents);
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<StudentDTO>> getStudentsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(studentService.getStudentsPage(cursor, limit));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<StudentSearchResultDTO>> searchStudents(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(studentService.searchStudents(q, limit));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<StudentDTO> getStudentById(@PathVariable Long id) {
-        return ResponseEntity.ok(studentService.getStudentById(id));
+    public ResponseEntity<StudentDTO> getStudentById(@PathVariable Long id, WebRequest request) {
+        return ConditionalGet.respond(request, resourceVersions.entityTag(Resource.STUDENTS, id),
+                () -> studentService.getStudentById(id));
     }
 
     @GetMapping("/studentId/{studentId}")
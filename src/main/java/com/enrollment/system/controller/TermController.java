@@ -0,0 +1,48 @@
+package com.enrollment.system.controller;
+
+import com.enrollment.system.dto.TermDTO;
+import com.enrollment.system.service.TermService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/terms")
+public class TermController {
+
+    private final TermService termService;
+
+    @Autowired
+    public TermController(TermService termService) {
+        this.termService = termService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<TermDTO>> getAllTerms() {
+        return ResponseEntity.ok(termService.getAllTerms());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<TermDTO> getTermById(@PathVariable Integer id) {
+        return ResponseEntity.ok(termService.getTermById(id));
+    }
+
+    @PostMapping
+    public ResponseEntity<TermDTO> createTerm(@Valid @RequestBody TermDTO termDTO) {
+        return new ResponseEntity<>(termService.createTerm(termDTO), HttpStatus.CREATED);
+    }
+
+    @PostMapping("/{id}/close")
+    public ResponseEntity<TermDTO> closeTerm(@PathVariable Integer id) {
+        return ResponseEntity.ok(termService.closeTerm(id));
+    }
+
+    @PostMapping("/{id}/archive")
+    public ResponseEntity<TermDTO> archiveTerm(@PathVariable Integer id) {
+        return ResponseEntity.ok(termService.archiveTerm(id));
+    }
+}
@@ -0,0 +1,13 @@
+package com.enrollment.system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchEnrollmentItemDTO {
+    private String studentId;
+    private String courseCode;
+}
@@ -0,0 +1,17 @@
+package com.enrollment.system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchEnrollmentResponseDTO {
+    private int enrolledCount;
+    private int rejectedCount;
+    private List<BatchEnrollmentResultDTO> results = new ArrayList<>();
+}
@@ -0,0 +1,16 @@
+package com.enrollment.system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchEnrollmentResultDTO {
+    private String studentId;
+    private String courseCode;
+    private boolean enrolled;
+    private Long enrollmentId;
+    private String message;
+}
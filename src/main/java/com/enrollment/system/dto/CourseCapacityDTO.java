@@ -0,0 +1,15 @@
+package com.enrollment.system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseCapacityDTO {
+    private String courseCode;
+    private int maxCapacity;
+    private int currentEnrollment;
+    private int availableSeats;
+}
@@ -0,0 +1,23 @@
+package com.enrollment.system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseSearchResultDTO {
+    private Long id;
+    private String courseCode;
+    private String name;
+    private String description;
+    private Integer creditHours;
+    private Integer maxCapacity;
+    private int currentEnrollment;
+    private int availableSeats;
+    private List<String> semesters;
+    private double score;
+}
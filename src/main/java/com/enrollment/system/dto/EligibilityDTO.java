@@ -0,0 +1,39 @@
+package com.enrollment.system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EligibilityDTO {
+
+    public enum Reason {
+        ALREADY_ENROLLED,
+        PREREQUISITES_NOT_MET,
+        COURSE_FULL,
+        TIME_CONFLICT
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Failure {
+        private Reason reason;
+        private String message;
+    }
+
+    private String studentId;
+    private String courseCode;
+    private String semester;
+    private boolean eligible;
+    private int availableSeats;
+    private int waitlistSize;
+    private Set<String> missingPrerequisites;
+    private List<Failure> failures = new ArrayList<>();
+}
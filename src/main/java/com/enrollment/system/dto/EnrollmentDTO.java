@@ -14,6 +14,7 @@ public class EnrollmentDTO {
     private Long id;
     private String studentId;
     private String courseCode;
+    private String term;
     private LocalDateTime enrollmentDate;
     private EnrollmentStatus status;
     private String notes;
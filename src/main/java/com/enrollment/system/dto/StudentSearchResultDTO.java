@@ -0,0 +1,18 @@
+package com.enrollment.system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentSearchResultDTO {
+    private Long id;
+    private String studentId;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String phoneNumber;
+    private double score;
+}
@@ -0,0 +1,19 @@
+package com.enrollment.system.dto;
+
+import com.enrollment.system.model.Term.TermStatus;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TermDTO {
+    private Integer id;
+
+    @NotBlank(message = "Term name is required")
+    private String name;
+
+    private TermStatus status;
+}
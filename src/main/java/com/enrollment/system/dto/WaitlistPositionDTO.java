@@ -0,0 +1,15 @@
+package com.enrollment.system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitlistPositionDTO {
+    private String studentId;
+    private String courseCode;
+    private int position;
+    private int waitlistSize;
+}
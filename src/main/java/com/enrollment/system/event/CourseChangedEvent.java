@@ -0,0 +1,22 @@
+package com.enrollment.system.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+// Published by the course service after a course or its prerequisite list changes.
+// previousCourseCode differs from courseCode only when an update renamed the course.
+@Getter
+@ToString
+@AllArgsConstructor
+public class CourseChangedEvent {
+
+    public enum ChangeType {
+        CREATED, UPDATED, DELETED, PREREQUISITES_CHANGED
+    }
+
+    private final Long courseId;
+    private final String courseCode;
+    private final String previousCourseCode;
+    private final ChangeType changeType;
+}
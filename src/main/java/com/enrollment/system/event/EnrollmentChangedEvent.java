@@ -0,0 +1,32 @@
+package com.enrollment.system.event;
+
+import com.enrollment.system.model.Enrollment.EnrollmentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+// Published by the enrollment service whenever an enrollment changes status.
+// previousStatus is null for newly created enrollments.
+@Getter
+@ToString
+@AllArgsConstructor
+public class EnrollmentChangedEvent {
+    private final Long enrollmentId;
+    private final Long studentId;
+    private final Long courseId;
+    private final String courseCode;
+    private final EnrollmentStatus previousStatus;
+    private final EnrollmentStatus newStatus;
+
+    public boolean releasedSeat() {
+        return previousStatus == EnrollmentStatus.ENROLLED && newStatus != EnrollmentStatus.ENROLLED;
+    }
+
+    public boolean claimedSeat() {
+        return previousStatus != EnrollmentStatus.ENROLLED && newStatus == EnrollmentStatus.ENROLLED;
+    }
+
+    public boolean promotedFromWaitlist() {
+        return previousStatus == EnrollmentStatus.WAITLISTED && newStatus == EnrollmentStatus.ENROLLED;
+    }
+}
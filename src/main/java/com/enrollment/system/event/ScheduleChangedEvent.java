@@ -0,0 +1,18 @@
+package com.enrollment.system.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+// Published by the schedule service when a meeting is created, edited or deleted.
+// The previous values differ from the current ones only when an edit moved the meeting
+// to another course or semester.
+@Getter
+@ToString
+@AllArgsConstructor
+public class ScheduleChangedEvent {
+    private final Long courseId;
+    private final String semester;
+    private final Long previousCourseId;
+    private final String previousSemester;
+}
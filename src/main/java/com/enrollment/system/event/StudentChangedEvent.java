@@ -0,0 +1,25 @@
+package com.enrollment.system.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+// Published by the student service after a student is created, updated or deleted.
+// The searchable fields are those committed; they are null for a deletion.
+@Getter
+@ToString
+@AllArgsConstructor
+public class StudentChangedEvent {
+
+    public enum ChangeType {
+        CREATED, UPDATED, DELETED
+    }
+
+    private final Long id;
+    private final String studentId;
+    private final String firstName;
+    private final String lastName;
+    private final String email;
+    private final String phoneNumber;
+    private final ChangeType changeType;
+}
@@ -0,0 +1,17 @@
+package com.enrollment.system.event;
+
+import com.enrollment.system.model.Term.TermStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+// Published by the term service when a term is created or changes status.
+// After an ARCHIVED change the term's enrollments are gone from the enrollments table.
+@Getter
+@ToString
+@AllArgsConstructor
+public class TermChangedEvent {
+    private final Integer termId;
+    private final String name;
+    private final TermStatus status;
+}
@@ -0,0 +1,26 @@
+package com.enrollment.system.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// Thrown when an enrollment request is not admitted yet; position is 0 when the waiting room is full
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class AdmissionDeniedException extends RuntimeException {
+
+    private final long position;
+    private final long retryAfterSeconds;
+
+    public AdmissionDeniedException(String message, long position, long retryAfterSeconds) {
+        super(message);
+        this.position = position;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getPosition() {
+        return position;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -1,5 +1,6 @@
 package com.enrollment.system.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -34,6 +35,20 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(AdmissionDeniedException.class)
+    public ResponseEntity<QueuedResponse> handleAdmissionDeniedException(AdmissionDeniedException ex) {
+        QueuedResponse queuedResponse = new QueuedResponse(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                ex.getMessage(),
+                LocalDateTime.now(),
+                ex.getPosition(),
+                ex.getRetryAfterSeconds()
+        );
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(queuedResponse);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, String>> handleValidationExceptions(MethodArgumentNotValidException ex) {
         Map<String, String> errors = new HashMap<>();
@@ -91,4 +106,32 @@ public class GlobalExceptionHandler {
             this.timestamp = timestamp;
         }
     }
+
+    // Error response for requests held in the enrollment waiting room
+    public static class QueuedResponse extends ErrorResponse {
+        private long position;
+        private long retryAfterSeconds;
+
+        public QueuedResponse(int status, String message, LocalDateTime timestamp, long position, long retryAfterSeconds) {
+            super(status, message, timestamp);
+            this.position = position;
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+
+        public long getPosition() {
+            return position;
+        }
+
+        public void setPosition(long position) {
+            this.position = position;
+        }
+
+        public long getRetryAfterSeconds() {
+            return retryAfterSeconds;
+        }
+
+        public void setRetryAfterSeconds(long retryAfterSeconds) {
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+    }
 }
@@ -0,0 +1,45 @@
+package com.enrollment.system.model;
+
+import com.enrollment.system.model.Enrollment.EnrollmentStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Enrollment of an archived term, moved out of the enrollments table with its original id.
+// Only plain keys are kept, so students and courses can change without touching cold rows.
+// Without foreign keys, deleting a student or course deletes its rows in the service.
+@Entity
+@Table(name = "enrollments_archive", indexes = {
+    @Index(name = "idx_enrollments_archive_student", columnList = "student_id"),
+    @Index(name = "idx_enrollments_archive_course", columnList = "course_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedEnrollment {
+
+    @Id
+    private Long id;
+
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+
+    @Column(name = "course_id", nullable = false)
+    private Long courseId;
+
+    @Column(name = "term_id", nullable = false)
+    private Integer termId;
+
+    @Column(nullable = false)
+    private LocalDateTime enrollmentDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private EnrollmentStatus status;
+
+    @Column(length = 500)
+    private String notes;
+}
@@ -6,7 +6,9 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -41,18 +43,30 @@ public class Course {
     @Min(value = 1, message = "Maximum capacity must be at least 1")
     private Integer maxCapacity;
 
+    // Seats currently held by ENROLLED students. Maintained only through the
+    // conditional updates in CourseRepository, never by entity saves.
+    @Column(nullable = false, updatable = false)
+    private int seatsTaken;
+
+    // Associations stay out of equals, hashCode and toString, which would otherwise load them
     @ManyToMany
     @JoinTable(
         name = "course_prerequisites",
         joinColumns = @JoinColumn(name = "course_id"),
         inverseJoinColumns = @JoinColumn(name = "prerequisite_id")
     )
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private Set<Course> prerequisites = new HashSet<>();
 
     @OneToMany(mappedBy = "course", cascade = CascadeType.ALL, orphanRemoval = true)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private Set<Enrollment> enrollments = new HashSet<>();
 
     @OneToMany(mappedBy = "course", cascade = CascadeType.ALL, orphanRemoval = true)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private Set<Schedule> schedules = new HashSet<>();
 
     // Helper method to add enrollment
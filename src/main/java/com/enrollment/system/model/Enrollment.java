@@ -11,6 +11,9 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "enrollments", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"student_id", "course_id"})
+}, indexes = {
+    @Index(name = "idx_enrollments_course_status", columnList = "course_id, status"),
+    @Index(name = "idx_enrollments_term_course", columnList = "term_id, course_id, status")
 })
 @Data
 @NoArgsConstructor
@@ -29,6 +32,11 @@ public class Enrollment {
     @JoinColumn(name = "course_id", nullable = false)
     private Course course;
 
+    // Lazy: services read terms through TermResolver's cache by id
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "term_id", nullable = false)
+    private Term term;
+
     @NotNull(message = "Enrollment date is required")
     private LocalDateTime enrollmentDate;
 
@@ -0,0 +1,36 @@
+package com.enrollment.system.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// An academic term. Schedules name their term through the semester column; enrollments
+// reference it by the integer id, which is also the key their storage is split on.
+@Entity
+@Table(name = "terms")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Term {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @NotBlank(message = "Term name is required")
+    @Column(nullable = false, unique = true)
+    private String name;
+
+    @Enumerated(EnumType.STRING)
+    @NotNull(message = "Term status is required")
+    @Column(nullable = false, length = 20)
+    private TermStatus status;
+
+    // OPEN terms take enrollments; CLOSED terms are read-only; ARCHIVED terms live in the cold table
+    public enum TermStatus {
+        OPEN, CLOSED, ARCHIVED
+    }
+}
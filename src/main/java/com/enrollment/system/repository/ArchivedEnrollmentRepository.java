@@ -0,0 +1,39 @@
+package com.enrollment.system.repository;
+
+import com.enrollment.system.model.ArchivedEnrollment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+@Repository
+public interface ArchivedEnrollmentRepository extends JpaRepository<ArchivedEnrollment, Long> {
+    
+    // Enrollments that were held until their term closed count as completed courses
+    @Query("SELECT a.courseId FROM ArchivedEnrollment a WHERE a.studentId = :studentId AND a.status IN ('ENROLLED', 'COMPLETED')")
+    Set<Long> findCompletedCourseIdsByStudentId(Long studentId);
+    
+    // Rows of [studentId, courseId]
+    @Query("SELECT a.studentId, a.courseId FROM ArchivedEnrollment a WHERE a.studentId IN :studentIds AND a.status IN ('ENROLLED', 'COMPLETED')")
+    List<Object[]> findCompletedCourseIdsByStudentIds(Collection<Long> studentIds);
+    
+    // Copies a term's rows from the enrollments table, keeping their ids
+    @Modifying
+    @Query("INSERT INTO ArchivedEnrollment (id, studentId, courseId, termId, enrollmentDate, status, notes) " +
+           "SELECT e.id, e.student.id, e.course.id, e.term.id, e.enrollmentDate, e.status, e.notes " +
+           "FROM Enrollment e WHERE e.term.id = :termId")
+    int copyFromEnrollmentsByTermId(Integer termId);
+    
+    // The archive has no foreign keys, so deleting a student or course removes its rows here
+    @Modifying
+    @Query("DELETE FROM ArchivedEnrollment a WHERE a.studentId = :studentId")
+    int deleteByStudentId(Long studentId);
+    
+    @Modifying
+    @Query("DELETE FROM ArchivedEnrollment a WHERE a.courseId = :courseId")
+    int deleteByCourseId(Long courseId);
+}
@@ -1,10 +1,15 @@
 package com.enrollment.system.repository;
 
 import com.enrollment.system.model.Course;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,10 +17,83 @@ import java.util.Optional;
 public interface CourseRepository extends JpaRepository<Course, Long> {
     Optional<Course> findByCourseCode(String courseCode);
     boolean existsByCourseCode(String courseCode);
+    List<Course> findByCourseCodeIn(Collection<String> courseCodes);
+    
+    // Locks the rows in id order so concurrent batches cannot deadlock each other
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Course c WHERE c.courseCode IN :courseCodes ORDER BY c.id")
+    List<Course> findByCourseCodeInForUpdate(Collection<String> courseCodes);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Course c WHERE c.id IN :courseIds ORDER BY c.id")
+    List<Course> findByIdInForUpdate(Collection<Long> courseIds);
+    
+    // Rows of [courseId, prerequisiteCode]
+    @Query("SELECT c.id, p.courseCode FROM Course c JOIN c.prerequisites p WHERE c.id IN :courseIds")
+    List<Object[]> findPrerequisiteCodesByCourseIds(Collection<Long> courseIds);
+    
+    // Rows of [courseId, prerequisiteId]
+    @Query("SELECT c.id, p.id FROM Course c JOIN c.prerequisites p WHERE c.id IN :courseIds")
+    List<Object[]> findPrerequisiteIdsByCourseIds(Collection<Long> courseIds);
+    
+    // Rows of [courseId, seatsTaken], read by primary key instead of counting enrollments
+    @Query("SELECT c.id, c.seatsTaken FROM Course c WHERE c.id IN :courseIds")
+    List<Object[]> findSeatsTakenByCourseIds(Collection<Long> courseIds);
+    
+    // Rows of [courseCode, maxCapacity, seatsTaken]
+    @Query("SELECT c.courseCode, c.maxCapacity, c.seatsTaken FROM Course c WHERE c.id IN :courseIds")
+    List<Object[]> findSeatCountsByCourseIds(Collection<Long> courseIds);
+    
+    // Rows of [courseCode, maxCapacity, seatsTaken] for the whole catalog
+    @Query("SELECT c.courseCode, c.maxCapacity, c.seatsTaken FROM Course c")
+    List<Object[]> findAllSeatCounts();
+    
+    // Rows of [courseId, courseCode] for the whole catalog
+    @Query("SELECT c.id, c.courseCode FROM Course c")
+    List<Object[]> findAllCourseCodes();
+    
+    // Rows of [courseId, prerequisiteId] for every prerequisite edge
+    @Query("SELECT c.id, p.id FROM Course c JOIN c.prerequisites p")
+    List<Object[]> findAllPrerequisiteIds();
     
     @Query("SELECT c FROM Course c WHERE c.id IN (SELECT e.course.id FROM Enrollment e WHERE e.student.id = :studentId AND e.status = 'ENROLLED')")
     List<Course> findEnrolledCoursesByStudentId(Long studentId);
     
+    @Query("SELECT c FROM Course c WHERE c.id > :afterId AND c.id IN " +
+           "(SELECT e.course.id FROM Enrollment e WHERE e.student.id = :studentId AND e.status = 'ENROLLED') ORDER BY c.id")
+    List<Course> findEnrolledCoursesPageByStudentId(Long studentId, Long afterId, Pageable pageable);
+    
     @Query("SELECT c FROM Course c WHERE c.id NOT IN (SELECT e.course.id FROM Enrollment e WHERE e.student.id = :studentId)")
     List<Course> findAvailableCoursesByStudentId(Long studentId);
+    
+    List<Course> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+    
+    @Query("SELECT c FROM Course c WHERE c.id > :afterId AND c.id NOT IN " +
+           "(SELECT e.course.id FROM Enrollment e WHERE e.student.id = :studentId) ORDER BY c.id")
+    List<Course> findAvailableCoursesPageByStudentId(Long studentId, Long afterId, Pageable pageable);
+    
+    // Claims one seat only if the course still has room; returns 0 when full
+    @Modifying
+    @Query("UPDATE Course c SET c.seatsTaken = c.seatsTaken + 1 WHERE c.id = :courseId AND c.seatsTaken < c.maxCapacity")
+    int reserveSeat(Long courseId);
+    
+    @Modifying
+    @Query("UPDATE Course c SET c.seatsTaken = c.seatsTaken + :count WHERE c.id = :courseId AND c.seatsTaken + :count <= c.maxCapacity")
+    int reserveSeats(Long courseId, int count);
+    
+    @Modifying
+    @Query("UPDATE Course c SET c.seatsTaken = c.seatsTaken - 1 WHERE c.id = :courseId AND c.seatsTaken > 0")
+    int releaseSeat(Long courseId);
+    
+    @Modifying
+    @Query("UPDATE Course c SET c.seatsTaken = c.seatsTaken - 1 WHERE c.seatsTaken > 0 AND c.id IN " +
+           "(SELECT e.course.id FROM Enrollment e WHERE e.student.id = :studentId AND e.status = 'ENROLLED')")
+    int releaseSeatsHeldByStudent(Long studentId);
+    
+    // Seats held in a term stop counting once its enrollments leave the enrollments table
+    @Modifying
+    @Query("UPDATE Course c SET c.seatsTaken = c.seatsTaken - " +
+           "(SELECT COUNT(e) FROM Enrollment e WHERE e.course.id = c.id AND e.term.id = :termId AND e.status = 'ENROLLED') " +
+           "WHERE c.id IN (SELECT e.course.id FROM Enrollment e WHERE e.term.id = :termId AND e.status = 'ENROLLED')")
+    int releaseSeatsHeldInTerm(Integer termId);
 }
@@ -1,24 +1,116 @@
 package com.enrollment.system.repository;
 
 import com.enrollment.system.model.Enrollment;
+import com.enrollment.system.model.Enrollment.EnrollmentStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
 public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
+    String EXPORT_FETCH_SIZE = "1000";
+    
+    // List queries fetch the student and course with the enrollment instead of one select per row
+    @Query("SELECT e FROM Enrollment e JOIN FETCH e.student JOIN FETCH e.course ORDER BY e.id")
+    List<Enrollment> findAllWithStudentAndCourse();
+    
+    @Query("SELECT e FROM Enrollment e JOIN FETCH e.student JOIN FETCH e.course WHERE e.student.id = :studentId ORDER BY e.id")
     List<Enrollment> findByStudentId(Long studentId);
+    
+    @Query("SELECT e FROM Enrollment e JOIN FETCH e.student JOIN FETCH e.course WHERE e.course.id = :courseId ORDER BY e.id")
     List<Enrollment> findByCourseId(Long courseId);
-    Optional<Enrollment> findByStudentIdAndCourseId(Long studentId, Long courseId);
     
-    @Query("SELECT COUNT(e) FROM Enrollment e WHERE e.course.id = :courseId AND e.status = 'ENROLLED'")
-    int countEnrolledStudentsByCourseId(Long courseId);
+    Optional<Enrollment> findByStudentIdAndCourseId(Long studentId, Long courseId);
     
     @Query("SELECT e FROM Enrollment e WHERE e.student.id = :studentId AND e.status = 'ENROLLED'")
     List<Enrollment> findActiveEnrollmentsByStudentId(Long studentId);
     
+    @Query("SELECT e.course.id FROM Enrollment e WHERE e.student.id = :studentId AND e.status = 'ENROLLED'")
+    Set<Long> findEnrolledCourseIdsByStudentId(Long studentId);
+    
     boolean existsByStudentIdAndCourseId(Long studentId, Long courseId);
+    
+    // Rows of [enrollmentId, courseId, courseCode, status] for the enrollments holding a seat or a place in line
+    @Query("SELECT e.id, e.course.id, e.course.courseCode, e.status FROM Enrollment e " +
+           "WHERE e.student.id = :studentId AND e.status IN ('ENROLLED', 'WAITLISTED')")
+    List<Object[]> findHeldEnrollmentsByStudentId(Long studentId);
+    
+    @Query("SELECT DISTINCT e.course.id FROM Enrollment e WHERE e.course.id IN :courseIds AND e.status = 'WAITLISTED'")
+    Set<Long> findCourseIdsWithWaitlist(Collection<Long> courseIds);
+    
+    // Waitlist order is enrollment id order, i.e. the order students joined
+    @Query("SELECT e.id FROM Enrollment e WHERE e.course.id = :courseId AND e.status = 'WAITLISTED' ORDER BY e.id")
+    List<Long> findWaitlistedIdsByCourseId(Long courseId);
+    
+    @Query("SELECT e FROM Enrollment e JOIN FETCH e.student JOIN FETCH e.course WHERE e.id = :id")
+    Optional<Enrollment> findByIdWithStudentAndCourse(Long id);
+    
+    @Modifying
+    @Query("DELETE FROM Enrollment e WHERE e.term.id = :termId")
+    int deleteByTermId(Integer termId);
+    
+    // Conditional so a promotion cannot race with the student dropping off the waitlist
+    @Modifying
+    @Query("UPDATE Enrollment e SET e.status = 'ENROLLED' WHERE e.id = :id AND e.status = 'WAITLISTED'")
+    int promoteFromWaitlist(Long id);
+    
+    // Rows of [studentId, courseId, status] for every enrollment held by the given students
+    @Query("SELECT e.student.id, e.course.id, e.status FROM Enrollment e WHERE e.student.id IN :studentIds")
+    List<Object[]> findEnrollmentKeysByStudentIds(Collection<Long> studentIds);
+    
+    // Rows of [enrollmentId, studentId, courseId]
+    @Query("SELECT e.id, e.student.id, e.course.id FROM Enrollment e WHERE e.student.id IN :studentIds AND e.course.id IN :courseIds")
+    List<Object[]> findIdsByStudentIdsAndCourseIds(Collection<Long> studentIds, Collection<Long> courseIds);
+    
+    // Keyset pages ordered by id; student and course are fetched in the same query
+    @Query("SELECT e FROM Enrollment e JOIN FETCH e.student JOIN FETCH e.course WHERE e.id > :afterId " +
+           "AND (:status IS NULL OR e.status = :status) " +
+           "AND (:semester IS NULL OR e.term.name = :semester) " +
+           "ORDER BY e.id")
+    List<Enrollment> findPage(Long afterId, EnrollmentStatus status, String semester, Pageable pageable);
+    
+    @Query("SELECT e FROM Enrollment e JOIN FETCH e.student JOIN FETCH e.course WHERE e.student.id = :studentId " +
+           "AND e.id > :afterId AND (:status IS NULL OR e.status = :status) ORDER BY e.id")
+    List<Enrollment> findPageByStudentId(Long studentId, Long afterId, EnrollmentStatus status, Pageable pageable);
+    
+    @Query("SELECT e FROM Enrollment e JOIN FETCH e.student JOIN FETCH e.course WHERE e.course.id = :courseId " +
+           "AND e.id > :afterId AND (:status IS NULL OR e.status = :status) ORDER BY e.id")
+    List<Enrollment> findPageByCourseId(Long courseId, Long afterId, EnrollmentStatus status, Pageable pageable);
+    
+    // Export streams read rows through a server-side cursor; callers must consume them inside a transaction and close them
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT e FROM Enrollment e JOIN FETCH e.student JOIN FETCH e.course " +
+           "WHERE (:status IS NULL OR e.status = :status) ORDER BY e.id")
+    Stream<Enrollment> streamAll(EnrollmentStatus status);
+    
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT e FROM Enrollment e JOIN FETCH e.student JOIN FETCH e.course " +
+           "WHERE e.course.id = :courseId AND (:status IS NULL OR e.status = :status) ORDER BY e.id")
+    Stream<Enrollment> streamByCourseId(Long courseId, EnrollmentStatus status);
+    
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT e FROM Enrollment e JOIN FETCH e.student JOIN FETCH e.course " +
+           "WHERE e.term.name = :semester " +
+           "AND (:status IS NULL OR e.status = :status) ORDER BY e.id")
+    Stream<Enrollment> streamBySemester(String semester, EnrollmentStatus status);
 }
@@ -1,24 +1,63 @@
 package com.enrollment.system.repository;
 
 import com.enrollment.system.model.Schedule;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.DayOfWeek;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ScheduleRepository extends JpaRepository<Schedule, Long> {
+    // List queries fetch the course with the schedule instead of one select per row
+    @Query("SELECT s FROM Schedule s JOIN FETCH s.course ORDER BY s.id")
+    List<Schedule> findAllWithCourse();
+    
+    @Query("SELECT s FROM Schedule s JOIN FETCH s.course WHERE s.course.id = :courseId ORDER BY s.id")
     List<Schedule> findByCourseId(Long courseId);
+    
+    @Query("SELECT s FROM Schedule s JOIN FETCH s.course WHERE s.semester = :semester ORDER BY s.id")
     List<Schedule> findBySemester(String semester);
     
-    @Query("SELECT s FROM Schedule s WHERE s.course.id IN " +
+    // Rows of [courseId, semester, dayOfWeek, startTime, endTime]
+    @Query("SELECT s.course.id, s.semester, s.dayOfWeek, s.startTime, s.endTime FROM Schedule s " +
+           "WHERE s.course.id IN :courseIds ORDER BY s.id")
+    List<Object[]> findMeetingsByCourseIds(Collection<Long> courseIds);
+    
+    // Rows of [courseId, semester], one per semester a course meets in
+    @Query("SELECT DISTINCT s.course.id, s.semester FROM Schedule s")
+    List<Object[]> findAllCourseSemesters();
+    
+    @Query("SELECT DISTINCT s.course.id, s.semester FROM Schedule s WHERE s.course.id IN :courseIds")
+    List<Object[]> findCourseSemestersByCourseIds(Collection<Long> courseIds);
+    
+    // Rows of [studentId, courseId, semester, dayOfWeek, startTime, endTime] for courses the students are enrolled in
+    @Query("SELECT e.student.id, s.course.id, s.semester, s.dayOfWeek, s.startTime, s.endTime FROM Enrollment e, Schedule s " +
+           "WHERE s.course.id = e.course.id AND e.student.id IN :studentIds AND e.status = 'ENROLLED' " +
+           "AND s.semester IN :semesters")
+    List<Object[]> findEnrolledMeetingsByStudentIdsAndSemesters(Collection<Long> studentIds, Collection<String> semesters);
+    
+    @Query("SELECT s FROM Schedule s JOIN FETCH s.course WHERE s.id > :afterId " +
+           "AND (:semester IS NULL OR s.semester = :semester) ORDER BY s.id")
+    List<Schedule> findPage(Long afterId, String semester, Pageable pageable);
+    
+    @Query("SELECT s FROM Schedule s JOIN FETCH s.course WHERE s.course.id = :courseId AND s.id > :afterId ORDER BY s.id")
+    List<Schedule> findPageByCourseId(Long courseId, Long afterId, Pageable pageable);
+    
+    @Query("SELECT s FROM Schedule s JOIN FETCH s.course WHERE s.course.id IN " +
            "(SELECT e.course.id FROM Enrollment e WHERE e.student.id = :studentId AND e.status = 'ENROLLED') " +
            "AND s.semester = :semester")
     List<Schedule> findStudentScheduleByStudentIdAndSemester(Long studentId, String semester);
     
+    @Query("SELECT s FROM Schedule s JOIN FETCH s.course WHERE s.id > :afterId AND s.course.id IN " +
+           "(SELECT e.course.id FROM Enrollment e WHERE e.student.id = :studentId AND e.status = 'ENROLLED') " +
+           "AND s.semester = :semester ORDER BY s.id")
+    List<Schedule> findStudentSchedulePage(Long studentId, String semester, Long afterId, Pageable pageable);
+    
     @Query("SELECT CASE WHEN COUNT(s) > 0 THEN true ELSE false END FROM Schedule s " +
            "WHERE s.dayOfWeek = :dayOfWeek AND " +
            "((s.startTime <= :endTime AND s.endTime >= :startTime)) AND " +
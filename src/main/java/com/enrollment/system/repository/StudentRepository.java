@@ -1,9 +1,12 @@
 package com.enrollment.system.repository;
 
 import com.enrollment.system.model.Student;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +15,6 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
     Optional<Student> findByEmail(String email);
     boolean existsByStudentId(String studentId);
     boolean existsByEmail(String email);
+    List<Student> findByStudentIdIn(Collection<String> studentIds);
+    List<Student> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
 }
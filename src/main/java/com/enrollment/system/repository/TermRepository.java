@@ -0,0 +1,21 @@
+package com.enrollment.system.repository;
+
+import com.enrollment.system.model.Term;
+import com.enrollment.system.model.Term.TermStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TermRepository extends JpaRepository<Term, Integer> {
+    Optional<Term> findByName(String name);
+    
+    List<Term> findAllByOrderByIdAsc();
+    
+    // The most recently created open term takes enrollments in courses that have no meetings
+    Optional<Term> findFirstByStatusOrderByIdDesc(TermStatus status);
+    
+    boolean existsByName(String name);
+}
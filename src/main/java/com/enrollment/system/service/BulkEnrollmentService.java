@@ -0,0 +1,10 @@
+package com.enrollment.system.service;
+
+import com.enrollment.system.dto.BatchEnrollmentItemDTO;
+import com.enrollment.system.dto.BatchEnrollmentResponseDTO;
+
+import java.util.List;
+
+public interface BulkEnrollmentService {
+    BatchEnrollmentResponseDTO enrollBatch(List<BatchEnrollmentItemDTO> items);
+}
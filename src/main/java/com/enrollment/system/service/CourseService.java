@@ -1,18 +1,31 @@
 package com.enrollment.system.service;
 
+import com.enrollment.system.dto.CacheStatsDTO;
+import com.enrollment.system.dto.CourseCapacityDTO;
 import com.enrollment.system.dto.CourseDTO;
+import com.enrollment.system.dto.CourseSearchResultDTO;
+import com.enrollment.system.dto.CursorPage;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 public interface CourseService {
     List<CourseDTO> getAllCourses();
+    CursorPage<CourseDTO> getCoursesPage(String cursor, Integer limit);
     CourseDTO getCourseById(Long id);
     CourseDTO getCourseByCourseCode(String courseCode);
+    List<CourseSearchResultDTO> searchCourses(String query, Integer creditHours, String semester, Boolean openSeats, Integer limit);
     CourseDTO createCourse(CourseDTO courseDTO);
     CourseDTO updateCourse(Long id, CourseDTO courseDTO);
     void deleteCourse(Long id);
     List<CourseDTO> getEnrolledCoursesByStudentId(Long studentId);
+    CursorPage<CourseDTO> getEnrolledCoursesPageByStudentId(Long studentId, String cursor, Integer limit);
     List<CourseDTO> getAvailableCoursesByStudentId(Long studentId);
+    CursorPage<CourseDTO> getAvailableCoursesPageByStudentId(Long studentId, String cursor, Integer limit);
+    List<CourseCapacityDTO> getCourseCapacities(Collection<String> courseCodes);
     void addPrerequisite(String courseCode, String prerequisiteCode);
     void removePrerequisite(String courseCode, String prerequisiteCode);
+    Set<String> getPrerequisiteClosure(String courseCode);
+    CacheStatsDTO getCatalogCacheStats();
 }
@@ -0,0 +1,13 @@
+package com.enrollment.system.service;
+
+import com.enrollment.system.dto.ExportFormat;
+import com.enrollment.system.model.Enrollment.EnrollmentStatus;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface EnrollmentExportService {
+    long exportAllEnrollments(ExportFormat format, EnrollmentStatus status, OutputStream outputStream) throws IOException;
+    long exportCourseRoster(Long courseId, ExportFormat format, EnrollmentStatus status, OutputStream outputStream) throws IOException;
+    long exportSemester(String semester, ExportFormat format, EnrollmentStatus status, OutputStream outputStream) throws IOException;
+}
@@ -1,17 +1,30 @@
 package com.enrollment.system.service;
 
+import com.enrollment.system.dto.CursorPage;
+import com.enrollment.system.dto.EligibilityDTO;
 import com.enrollment.system.dto.EnrollmentDTO;
+import com.enrollment.system.dto.WaitlistPositionDTO;
+import com.enrollment.system.model.Enrollment.EnrollmentStatus;
 
 import java.util.List;
+import java.util.Map;
 
 public interface EnrollmentService {
     List<EnrollmentDTO> getAllEnrollments();
+    CursorPage<EnrollmentDTO> getEnrollmentsPage(String cursor, Integer limit, EnrollmentStatus status, String semester);
     EnrollmentDTO getEnrollmentById(Long id);
     List<EnrollmentDTO> getEnrollmentsByStudentId(Long studentId);
     List<EnrollmentDTO> getEnrollmentsByCourseId(Long courseId);
+    CursorPage<EnrollmentDTO> getEnrollmentsPageByStudentId(Long studentId, String cursor, Integer limit, EnrollmentStatus status);
+    CursorPage<EnrollmentDTO> getEnrollmentsPageByCourseId(Long courseId, String cursor, Integer limit, EnrollmentStatus status);
     EnrollmentDTO enrollStudentInCourse(String studentId, String courseCode);
     EnrollmentDTO dropCourse(String studentId, String courseCode);
+    WaitlistPositionDTO getWaitlistPosition(String studentId, String courseCode);
+    EligibilityDTO checkEligibility(String studentId, String courseCode);
     boolean checkPrerequisites(String studentId, String courseCode);
     boolean checkTimeConflict(String studentId, String courseCode, String semester);
     boolean checkCourseCapacity(String courseCode);
+    Map<String, Integer> getHotCourses();
+    void enableHotCourse(String courseCode);
+    void disableHotCourse(String courseCode);
 }
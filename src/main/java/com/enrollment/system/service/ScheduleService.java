@@ -1,15 +1,19 @@
 package com.enrollment.system.service;
 
+import com.enrollment.system.dto.CursorPage;
 import com.enrollment.system.dto.ScheduleDTO;
 
 import java.util.List;
 
 public interface ScheduleService {
     List<ScheduleDTO> getAllSchedules();
+    CursorPage<ScheduleDTO> getSchedulesPage(String cursor, Integer limit, String semester);
     ScheduleDTO getScheduleById(Long id);
     List<ScheduleDTO> getSchedulesByCourseId(Long courseId);
+    CursorPage<ScheduleDTO> getSchedulesPageByCourseId(Long courseId, String cursor, Integer limit);
     List<ScheduleDTO> getSchedulesBySemester(String semester);
     List<ScheduleDTO> getStudentSchedule(String studentId, String semester);
+    CursorPage<ScheduleDTO> getStudentSchedulePage(String studentId, String semester, String cursor, Integer limit);
     ScheduleDTO createSchedule(ScheduleDTO scheduleDTO);
     ScheduleDTO updateSchedule(Long id, ScheduleDTO scheduleDTO);
     void deleteSchedule(Long id);
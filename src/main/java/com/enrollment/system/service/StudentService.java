@@ -1,13 +1,17 @@
 package com.enrollment.system.service;
 
+import com.enrollment.system.dto.CursorPage;
 import com.enrollment.system.dto.StudentDTO;
+import com.enrollment.system.dto.StudentSearchResultDTO;
 
 import java.util.List;
 
 public interface StudentService {
     List<StudentDTO> getAllStudents();
+    CursorPage<StudentDTO> getStudentsPage(String cursor, Integer limit);
     StudentDTO getStudentById(Long id);
     StudentDTO getStudentByStudentId(String studentId);
+    List<StudentSearchResultDTO> searchStudents(String query, Integer limit);
     StudentDTO createStudent(StudentDTO studentDTO);
     StudentDTO updateStudent(Long id, StudentDTO studentDTO);
     void deleteStudent(Long id);
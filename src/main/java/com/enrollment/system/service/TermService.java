@@ -0,0 +1,13 @@
+package com.enrollment.system.service;
+
+import com.enrollment.system.dto.TermDTO;
+
+import java.util.List;
+
+public interface TermService {
+    List<TermDTO> getAllTerms();
+    TermDTO getTermById(Integer id);
+    TermDTO createTerm(TermDTO termDTO);
+    TermDTO closeTerm(Integer id);
+    TermDTO archiveTerm(Integer id);
+}
@@ -0,0 +1,215 @@
+package com.enrollment.system.service.admission;
+
+import com.enrollment.system.exception.AdmissionDeniedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Virtual waiting room in front of the enroll endpoint.
+ *
+ * Requests are admitted at a sustainable rate by a token bucket. While tokens are
+ * available and nobody is waiting, a request goes straight through. Otherwise the
+ * student is given a ticket in a FIFO line and told their position and when to retry;
+ * each token that refills calls the next ticket. A called student is admitted on their
+ * next request, and if they do not come back within the grace period the ticket lapses
+ * and its token goes to the next in line. A student holds at most one ticket, so retrying
+ * harder neither gains places nor takes more than one student's share of the rate.
+ *
+ * Everything happens in memory under one lock, per node; each node admits its own rate.
+ * It is off unless enrollment.admission.enabled is set, since the right rate depends on
+ * what the deployment's database can sustain.
+ */
+@Component
+public class EnrollmentAdmission {
+
+    public static final String DECISIONS = "enrollment.admission.decisions";
+    public static final String QUEUE_DEPTH = "enrollment.admission.queue.depth";
+    public static final String CALLED = "enrollment.admission.called";
+    public static final String TOKENS = "enrollment.admission.tokens";
+
+    private static final String BUSY_MESSAGE = "Enrollment is busy; retry after the indicated delay to keep your place in line";
+    private static final String FULL_MESSAGE = "Enrollment waiting room is full; retry after the indicated delay";
+
+    private final boolean enabled;
+    private final double permitsPerSecond;
+    private final int burst;
+    private final int maxQueue;
+    private final long graceNanos;
+    private final LongSupplier nanoTime;
+
+    private final Counter admitted;
+    private final Counter queued;
+    private final Counter rejected;
+    private final Counter expired;
+
+    private double tokens;
+    private long lastRefillNanos;
+    private long nextTicket;
+    // Both in ticket order: students not called yet, and students called but not back yet
+    private final Map<String, Ticket> waiting = new LinkedHashMap<>();
+    private final Map<String, Ticket> called = new LinkedHashMap<>();
+
+    @Autowired
+    public EnrollmentAdmission(
+            MeterRegistry meterRegistry,
+            @Value("${enrollment.admission.enabled:false}") boolean enabled,
+            @Value("${enrollment.admission.permits-per-second:100}") double permitsPerSecond,
+            @Value("${enrollment.admission.burst:200}") int burst,
+            @Value("${enrollment.admission.max-queue:10000}") int maxQueue,
+            @Value("${enrollment.admission.grace:30s}") Duration grace) {
+        this(meterRegistry, enabled, permitsPerSecond, burst, maxQueue, grace, System::nanoTime);
+    }
+
+    // Takes the clock as a nanosecond source, so tests can step time instead of sleeping
+    EnrollmentAdmission(MeterRegistry meterRegistry, boolean enabled, double permitsPerSecond, int burst, int maxQueue,
+            Duration grace, LongSupplier nanoTime) {
+        if (enabled && (permitsPerSecond <= 0 || burst < 1)) {
+            throw new IllegalArgumentException("Admission needs a positive rate and a burst of at least 1");
+        }
+        this.enabled = enabled;
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+        this.maxQueue = maxQueue;
+        this.graceNanos = grace.toNanos();
+        this.nanoTime = nanoTime;
+        this.tokens = burst;
+        this.lastRefillNanos = nanoTime.getAsLong();
+
+        admitted = decisionCounter(meterRegistry, "admitted");
+        queued = decisionCounter(meterRegistry, "queued");
+        rejected = decisionCounter(meterRegistry, "rejected");
+        expired = decisionCounter(meterRegistry, "expired");
+        Gauge.builder(QUEUE_DEPTH, this, EnrollmentAdmission::getQueueDepth)
+                .description("Students waiting to be called")
+                .register(meterRegistry);
+        Gauge.builder(CALLED, this, EnrollmentAdmission::getCalledCount)
+                .description("Students called but not yet back")
+                .register(meterRegistry);
+        Gauge.builder(TOKENS, this, EnrollmentAdmission::getAvailableTokens)
+                .description("Admission tokens available for requests without a ticket")
+                .register(meterRegistry);
+    }
+
+    // Returns if the student may enroll now; otherwise throws with their place in line
+    public void admit(String studentId) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (this) {
+            advance(nanoTime.getAsLong());
+
+            if (called.remove(studentId) != null) {
+                admitted.increment();
+                return;
+            }
+            Ticket ticket = waiting.get(studentId);
+            if (ticket == null) {
+                if (waiting.isEmpty() && tokens >= 1) {
+                    tokens -= 1;
+                    admitted.increment();
+                    return;
+                }
+                if (waiting.size() >= maxQueue) {
+                    rejected.increment();
+                    throw new AdmissionDeniedException(FULL_MESSAGE, 0, secondsFor(waiting.size()));
+                }
+                ticket = new Ticket(nextTicket++);
+                waiting.put(studentId, ticket);
+            }
+
+            // Tickets leave the line only from the front, so a position is a difference of ticket numbers
+            long position = ticket.number - waiting.values().iterator().next().number + 1;
+            queued.increment();
+            throw new AdmissionDeniedException(BUSY_MESSAGE, position, secondsFor(position));
+        }
+    }
+
+    // The getters below project the state the next request would see, without changing it,
+    // since gauges are read at scrape time and must not refill the bucket or call tickets
+    public int getQueueDepth() {
+        return snapshot().waiting();
+    }
+
+    public int getCalledCount() {
+        return snapshot().called();
+    }
+
+    public double getAvailableTokens() {
+        return snapshot().tokens();
+    }
+
+    // Helper method to compute what advance would leave, on counts only
+    private synchronized Snapshot snapshot() {
+        long now = nanoTime.getAsLong();
+        double projectedTokens = Math.min(burst, tokens + (now - lastRefillNanos) * permitsPerSecond / 1_000_000_000L);
+        int lapsed = 0;
+        for (Ticket ticket : called.values()) {
+            if (now - ticket.calledAtNanos < graceNanos) {
+                break;
+            }
+            lapsed++;
+        }
+        projectedTokens = Math.min(burst, projectedTokens + lapsed);
+        int calls = (int) Math.min(waiting.size(), Math.floor(projectedTokens));
+        return new Snapshot(waiting.size() - calls, called.size() - lapsed + calls, projectedTokens - calls);
+    }
+
+    // Helper method to refill the bucket, lapse unused calls and call waiting students with the tokens on hand
+    private void advance(long now) {
+        tokens = Math.min(burst, tokens + (now - lastRefillNanos) * permitsPerSecond / 1_000_000_000L);
+        lastRefillNanos = now;
+
+        Iterator<Ticket> calls = called.values().iterator();
+        while (calls.hasNext()) {
+            Ticket ticket = calls.next();
+            if (now - ticket.calledAtNanos < graceNanos) {
+                break;
+            }
+            calls.remove();
+            expired.increment();
+            tokens = Math.min(burst, tokens + 1);
+        }
+
+        Iterator<Map.Entry<String, Ticket>> line = waiting.entrySet().iterator();
+        while (tokens >= 1 && line.hasNext()) {
+            Map.Entry<String, Ticket> next = line.next();
+            line.remove();
+            next.getValue().calledAtNanos = now;
+            called.put(next.getKey(), next.getValue());
+            tokens -= 1;
+        }
+    }
+
+    private long secondsFor(long permits) {
+        return Math.max(1, (long) Math.ceil(permits / permitsPerSecond));
+    }
+
+    private Counter decisionCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder(DECISIONS)
+                .description("Enrollment requests admitted, queued or rejected, and called tickets that expired")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private record Snapshot(int waiting, int called, double tokens) {
+    }
+
+    private static final class Ticket {
+        private final long number;
+        private long calledAtNanos;
+
+        private Ticket(long number) {
+            this.number = number;
+        }
+    }
+}
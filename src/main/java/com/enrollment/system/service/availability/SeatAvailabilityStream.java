@@ -0,0 +1,199 @@
+package com.enrollment.system.service.availability;
+
+import com.enrollment.system.config.ReadWriteRouting;
+import com.enrollment.system.dto.CourseCapacityDTO;
+import com.enrollment.system.event.CourseChangedEvent;
+import com.enrollment.system.event.EnrollmentChangedEvent;
+import com.enrollment.system.event.TermChangedEvent;
+import com.enrollment.system.model.Term.TermStatus;
+import com.enrollment.system.repository.CourseRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Server-sent events carrying the seat counts of courses whose enrollment just changed.
+ *
+ * Committed seat changes only mark their course. The first mark in a quiet period queues a
+ * flush one coalescing window later, which reads the seat counters of every marked course
+ * in a single query, serializes them once and writes the same event to every subscriber.
+ * However many enrollments and subscribers there are, each window costs at most one query.
+ * Events carry absolute counts, so a client can apply them in any order it receives them,
+ * but one that reconnects should reload the course list for changes it missed meanwhile.
+ * A comment line is sent to idle subscribers so that proxies keep the connection open and
+ * dropped clients are noticed.
+ */
+@Component
+public class SeatAvailabilityStream {
+
+    private static final Logger log = LoggerFactory.getLogger(SeatAvailabilityStream.class);
+
+    public static final String EVENT_NAME = "availability";
+
+    // Beyond this many changed courses, reading the whole catalog is cheaper than a long IN list
+    private static final int MAX_COURSES_PER_QUERY = 1000;
+
+    private final CourseRepository courseRepository;
+    private final ObjectMapper objectMapper;
+    private final long coalesceMillis;
+    private final Set<SseEmitter> subscribers = ConcurrentHashMap.newKeySet();
+    private final Set<Long> changedCourses = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean catalogChanged = new AtomicBoolean();
+    private final AtomicBoolean flushQueued = new AtomicBoolean();
+    private final AtomicLong eventIds = new AtomicLong();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "seat-availability");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    public SeatAvailabilityStream(
+            CourseRepository courseRepository,
+            ObjectMapper objectMapper,
+            @Value("${enrollment.availability.coalesce-window:250ms}") Duration coalesceWindow,
+            @Value("${enrollment.availability.heartbeat:20s}") Duration heartbeat) {
+        this.courseRepository = courseRepository;
+        this.objectMapper = objectMapper;
+        this.coalesceMillis = coalesceWindow.toMillis();
+        long heartbeatMillis = heartbeat.toMillis();
+        scheduler.scheduleWithFixedDelay(this::sendHeartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // The emitter times out with spring.mvc.async.request-timeout; EventSource clients reconnect by themselves
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter();
+        emitter.onCompletion(() -> subscribers.remove(emitter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(ex -> subscribers.remove(emitter));
+        subscribers.add(emitter);
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEnrollmentChanged(EnrollmentChangedEvent event) {
+        if (event.claimedSeat() || event.releasedSeat()) {
+            changedCourses.add(event.getCourseId());
+            queueFlush();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        // An update may have changed the capacity
+        if (event.getChangeType() == CourseChangedEvent.ChangeType.UPDATED) {
+            changedCourses.add(event.getCourseId());
+            queueFlush();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTermChanged(TermChangedEvent event) {
+        if (event.getStatus() == TermStatus.ARCHIVED) {
+            catalogChanged.set(true);
+            queueFlush();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        subscribers.forEach(SseEmitter::complete);
+    }
+
+    // Helper method to queue one flush per window, however many changes arrive before it runs
+    private void queueFlush() {
+        if (flushQueued.compareAndSet(false, true)) {
+            scheduler.schedule(() -> {
+                flushQueued.set(false);
+                try {
+                    flush();
+                } catch (RuntimeException ex) {
+                    log.warn("Seat availability broadcast failed", ex);
+                }
+            }, coalesceMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void flush() {
+        boolean wholeCatalog = catalogChanged.getAndSet(false);
+        List<Long> courseIds = new ArrayList<>();
+        for (Long courseId : changedCourses) {
+            changedCourses.remove(courseId);
+            courseIds.add(courseId);
+        }
+        if (subscribers.isEmpty() || (!wholeCatalog && courseIds.isEmpty())) {
+            return;
+        }
+
+        // The counters are read from the primary, since a lagging replica could send counts back in time
+        boolean readAll = wholeCatalog || courseIds.size() > MAX_COURSES_PER_QUERY;
+        List<Object[]> rows = ReadWriteRouting.onPrimary(() -> readAll
+                ? courseRepository.findAllSeatCounts()
+                : courseRepository.findSeatCountsByCourseIds(courseIds));
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<CourseCapacityDTO> capacities = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            int maxCapacity = ((Number) row[1]).intValue();
+            int seatsTaken = ((Number) row[2]).intValue();
+            capacities.add(new CourseCapacityDTO((String) row[0], maxCapacity, seatsTaken, Math.max(0, maxCapacity - seatsTaken)));
+        }
+
+        String data;
+        try {
+            data = objectMapper.writeValueAsString(capacities);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize seat availability", ex);
+        }
+        broadcast(SseEmitter.event()
+                .id(Long.toString(eventIds.incrementAndGet()))
+                .name(EVENT_NAME)
+                .data(data)
+                .build());
+    }
+
+    private void sendHeartbeat() {
+        // An exception would cancel every later heartbeat
+        try {
+            if (!subscribers.isEmpty()) {
+                broadcast(SseEmitter.event().comment("heartbeat").build());
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Seat availability heartbeat failed", ex);
+        }
+    }
+
+    // Helper method to write one prepared event to every subscriber, dropping those that went away
+    private void broadcast(Set<DataWithMediaType> event) {
+        for (SseEmitter emitter : subscribers) {
+            try {
+                emitter.send(event);
+            } catch (IOException | IllegalStateException ex) {
+                subscribers.remove(emitter);
+                emitter.completeWithError(ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.enrollment.system.service.capacity;
+
+import com.enrollment.system.event.CourseChangedEvent;
+import com.enrollment.system.event.EnrollmentChangedEvent;
+import com.enrollment.system.event.TermChangedEvent;
+import com.enrollment.system.exception.ResourceNotFoundException;
+import com.enrollment.system.model.Course;
+import com.enrollment.system.model.Term.TermStatus;
+import com.enrollment.system.repository.CourseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory seat tokens for courses that are expected to be oversubscribed.
+ * A request for a hot course must claim a token before it opens a transaction,
+ * so once the tokens run out further requests go to the waitlist without
+ * contending for the seat counter. The conditional seat counter on the courses table stays the
+ * authority; tokens are only a per-node pre-filter and are re-synced from that
+ * counter on startup, whenever a course is (re)marked hot and whenever a
+ * hot course is updated. Pools follow their course through a rename and are dropped
+ * with it on delete.
+ */
+@Component
+public class HotCourseSeatPool {
+
+    private static final Logger log = LoggerFactory.getLogger(HotCourseSeatPool.class);
+
+    public enum Claim {
+        NOT_HOT, CLAIMED, EXHAUSTED
+    }
+
+    private final CourseRepository courseRepository;
+    private final List<String> configuredCourseCodes;
+    private final Map<String, SeatTokens> pools = new ConcurrentHashMap<>();
+
+    @Autowired
+    public HotCourseSeatPool(
+            CourseRepository courseRepository,
+            @Value("${enrollment.hot-courses:}") List<String> configuredCourseCodes) {
+        this.courseRepository = courseRepository;
+        this.configuredCourseCodes = configuredCourseCodes;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadConfiguredCourses() {
+        for (String courseCode : configuredCourseCodes) {
+            if (courseCode.isBlank()) {
+                continue;
+            }
+            try {
+                enable(courseCode.trim());
+            } catch (ResourceNotFoundException ex) {
+                log.warn("Ignoring hot course {}: {}", courseCode, ex.getMessage());
+            }
+        }
+    }
+
+    public boolean isHot(String courseCode) {
+        return courseCode != null && pools.containsKey(courseCode);
+    }
+
+    // Lock-free claim: never lets the token count go below zero
+    public Claim tryClaim(String courseCode) {
+        SeatTokens tokens = courseCode != null ? pools.get(courseCode) : null;
+        if (tokens == null) {
+            return Claim.NOT_HOT;
+        }
+        int available;
+        do {
+            available = tokens.available.get();
+            if (available <= 0) {
+                return Claim.EXHAUSTED;
+            }
+        } while (!tokens.available.compareAndSet(available, available - 1));
+        tokens.inFlight.incrementAndGet();
+        return Claim.CLAIMED;
+    }
+
+    // The enrollment that claimed the token committed; the seat is now reflected in the table
+    public void confirm(String courseCode) {
+        SeatTokens tokens = pools.get(courseCode);
+        if (tokens != null) {
+            tokens.inFlight.decrementAndGet();
+        }
+    }
+
+    // The enrollment that claimed the token rolled back; hand the token to the next request
+    public void release(String courseCode) {
+        SeatTokens tokens = pools.get(courseCode);
+        if (tokens != null) {
+            tokens.inFlight.decrementAndGet();
+            tokens.available.incrementAndGet();
+        }
+    }
+
+    public void enable(String courseCode) {
+        Course course = courseRepository.findByCourseCode(courseCode)
+                .orElseThrow(() -> new ResourceNotFoundException("Course not found with course code: " + courseCode));
+        pools.computeIfAbsent(courseCode, code -> new SeatTokens());
+        reconcile(course);
+    }
+
+    public void disable(String courseCode) {
+        pools.remove(courseCode);
+    }
+
+    // Re-derives the remaining tokens from the seat counter, keeping tokens held by in-flight requests
+    public void reconcile(String courseCode) {
+        if (isHot(courseCode)) {
+            courseRepository.findByCourseCode(courseCode).ifPresentOrElse(this::reconcile, () -> disable(courseCode));
+        }
+    }
+
+    public Map<String, Integer> getAvailableTokens() {
+        Map<String, Integer> snapshot = new TreeMap<>();
+        pools.forEach((courseCode, tokens) -> snapshot.put(courseCode, tokens.available.get()));
+        return snapshot;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEnrollmentChanged(EnrollmentChangedEvent event) {
+        SeatTokens tokens = pools.get(event.getCourseCode());
+        if (tokens == null) {
+            return;
+        }
+        if (event.releasedSeat()) {
+            tokens.available.incrementAndGet();
+        } else if (event.promotedFromWaitlist()) {
+            // Promotions take a seat without claiming a token first
+            tokens.available.getAndUpdate(available -> Math.max(0, available - 1));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        switch (event.getChangeType()) {
+            case UPDATED:
+                // A rename moves the pool, tokens held by in-flight requests included; a capacity change re-derives it
+                if (!event.getCourseCode().equals(event.getPreviousCourseCode())) {
+                    SeatTokens tokens = pools.remove(event.getPreviousCourseCode());
+                    if (tokens != null) {
+                        pools.put(event.getCourseCode(), tokens);
+                    }
+                }
+                reconcile(event.getCourseCode());
+                break;
+            case DELETED:
+                disable(event.getCourseCode());
+                break;
+            default:
+                break;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTermChanged(TermChangedEvent event) {
+        // Archiving hands back every seat the term held at once, without an event per enrollment
+        if (event.getStatus() == TermStatus.ARCHIVED) {
+            pools.keySet().forEach(this::reconcile);
+        }
+    }
+
+    private void reconcile(Course course) {
+        SeatTokens tokens = pools.get(course.getCourseCode());
+        if (tokens == null) {
+            return;
+        }
+        int remaining = Math.max(0, course.getMaxCapacity() - course.getSeatsTaken() - tokens.inFlight.get());
+        tokens.available.set(remaining);
+        log.info("Hot course {} reconciled: {} of {} seats available", course.getCourseCode(), remaining, course.getMaxCapacity());
+    }
+
+    private static final class SeatTokens {
+        private final AtomicInteger available = new AtomicInteger();
+        private final AtomicInteger inFlight = new AtomicInteger();
+    }
+}
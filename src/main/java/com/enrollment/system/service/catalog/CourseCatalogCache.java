@@ -0,0 +1,154 @@
+package com.enrollment.system.service.catalog;
+
+import com.enrollment.system.config.PrimaryReads;
+import com.enrollment.system.dto.CacheStatsDTO;
+import com.enrollment.system.event.CourseChangedEvent;
+import com.enrollment.system.event.CourseChangedEvent.ChangeType;
+import com.enrollment.system.exception.ResourceNotFoundException;
+import com.enrollment.system.model.Course;
+import com.enrollment.system.repository.CourseRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read-through cache of course catalog data keyed by course code.
+ *
+ * Entries are evicted least-recently-used once the cache is full and reloaded after a
+ * TTL, which bounds staleness when another application node edits the catalog. Local
+ * edits invalidate exactly the affected codes after their transaction commits: the
+ * course itself, its previous code after a rename, and every course that listed the
+ * renamed or deleted code as a prerequisite.
+ */
+@Component
+public class CourseCatalogCache {
+
+    private final CourseRepository courseRepository;
+    private final PrimaryReads primaryReads;
+    private final int maxSize;
+    private final long ttlMillis;
+    private final Map<String, Entry> entries;
+
+    // Bumped on every invalidation so a load that raced with an edit is not cached
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    @Autowired
+    public CourseCatalogCache(
+            CourseRepository courseRepository,
+            PrimaryReads primaryReads,
+            @Value("${enrollment.course-cache.max-size:10000}") int maxSize,
+            @Value("${enrollment.course-cache.ttl:10m}") Duration ttl) {
+        this.courseRepository = courseRepository;
+        this.primaryReads = primaryReads;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttl.toMillis();
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        });
+    }
+
+    public CourseSnapshot get(String courseCode) {
+        return find(courseCode)
+                .orElseThrow(() -> new ResourceNotFoundException("Course not found with course code: " + courseCode));
+    }
+
+    public Optional<CourseSnapshot> find(String courseCode) {
+        Entry entry = entries.get(courseCode);
+        if (entry != null && !entry.isExpired(ttlMillis)) {
+            hits.incrementAndGet();
+            return Optional.of(entry.snapshot);
+        }
+        misses.incrementAndGet();
+
+        long loadedAt = generation.get();
+        Optional<CourseSnapshot> snapshot = primaryReads.read(
+                () -> courseRepository.findByCourseCode(courseCode).map(this::snapshotOf));
+        if (snapshot.isPresent() && generation.get() == loadedAt) {
+            entries.put(courseCode, new Entry(snapshot.get(), System.currentTimeMillis()));
+        } else if (snapshot.isEmpty()) {
+            entries.remove(courseCode);
+        }
+        return snapshot;
+    }
+
+    public CacheStatsDTO getStats() {
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        long lookups = hitCount + missCount;
+        return new CacheStatsDTO(
+                "course-catalog",
+                entries.size(),
+                maxSize,
+                hitCount,
+                missCount,
+                evictions.get(),
+                lookups == 0 ? 0.0 : (double) hitCount / lookups);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        generation.incrementAndGet();
+        entries.remove(event.getCourseCode());
+        entries.remove(event.getPreviousCourseCode());
+
+        // Other courses only embed this course's code, so they are stale only if that code went away
+        boolean codeRemoved = event.getChangeType() == ChangeType.DELETED
+                || !event.getCourseCode().equals(event.getPreviousCourseCode());
+        if (codeRemoved) {
+            synchronized (entries) {
+                entries.values().removeIf(entry ->
+                        entry.snapshot.getPrerequisiteCodes().contains(event.getPreviousCourseCode()));
+            }
+        }
+    }
+
+    private CourseSnapshot snapshotOf(Course course) {
+        Set<String> prerequisiteCodes = new TreeSet<>();
+        for (Object[] row : courseRepository.findPrerequisiteCodesByCourseIds(List.of(course.getId()))) {
+            prerequisiteCodes.add((String) row[1]);
+        }
+        return new CourseSnapshot(
+                course.getId(),
+                course.getCourseCode(),
+                course.getName(),
+                course.getDescription(),
+                course.getCreditHours(),
+                course.getMaxCapacity(),
+                Collections.unmodifiableSet(prerequisiteCodes));
+    }
+
+    private static final class Entry {
+        private final CourseSnapshot snapshot;
+        private final long createdAt;
+
+        private Entry(CourseSnapshot snapshot, long createdAt) {
+            this.snapshot = snapshot;
+            this.createdAt = createdAt;
+        }
+
+        boolean isExpired(long ttlMillis) {
+            return System.currentTimeMillis() - createdAt > ttlMillis;
+        }
+    }
+}
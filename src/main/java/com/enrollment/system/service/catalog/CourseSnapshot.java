@@ -0,0 +1,22 @@
+package com.enrollment.system.service.catalog;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Set;
+
+// Immutable copy of a course's catalog data. Seat counts are deliberately left out
+// because they change with every enrollment and must always be read from the database.
+@Getter
+@ToString
+@AllArgsConstructor
+public class CourseSnapshot {
+    private final Long id;
+    private final String courseCode;
+    private final String name;
+    private final String description;
+    private final Integer creditHours;
+    private final Integer maxCapacity;
+    private final Set<String> prerequisiteCodes;
+}
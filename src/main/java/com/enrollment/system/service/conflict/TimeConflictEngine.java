@@ -0,0 +1,312 @@
+package com.enrollment.system.service.conflict;
+
+import com.enrollment.system.config.PrimaryReads;
+import com.enrollment.system.event.EnrollmentChangedEvent;
+import com.enrollment.system.event.ScheduleChangedEvent;
+import com.enrollment.system.event.TermChangedEvent;
+import com.enrollment.system.model.Term.TermStatus;
+import com.enrollment.system.model.Schedule;
+import com.enrollment.system.repository.ScheduleRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Answers "does this course clash with the student's timetable" from week-slot bitmaps
+ * instead of one hasTimeConflict query per meeting.
+ *
+ * A student's enrolled meetings for a semester are loaded lazily with one query and
+ * kept per course, so enrollments, drops and schedule edits patch the cached week in
+ * place after their transaction commits. Entries are evicted least-recently-used and
+ * expire after a TTL, which bounds how stale a week can get when another application
+ * node changes the same student's enrollments.
+ */
+@Component
+public class TimeConflictEngine {
+
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final ScheduleRepository scheduleRepository;
+    private final PrimaryReads primaryReads;
+    private final long ttlMillis;
+    private final Map<Long, CourseMeetings> courseMeetings = new ConcurrentHashMap<>();
+    private final Map<Long, Map<String, StudentWeek>> studentWeeks;
+
+    // Bumped whenever a student's enrollments change, so a week built from a read that
+    // raced with the change is not cached
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    @Autowired
+    public TimeConflictEngine(
+            ScheduleRepository scheduleRepository,
+            PrimaryReads primaryReads,
+            @Value("${enrollment.conflict-engine.max-students:100000}") int maxStudents,
+            @Value("${enrollment.conflict-engine.ttl:5m}") Duration ttl) {
+        this.scheduleRepository = scheduleRepository;
+        this.primaryReads = primaryReads;
+        this.ttlMillis = ttl.toMillis();
+        this.studentWeeks = Collections.synchronizedMap(new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Map<String, StudentWeek>> eldest) {
+                return size() > maxStudents;
+            }
+        });
+    }
+
+    public boolean hasConflict(Long studentId, Long courseId, String semester) {
+        WeeklySlotBitmap target = meetingsOf(courseId).all;
+        if (target.isEmpty()) {
+            return false;
+        }
+        return weekOf(studentId, semester).union.intersects(target);
+    }
+
+    // Same check, counting courses taken earlier in the same unit of work as if their enrollments had committed
+    public boolean hasConflict(Long studentId, Long courseId, String semester, Collection<Long> pendingCourseIds) {
+        if (hasConflict(studentId, courseId, semester)) {
+            return true;
+        }
+        WeeklySlotBitmap target = meetingsOf(courseId).all;
+        for (Long pendingCourseId : pendingCourseIds) {
+            WeeklySlotBitmap pending = meetingsOf(pendingCourseId).bySemester.get(semester);
+            if (pending != null && pending.intersects(target)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Loads the courses' meetings and the students' weeks in those courses' semesters with two queries,
+    // so checking many pairs does not load them one at a time
+    public void preload(Collection<Long> studentIds, Collection<Long> courseIds) {
+        Set<Long> missingCourses = new HashSet<>(courseIds);
+        missingCourses.removeAll(courseMeetings.keySet());
+        if (!missingCourses.isEmpty()) {
+            Map<Long, CourseMeetings> loaded = new HashMap<>();
+            missingCourses.forEach(courseId -> loaded.put(courseId, new CourseMeetings()));
+            for (Object[] row : primaryReads.read(() -> scheduleRepository.findMeetingsByCourseIds(missingCourses))) {
+                CourseMeetings meetings = loaded.get((Long) row[0]);
+                String semester = (String) row[1];
+                if (meetings.primarySemester == null) {
+                    meetings.primarySemester = semester;
+                }
+                meetings.all.mark((DayOfWeek) row[2], (LocalTime) row[3], (LocalTime) row[4]);
+                meetings.bySemester.computeIfAbsent(semester, key -> new WeeklySlotBitmap())
+                        .mark((DayOfWeek) row[2], (LocalTime) row[3], (LocalTime) row[4]);
+            }
+            loaded.forEach(courseMeetings::putIfAbsent);
+        }
+
+        Set<String> semesters = new HashSet<>();
+        for (Long courseId : courseIds) {
+            String semester = meetingsOf(courseId).primarySemester;
+            if (semester != null) {
+                semesters.add(semester);
+            }
+        }
+        if (studentIds.isEmpty() || semesters.isEmpty()) {
+            return;
+        }
+        Map<Long, Long> generationsBefore = new HashMap<>();
+        studentIds.forEach(studentId -> generationsBefore.put(studentId, generations.get(stripe(studentId))));
+        Map<Long, Map<String, Map<Long, WeeklySlotBitmap>>> byStudent = new HashMap<>();
+        for (Object[] row : primaryReads.read(
+                () -> scheduleRepository.findEnrolledMeetingsByStudentIdsAndSemesters(studentIds, semesters))) {
+            byStudent.computeIfAbsent((Long) row[0], id -> new HashMap<>())
+                    .computeIfAbsent((String) row[2], semester -> new HashMap<>())
+                    .computeIfAbsent((Long) row[1], id -> new WeeklySlotBitmap())
+                    .mark((DayOfWeek) row[3], (LocalTime) row[4], (LocalTime) row[5]);
+        }
+        long now = System.currentTimeMillis();
+        for (Long studentId : studentIds) {
+            if (generations.get(stripe(studentId)) != generationsBefore.get(studentId)) {
+                continue;
+            }
+            Map<String, Map<Long, WeeklySlotBitmap>> bySemester = byStudent.getOrDefault(studentId, Map.of());
+            Map<String, StudentWeek> weeks = studentWeeks.computeIfAbsent(studentId, id -> new ConcurrentHashMap<>());
+            for (String semester : semesters) {
+                weeks.put(semester, new StudentWeek(bySemester.getOrDefault(semester, new HashMap<>()), now));
+            }
+        }
+    }
+
+    // Semester of the course's first meeting, which is the semester enrollment checks against
+    public String getPrimarySemester(Long courseId) {
+        return meetingsOf(courseId).primarySemester;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEnrollmentChanged(EnrollmentChangedEvent event) {
+        if (!event.claimedSeat() && !event.releasedSeat()) {
+            return;
+        }
+        bumpGeneration(event.getStudentId());
+        Map<String, StudentWeek> weeks = studentWeeks.get(event.getStudentId());
+        if (weeks == null) {
+            return;
+        }
+        if (event.claimedSeat()) {
+            CourseMeetings meetings = meetingsOf(event.getCourseId());
+            weeks.replaceAll((semester, week) -> week.with(event.getCourseId(), meetings.bySemester.get(semester)));
+        } else {
+            weeks.replaceAll((semester, week) -> week.without(event.getCourseId()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScheduleChanged(ScheduleChangedEvent event) {
+        Set<Long> changedCourses = new HashSet<>();
+        changedCourses.add(event.getCourseId());
+        changedCourses.add(event.getPreviousCourseId());
+        changedCourses.remove(null);
+        Set<String> changedSemesters = new HashSet<>();
+        changedSemesters.add(event.getSemester());
+        changedSemesters.add(event.getPreviousSemester());
+        changedSemesters.remove(null);
+
+        for (Long courseId : changedCourses) {
+            CourseMeetings before = courseMeetings.remove(courseId);
+            CourseMeetings after = meetingsOf(courseId);
+            synchronized (studentWeeks) {
+                for (Map<String, StudentWeek> weeks : studentWeeks.values()) {
+                    // A week that does not list the course may still belong to a student enrolled in it
+                    // if the course had no meetings in that semester before, so rebuild it on next use
+                    weeks.entrySet().removeIf(entry -> changedSemesters.contains(entry.getKey())
+                            && !entry.getValue().contains(courseId)
+                            && (before == null || !before.bySemester.containsKey(entry.getKey())));
+                    weeks.replaceAll((semester, week) -> week.contains(courseId)
+                            ? week.without(courseId).with(courseId, after.bySemester.get(semester))
+                            : week);
+                }
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTermChanged(TermChangedEvent event) {
+        if (event.getStatus() != TermStatus.ARCHIVED) {
+            return;
+        }
+        // The term's enrollments left the enrollments table, so its weeks are empty now
+        for (int i = 0; i < GENERATION_STRIPES; i++) {
+            generations.incrementAndGet(i);
+        }
+        synchronized (studentWeeks) {
+            for (Map<String, StudentWeek> weeks : studentWeeks.values()) {
+                weeks.remove(event.getName());
+            }
+        }
+    }
+
+    private StudentWeek weekOf(Long studentId, String semester) {
+        Map<String, StudentWeek> weeks = studentWeeks.get(studentId);
+        StudentWeek week = weeks != null ? weeks.get(semester) : null;
+        if (week != null && !week.isExpired(ttlMillis)) {
+            return week;
+        }
+
+        long generation = generations.get(stripe(studentId));
+        Map<Long, WeeklySlotBitmap> byCourse = primaryReads.read(() -> {
+            Map<Long, WeeklySlotBitmap> meetings = new HashMap<>();
+            for (Schedule schedule : scheduleRepository.findStudentScheduleByStudentIdAndSemester(studentId, semester)) {
+                meetings.computeIfAbsent(schedule.getCourse().getId(), id -> new WeeklySlotBitmap())
+                        .mark(schedule.getDayOfWeek(), schedule.getStartTime(), schedule.getEndTime());
+            }
+            return meetings;
+        });
+        StudentWeek built = new StudentWeek(byCourse, System.currentTimeMillis());
+
+        if (generations.get(stripe(studentId)) == generation) {
+            studentWeeks.computeIfAbsent(studentId, id -> new ConcurrentHashMap<>()).put(semester, built);
+        }
+        return built;
+    }
+
+    private CourseMeetings meetingsOf(Long courseId) {
+        CourseMeetings cached = courseMeetings.get(courseId);
+        if (cached != null) {
+            return cached;
+        }
+        CourseMeetings meetings = new CourseMeetings();
+        for (Schedule schedule : primaryReads.read(() -> scheduleRepository.findByCourseId(courseId))) {
+            if (meetings.primarySemester == null) {
+                meetings.primarySemester = schedule.getSemester();
+            }
+            meetings.all.mark(schedule.getDayOfWeek(), schedule.getStartTime(), schedule.getEndTime());
+            meetings.bySemester.computeIfAbsent(schedule.getSemester(), semester -> new WeeklySlotBitmap())
+                    .mark(schedule.getDayOfWeek(), schedule.getStartTime(), schedule.getEndTime());
+        }
+        CourseMeetings existing = courseMeetings.putIfAbsent(courseId, meetings);
+        return existing != null ? existing : meetings;
+    }
+
+    private void bumpGeneration(Long studentId) {
+        generations.incrementAndGet(stripe(studentId));
+    }
+
+    private static int stripe(Long studentId) {
+        return Math.floorMod(Objects.hashCode(studentId), GENERATION_STRIPES);
+    }
+
+    // All meetings of a course, plus the same meetings split by semester and the semester of the first one
+    private static final class CourseMeetings {
+        private final WeeklySlotBitmap all = new WeeklySlotBitmap();
+        private final Map<String, WeeklySlotBitmap> bySemester = new HashMap<>();
+        private String primarySemester;
+    }
+
+    // Immutable snapshot of one student's meetings in one semester, kept per course so single courses can be swapped
+    private static final class StudentWeek {
+        private final Map<Long, WeeklySlotBitmap> byCourse;
+        private final WeeklySlotBitmap union;
+        private final long createdAt;
+
+        private StudentWeek(Map<Long, WeeklySlotBitmap> byCourse, long createdAt) {
+            this.byCourse = byCourse;
+            this.createdAt = createdAt;
+            this.union = new WeeklySlotBitmap();
+            byCourse.values().forEach(union::or);
+        }
+
+        boolean contains(Long courseId) {
+            return byCourse.containsKey(courseId);
+        }
+
+        boolean isExpired(long ttlMillis) {
+            return System.currentTimeMillis() - createdAt > ttlMillis;
+        }
+
+        StudentWeek with(Long courseId, WeeklySlotBitmap meetings) {
+            if (meetings == null) {
+                return this;
+            }
+            Map<Long, WeeklySlotBitmap> updated = new HashMap<>(byCourse);
+            updated.put(courseId, meetings.copy());
+            return new StudentWeek(updated, createdAt);
+        }
+
+        StudentWeek without(Long courseId) {
+            if (!byCourse.containsKey(courseId)) {
+                return this;
+            }
+            Map<Long, WeeklySlotBitmap> updated = new HashMap<>(byCourse);
+            updated.remove(courseId);
+            return new StudentWeek(updated, createdAt);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.enrollment.system.service.conflict;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.Arrays;
+
+/**
+ * A week of 5-minute slots (7 x 288 = 2016 bits) packed into 32 longs.
+ * Meetings are marked inclusively from the slot containing the start time to the
+ * slot containing the end time, matching the closed-interval overlap rule of
+ * ScheduleRepository.hasTimeConflict. Times that fall inside the same 5-minute
+ * slot are treated as overlapping, so the bitmap can report a conflict for a gap
+ * shorter than five minutes but never misses a real one.
+ */
+public final class WeeklySlotBitmap {
+
+    public static final int SLOT_MINUTES = 5;
+    public static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+    private static final int WORDS = (7 * SLOTS_PER_DAY + Long.SIZE - 1) / Long.SIZE;
+
+    private final long[] words;
+
+    public WeeklySlotBitmap() {
+        this.words = new long[WORDS];
+    }
+
+    private WeeklySlotBitmap(long[] words) {
+        this.words = words;
+    }
+
+    public WeeklySlotBitmap copy() {
+        return new WeeklySlotBitmap(words.clone());
+    }
+
+    public WeeklySlotBitmap mark(DayOfWeek dayOfWeek, LocalTime startTime, LocalTime endTime) {
+        int dayOffset = (dayOfWeek.getValue() - 1) * SLOTS_PER_DAY;
+        int from = dayOffset + slotOf(startTime);
+        int to = dayOffset + slotOf(endTime);
+        for (int bit = from; bit <= to; bit++) {
+            words[bit >>> 6] |= 1L << bit;
+        }
+        return this;
+    }
+
+    public WeeklySlotBitmap or(WeeklySlotBitmap other) {
+        for (int i = 0; i < WORDS; i++) {
+            words[i] |= other.words[i];
+        }
+        return this;
+    }
+
+    public boolean intersects(WeeklySlotBitmap other) {
+        for (int i = 0; i < WORDS; i++) {
+            if ((words[i] & other.words[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int slotOf(LocalTime time) {
+        return (time.getHour() * 60 + time.getMinute()) / SLOT_MINUTES;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof WeeklySlotBitmap other && Arrays.equals(words, other.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(words);
+    }
+}
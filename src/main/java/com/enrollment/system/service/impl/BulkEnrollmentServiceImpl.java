@@ -0,0 +1,343 @@
+package com.enrollment.system.service.impl;
+
+import com.enrollment.system.dto.BatchEnrollmentItemDTO;
+import com.enrollment.system.dto.BatchEnrollmentResponseDTO;
+import com.enrollment.system.dto.BatchEnrollmentResultDTO;
+import com.enrollment.system.event.EnrollmentChangedEvent;
+import com.enrollment.system.exception.EnrollmentException;
+import com.enrollment.system.model.Course;
+import com.enrollment.system.model.Enrollment.EnrollmentStatus;
+import com.enrollment.system.model.Student;
+import com.enrollment.system.model.Term;
+import com.enrollment.system.repository.ArchivedEnrollmentRepository;
+import com.enrollment.system.repository.CourseRepository;
+import com.enrollment.system.repository.EnrollmentRepository;
+import com.enrollment.system.service.BulkEnrollmentService;
+import com.enrollment.system.service.capacity.HotCourseSeatPool;
+import com.enrollment.system.service.conflict.TimeConflictEngine;
+import com.enrollment.system.service.prerequisite.PrerequisiteGraph;
+import com.enrollment.system.service.resolver.EntityResolver;
+import com.enrollment.system.service.term.TermResolver;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Enrolls many (studentId, courseCode) pairs in one transaction. All lookups are
+ * set-based, every rule is evaluated in memory against those lookups, and accepted
+ * rows are inserted with JDBC batching. Items that fail validation are reported
+ * individually and do not affect the rest of the batch. Batches never join a waitlist:
+ * a course with students waiting is treated as full, since its open seats are theirs.
+ */
+@Service
+public class BulkEnrollmentServiceImpl implements BulkEnrollmentService {
+
+    public static final int MAX_BATCH_SIZE = 5000;
+
+    private static final int INSERT_BATCH_SIZE = 500;
+
+    private static final String INSERT_ENROLLMENT_SQL =
+            "INSERT INTO enrollments (student_id, course_id, term_id, enrollment_date, status) VALUES (?, ?, ?, ?, ?)";
+
+    private final EntityResolver entityResolver;
+    private final CourseRepository courseRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final ArchivedEnrollmentRepository archivedEnrollmentRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final HotCourseSeatPool hotCourseSeatPool;
+    private final PrerequisiteGraph prerequisiteGraph;
+    private final TimeConflictEngine timeConflictEngine;
+    private final TermResolver termResolver;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public BulkEnrollmentServiceImpl(
+            EntityResolver entityResolver,
+            CourseRepository courseRepository,
+            EnrollmentRepository enrollmentRepository,
+            ArchivedEnrollmentRepository archivedEnrollmentRepository,
+            JdbcTemplate jdbcTemplate,
+            HotCourseSeatPool hotCourseSeatPool,
+            PrerequisiteGraph prerequisiteGraph,
+            TimeConflictEngine timeConflictEngine,
+            TermResolver termResolver,
+            ApplicationEventPublisher eventPublisher) {
+        this.entityResolver = entityResolver;
+        this.courseRepository = courseRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.archivedEnrollmentRepository = archivedEnrollmentRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.hotCourseSeatPool = hotCourseSeatPool;
+        this.prerequisiteGraph = prerequisiteGraph;
+        this.timeConflictEngine = timeConflictEngine;
+        this.termResolver = termResolver;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    @Transactional
+    public BatchEnrollmentResponseDTO enrollBatch(List<BatchEnrollmentItemDTO> items) {
+        if (items == null || items.isEmpty()) {
+            throw new EnrollmentException("Batch must contain at least one enrollment");
+        }
+        if (items.size() > MAX_BATCH_SIZE) {
+            throw new EnrollmentException("Batch may contain at most " + MAX_BATCH_SIZE + " enrollments");
+        }
+        // A null entry has no student or course to report a result against, so it fails the whole batch
+        for (int i = 0; i < items.size(); i++) {
+            if (items.get(i) == null) {
+                throw new EnrollmentException("Batch item " + i + " is empty");
+            }
+        }
+
+        // Set-based lookups; course rows are locked so the seat counts read here stay valid until commit
+        Map<String, Student> students = entityResolver.findStudents(distinct(items, BatchEnrollmentItemDTO::getStudentId));
+        Map<String, Course> courses = indexBy(
+                courseRepository.findByCourseCodeInForUpdate(distinct(items, BatchEnrollmentItemDTO::getCourseCode)),
+                Course::getCourseCode);
+        Set<Long> studentIds = students.values().stream().map(Student::getId).collect(Collectors.toSet());
+        Set<Long> courseIds = courses.values().stream().map(Course::getId).collect(Collectors.toSet());
+
+        BatchState state = loadState(studentIds, courseIds, courses.values());
+
+        // Evaluate every item in request order, as if they had been submitted one by one
+        List<BatchEnrollmentResultDTO> results = new ArrayList<>(items.size());
+        List<AcceptedEnrollment> accepted = new ArrayList<>();
+        for (BatchEnrollmentItemDTO item : items) {
+            BatchEnrollmentResultDTO result = new BatchEnrollmentResultDTO(item.getStudentId(), item.getCourseCode(), false, null, null);
+            results.add(result);
+            String rejection = evaluate(item, students, courses, state);
+            if (rejection != null) {
+                result.setMessage(rejection);
+                continue;
+            }
+            Student student = students.get(item.getStudentId());
+            Course course = courses.get(item.getCourseCode());
+            state.accept(student.getId(), course.getId());
+            accepted.add(new AcceptedEnrollment(student, course, state.terms.get(course.getId()), result));
+        }
+
+        reserveSeats(accepted);
+        insertEnrollments(accepted);
+        resolveEnrollmentIds(accepted, studentIds, courseIds);
+
+        for (AcceptedEnrollment enrollment : accepted) {
+            enrollment.result.setEnrolled(true);
+            enrollment.result.setMessage("Enrolled");
+            eventPublisher.publishEvent(new EnrollmentChangedEvent(
+                    enrollment.result.getEnrollmentId(),
+                    enrollment.student.getId(),
+                    enrollment.course.getId(),
+                    enrollment.course.getCourseCode(),
+                    null,
+                    EnrollmentStatus.ENROLLED));
+        }
+        reconcileHotCoursesAfterCommit(accepted);
+
+        return new BatchEnrollmentResponseDTO(accepted.size(), items.size() - accepted.size(), results);
+    }
+
+    // Returns the rejection message for an item, or null if it can be enrolled
+    private String evaluate(BatchEnrollmentItemDTO item, Map<String, Student> students, Map<String, Course> courses, BatchState state) {
+        if (item.getStudentId() == null || item.getCourseCode() == null) {
+            return "Student ID and course code are required";
+        }
+        Student student = students.get(item.getStudentId());
+        if (student == null) {
+            return "Student not found with student ID: " + item.getStudentId();
+        }
+        Course course = courses.get(item.getCourseCode());
+        if (course == null) {
+            return "Course not found with course code: " + item.getCourseCode();
+        }
+        if (state.termRejections.containsKey(course.getId())) {
+            return state.termRejections.get(course.getId());
+        }
+        if (state.hasEnrollment(student.getId(), course.getId())) {
+            return "Student is already enrolled in this course";
+        }
+        if (!state.meetsPrerequisites(student.getId(), course.getId())) {
+            return "Student does not meet prerequisites for this course";
+        }
+        if (!state.hasSeat(course.getId())) {
+            return "Course has reached maximum capacity";
+        }
+        if (state.waitlistedCourses.contains(course.getId())) {
+            return "Course seats are held for waitlisted students";
+        }
+        if (hasTimeConflict(student.getId(), course.getId(), state)) {
+            return "Course has time conflict with student's schedule";
+        }
+        return null;
+    }
+
+    // Same rule as the single enrollment path, with the courses accepted earlier in the batch counted as enrolled
+    private boolean hasTimeConflict(Long studentId, Long courseId, BatchState state) {
+        String semester = timeConflictEngine.getPrimarySemester(courseId);
+        return semester != null && timeConflictEngine.hasConflict(
+                studentId, courseId, semester, state.acceptedCourses.getOrDefault(studentId, List.of()));
+    }
+
+    private BatchState loadState(Set<Long> studentIds, Set<Long> courseIds, Collection<Course> courses) {
+        BatchState state = new BatchState();
+        if (studentIds.isEmpty() || courseIds.isEmpty()) {
+            return state;
+        }
+        for (Object[] row : enrollmentRepository.findEnrollmentKeysByStudentIds(studentIds)) {
+            Long studentId = (Long) row[0];
+            Long courseId = (Long) row[1];
+            state.existing.add(new EnrollmentKey(studentId, courseId));
+            if (row[2] == EnrollmentStatus.ENROLLED) {
+                state.enrolledCourses.computeIfAbsent(studentId, id -> new HashSet<>()).add(courseId);
+            }
+        }
+        boolean anyPrerequisites = false;
+        for (Long courseId : courseIds) {
+            Set<Long> prerequisites = prerequisiteGraph.getDirectPrerequisiteIds(courseId);
+            state.prerequisites.put(courseId, prerequisites);
+            anyPrerequisites |= !prerequisites.isEmpty();
+        }
+        // Courses completed in archived terms count towards prerequisites as well
+        if (anyPrerequisites) {
+            for (Object[] row : archivedEnrollmentRepository.findCompletedCourseIdsByStudentIds(studentIds)) {
+                state.enrolledCourses.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add((Long) row[1]);
+            }
+        }
+        // Meetings and timetables come from the conflict engine, loaded for the whole batch at once
+        timeConflictEngine.preload(studentIds, courseIds);
+        // Same rule as the single enrollment path: the term of the course's first meeting
+        for (Long courseId : courseIds) {
+            try {
+                state.terms.put(courseId, termResolver.getEnrollmentTerm(timeConflictEngine.getPrimarySemester(courseId)));
+            } catch (EnrollmentException ex) {
+                state.termRejections.put(courseId, ex.getMessage());
+            }
+        }
+        // Read under the course locks, so no one can join these lines until the batch commits
+        state.waitlistedCourses.addAll(enrollmentRepository.findCourseIdsWithWaitlist(courseIds));
+        for (Course course : courses) {
+            state.remainingSeats.put(course.getId(), course.getMaxCapacity() - course.getSeatsTaken());
+        }
+        return state;
+    }
+
+    private void reserveSeats(List<AcceptedEnrollment> accepted) {
+        Map<Long, Integer> seatsPerCourse = new HashMap<>();
+        for (AcceptedEnrollment enrollment : accepted) {
+            seatsPerCourse.merge(enrollment.course.getId(), 1, Integer::sum);
+        }
+        seatsPerCourse.forEach((courseId, seats) -> {
+            // The course rows are locked, so this can only fail if the counter was changed outside the application
+            if (courseRepository.reserveSeats(courseId, seats) == 0) {
+                throw new EnrollmentException("Course capacity changed while processing the batch; please retry");
+            }
+        });
+    }
+
+    private void insertEnrollments(List<AcceptedEnrollment> accepted) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_ENROLLMENT_SQL, accepted, INSERT_BATCH_SIZE, (statement, enrollment) -> {
+            statement.setLong(1, enrollment.student.getId());
+            statement.setLong(2, enrollment.course.getId());
+            statement.setInt(3, enrollment.term.getId());
+            statement.setTimestamp(4, now);
+            statement.setString(5, EnrollmentStatus.ENROLLED.name());
+        });
+    }
+
+    // Batched inserts do not return generated keys, so read them back with one query
+    private void resolveEnrollmentIds(List<AcceptedEnrollment> accepted, Set<Long> studentIds, Set<Long> courseIds) {
+        if (accepted.isEmpty()) {
+            return;
+        }
+        Map<EnrollmentKey, Long> ids = new HashMap<>();
+        for (Object[] row : enrollmentRepository.findIdsByStudentIdsAndCourseIds(studentIds, courseIds)) {
+            ids.put(new EnrollmentKey((Long) row[1], (Long) row[2]), (Long) row[0]);
+        }
+        for (AcceptedEnrollment enrollment : accepted) {
+            enrollment.result.setEnrollmentId(ids.get(new EnrollmentKey(enrollment.student.getId(), enrollment.course.getId())));
+        }
+    }
+
+    private void reconcileHotCoursesAfterCommit(List<AcceptedEnrollment> accepted) {
+        Set<String> hotCourseCodes = accepted.stream()
+                .map(enrollment -> enrollment.course.getCourseCode())
+                .filter(hotCourseSeatPool::isHot)
+                .collect(Collectors.toSet());
+        if (hotCourseCodes.isEmpty() || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                hotCourseCodes.forEach(hotCourseSeatPool::reconcile);
+            }
+        });
+    }
+
+    private static Set<String> distinct(List<BatchEnrollmentItemDTO> items, Function<BatchEnrollmentItemDTO, String> key) {
+        return items.stream().map(key).filter(Objects::nonNull).collect(Collectors.toSet());
+    }
+
+    private static <T> Map<String, T> indexBy(List<T> values, Function<T, String> key) {
+        Map<String, T> index = new LinkedHashMap<>();
+        values.forEach(value -> index.put(key.apply(value), value));
+        return index;
+    }
+
+    // In-memory view of everything the rules need, updated as items are accepted
+    private static final class BatchState {
+        private final Set<EnrollmentKey> existing = new HashSet<>();
+        private final Map<Long, Set<Long>> enrolledCourses = new HashMap<>();
+        private final Map<Long, Set<Long>> prerequisites = new HashMap<>();
+        private final Map<Long, List<Long>> acceptedCourses = new HashMap<>();
+        private final Set<Long> waitlistedCourses = new HashSet<>();
+        private final Map<Long, Integer> remainingSeats = new HashMap<>();
+        private final Map<Long, Term> terms = new HashMap<>();
+        private final Map<Long, String> termRejections = new HashMap<>();
+
+        boolean hasEnrollment(Long studentId, Long courseId) {
+            return existing.contains(new EnrollmentKey(studentId, courseId));
+        }
+
+        boolean meetsPrerequisites(Long studentId, Long courseId) {
+            Set<Long> required = prerequisites.getOrDefault(courseId, Set.of());
+            return enrolledCourses.getOrDefault(studentId, Set.of()).containsAll(required);
+        }
+
+        boolean hasSeat(Long courseId) {
+            return remainingSeats.getOrDefault(courseId, 0) > 0;
+        }
+
+        void accept(Long studentId, Long courseId) {
+            existing.add(new EnrollmentKey(studentId, courseId));
+            enrolledCourses.computeIfAbsent(studentId, id -> new HashSet<>()).add(courseId);
+            acceptedCourses.computeIfAbsent(studentId, id -> new ArrayList<>()).add(courseId);
+            remainingSeats.merge(courseId, -1, Integer::sum);
+        }
+    }
+
+    private record EnrollmentKey(Long studentId, Long courseId) {
+    }
+
+    private record AcceptedEnrollment(Student student, Course course, Term term, BatchEnrollmentResultDTO result) {
+    }
+}
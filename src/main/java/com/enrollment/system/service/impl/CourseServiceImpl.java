@@ -1,38 +1,85 @@
 package com.enrollment.system.service.impl;
 
+import com.enrollment.system.dto.CacheStatsDTO;
+import com.enrollment.system.dto.CourseCapacityDTO;
 import com.enrollment.system.dto.CourseDTO;
+import com.enrollment.system.dto.CourseSearchResultDTO;
+import com.enrollment.system.dto.CursorPage;
+import com.enrollment.system.event.CourseChangedEvent;
+import com.enrollment.system.event.CourseChangedEvent.ChangeType;
 import com.enrollment.system.exception.EnrollmentException;
 import com.enrollment.system.exception.ResourceNotFoundException;
 import com.enrollment.system.model.Course;
+import com.enrollment.system.repository.ArchivedEnrollmentRepository;
 import com.enrollment.system.repository.CourseRepository;
-import com.enrollment.system.repository.EnrollmentRepository;
 import com.enrollment.system.service.CourseService;
+import com.enrollment.system.service.catalog.CourseCatalogCache;
+import com.enrollment.system.service.catalog.CourseSnapshot;
+import com.enrollment.system.service.prerequisite.PrerequisiteGraph;
+import com.enrollment.system.service.resolver.EntityResolver;
+import com.enrollment.system.service.search.CourseSearchIndex;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class CourseServiceImpl implements CourseService {
 
     private final CourseRepository courseRepository;
-    private final EnrollmentRepository enrollmentRepository;
+    private final ArchivedEnrollmentRepository archivedEnrollmentRepository;
+    private final EntityResolver entityResolver;
+    private final PrerequisiteGraph prerequisiteGraph;
+    private final CourseCatalogCache courseCatalogCache;
+    private final CourseSearchIndex courseSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public CourseServiceImpl(CourseRepository courseRepository, EnrollmentRepository enrollmentRepository) {
+    public CourseServiceImpl(
+            CourseRepository courseRepository,
+            ArchivedEnrollmentRepository archivedEnrollmentRepository,
+            EntityResolver entityResolver,
+            PrerequisiteGraph prerequisiteGraph,
+            CourseCatalogCache courseCatalogCache,
+            CourseSearchIndex courseSearchIndex,
+            ApplicationEventPublisher eventPublisher) {
         this.courseRepository = courseRepository;
-        this.enrollmentRepository = enrollmentRepository;
+        this.archivedEnrollmentRepository = archivedEnrollmentRepository;
+        this.entityResolver = entityResolver;
+        this.prerequisiteGraph = prerequisiteGraph;
+        this.courseCatalogCache = courseCatalogCache;
+        this.courseSearchIndex = courseSearchIndex;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<CourseDTO> getAllCourses() {
-        return courseRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return convertToDTOs(courseRepository.findAll());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<CourseDTO> getCoursesPage(String cursor, Integer limit) {
+        int pageSize = CursorPage.resolveLimit(limit);
+        List<Course> rows = courseRepository.findByIdGreaterThanOrderByIdAsc(
+                CursorPage.decodeCursor(cursor), PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(rows, pageSize, Course::getId, this::convertToDTOs);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public CourseDTO getCourseById(Long id) {
         Course course = courseRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + id));
@@ -40,12 +87,46 @@ public class CourseServiceImpl implements CourseService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public CourseDTO getCourseByCourseCode(String courseCode) {
-        Course course = courseRepository.findByCourseCode(courseCode)
-                .orElseThrow(() -> new ResourceNotFoundException("Course not found with course code: " + courseCode));
+        CourseSnapshot course = courseCatalogCache.get(courseCode);
         return convertToDTO(course);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<CourseSearchResultDTO> searchCourses(
+            String query, Integer creditHours, String semester, Boolean openSeats, Integer limit) {
+        int resultLimit = CourseSearchIndex.resolveLimit(limit);
+        boolean openOnly = Boolean.TRUE.equals(openSeats);
+        List<CourseSearchIndex.Match> matches = courseSearchIndex.search(query, creditHours, semester);
+        
+        // Seats are read live for the best matches only, a batch at a time until enough have room.
+        // The seat counter is a primary-key read, where counting enrollments would scan every seat held.
+        List<CourseSearchResultDTO> results = new ArrayList<>();
+        int batchSize = openOnly ? Math.max(resultLimit * 4, 100) : resultLimit;
+        for (int from = 0; from < matches.size() && results.size() < resultLimit; from += batchSize) {
+            List<CourseSearchIndex.Match> batch = matches.subList(from, Math.min(from + batchSize, matches.size()));
+            Map<Long, Integer> seatsTaken = new HashMap<>();
+            for (Object[] row : courseRepository.findSeatsTakenByCourseIds(
+                    batch.stream().map(CourseSearchIndex.Match::getCourseId).collect(Collectors.toList()))) {
+                seatsTaken.put((Long) row[0], ((Number) row[1]).intValue());
+            }
+            for (CourseSearchIndex.Match match : batch) {
+                // A course missing here was deleted after the index was read
+                Integer taken = seatsTaken.get(match.getCourseId());
+                if (taken == null || (openOnly && taken >= match.getMaxCapacity())) {
+                    continue;
+                }
+                results.add(match.toDTO(taken));
+                if (results.size() == resultLimit) {
+                    break;
+                }
+            }
+        }
+        return results;
+    }
+
     @Override
     public CourseDTO createCourse(CourseDTO courseDTO) {
         // Check if course code already exists
@@ -55,16 +136,20 @@ public class CourseServiceImpl implements CourseService {
         
         Course course = convertToEntity(courseDTO);
         
-        // Add prerequisites if any
+        // Add prerequisites if any, loading all of them with one query
         if (courseDTO.getPrerequisiteCodes() != null && !courseDTO.getPrerequisiteCodes().isEmpty()) {
+            Map<String, Course> prerequisites = entityResolver.findCourses(courseDTO.getPrerequisiteCodes());
             for (String prerequisiteCode : courseDTO.getPrerequisiteCodes()) {
-                Course prerequisite = courseRepository.findByCourseCode(prerequisiteCode)
-                        .orElseThrow(() -> new ResourceNotFoundException("Prerequisite course not found with code: " + prerequisiteCode));
+                Course prerequisite = prerequisites.get(prerequisiteCode);
+                if (prerequisite == null) {
+                    throw new ResourceNotFoundException("Prerequisite course not found with code: " + prerequisiteCode);
+                }
                 course.addPrerequisite(prerequisite);
             }
         }
         
         Course savedCourse = courseRepository.save(course);
+        publishChange(savedCourse, null, ChangeType.CREATED);
         return convertToDTO(savedCourse);
     }
 
@@ -79,6 +164,7 @@ public class CourseServiceImpl implements CourseService {
             throw new EnrollmentException("Course code already exists: " + courseDTO.getCourseCode());
         }
         
+        String previousCourseCode = course.getCourseCode();
         course.setCourseCode(courseDTO.getCourseCode());
         course.setName(courseDTO.getName());
         course.setDescription(courseDTO.getDescription());
@@ -86,57 +172,169 @@ public class CourseServiceImpl implements CourseService {
         course.setMaxCapacity(courseDTO.getMaxCapacity());
         
         Course updatedCourse = courseRepository.save(course);
+        publishChange(updatedCourse, previousCourseCode, ChangeType.UPDATED);
         return convertToDTO(updatedCourse);
     }
 
     @Override
+    @Transactional
     public void deleteCourse(Long id) {
-        if (!courseRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Course not found with id: " + id);
-        }
-        courseRepository.deleteById(id);
+        Course course = courseRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + id));
+        // Archived enrollments have no foreign key to cascade from, and a later course must not inherit them
+        archivedEnrollmentRepository.deleteByCourseId(id);
+        courseRepository.delete(course);
+        publishChange(course, null, ChangeType.DELETED);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<CourseDTO> getEnrolledCoursesByStudentId(Long studentId) {
-        return courseRepository.findEnrolledCoursesByStudentId(studentId).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return convertToDTOs(courseRepository.findEnrolledCoursesByStudentId(studentId));
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public CursorPage<CourseDTO> getEnrolledCoursesPageByStudentId(Long studentId, String cursor, Integer limit) {
+        int pageSize = CursorPage.resolveLimit(limit);
+        List<Course> rows = courseRepository.findEnrolledCoursesPageByStudentId(
+                studentId, CursorPage.decodeCursor(cursor), PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(rows, pageSize, Course::getId, this::convertToDTOs);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<CourseDTO> getAvailableCoursesByStudentId(Long studentId) {
-        return courseRepository.findAvailableCoursesByStudentId(studentId).stream()
-                .map(this::convertToDTO)
+        return convertToDTOs(courseRepository.findAvailableCoursesByStudentId(studentId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<CourseDTO> getAvailableCoursesPageByStudentId(Long studentId, String cursor, Integer limit) {
+        int pageSize = CursorPage.resolveLimit(limit);
+        List<Course> rows = courseRepository.findAvailableCoursesPageByStudentId(
+                studentId, CursorPage.decodeCursor(cursor), PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(rows, pageSize, Course::getId, this::convertToDTOs);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CourseCapacityDTO> getCourseCapacities(Collection<String> courseCodes) {
+        return entityResolver.findCourses(courseCodes).values().stream()
+                .map(course -> new CourseCapacityDTO(
+                        course.getCourseCode(),
+                        course.getMaxCapacity(),
+                        course.getSeatsTaken(),
+                        Math.max(0, course.getMaxCapacity() - course.getSeatsTaken())))
                 .collect(Collectors.toList());
     }
 
     @Override
+    @Transactional(isolation = Isolation.READ_COMMITTED)
     public void addPrerequisite(String courseCode, String prerequisiteCode) {
-        Course course = courseRepository.findByCourseCode(courseCode)
-                .orElseThrow(() -> new ResourceNotFoundException("Course not found with course code: " + courseCode));
+        Course course = entityResolver.getCourse(courseCode);
         
-        Course prerequisite = courseRepository.findByCourseCode(prerequisiteCode)
+        Course prerequisite = entityResolver.findCourse(prerequisiteCode)
                 .orElseThrow(() -> new ResourceNotFoundException("Prerequisite course not found with code: " + prerequisiteCode));
         
+        // Closures are complete, so the edge closes a cycle exactly when the prerequisite already requires the course.
+        // The in-memory graph only learns of other requests' edges after they commit, so the committed rows are checked too
+        if (prerequisiteGraph.wouldCreateCycle(course.getId(), prerequisite.getId())
+                || requiresCourse(prerequisite.getId(), course.getId())) {
+            throw new EnrollmentException("Adding prerequisite " + prerequisiteCode + " to " + courseCode
+                    + " would create a prerequisite cycle");
+        }
+        
         course.addPrerequisite(prerequisite);
         courseRepository.save(course);
+        publishChange(course, null, ChangeType.PREREQUISITES_CHANGED);
+    }
+
+    // Helper method to check the committed rows for a path from one course to another. Each course is locked
+    // before its edges are read, and the course gaining the edge with them, so an addition anywhere on the path
+    // either waits for this transaction or is seen by it; read committed lets every read see the latest rows.
+    // The in-memory closure is locked and read in one round, and only edges it does not know yet need another.
+    private boolean requiresCourse(Long fromId, Long courseId) {
+        Map<Long, Set<Long>> edges = new HashMap<>();
+        Set<Long> pending = new HashSet<>(prerequisiteGraph.getTransitivePrerequisiteIds(fromId));
+        pending.add(fromId);
+        pending.add(courseId);
+        while (!pending.isEmpty()) {
+            courseRepository.findByIdInForUpdate(pending);
+            for (Long id : pending) {
+                edges.put(id, new HashSet<>());
+            }
+            for (Object[] row : courseRepository.findPrerequisiteIdsByCourseIds(pending)) {
+                edges.get((Long) row[0]).add((Long) row[1]);
+            }
+            
+            Set<Long> reached = new HashSet<>();
+            List<Long> walk = new ArrayList<>(List.of(fromId));
+            pending = new HashSet<>();
+            while (!walk.isEmpty()) {
+                Long next = walk.remove(walk.size() - 1);
+                if (next.equals(courseId)) {
+                    return true;
+                }
+                if (!reached.add(next)) {
+                    continue;
+                }
+                Set<Long> prerequisites = edges.get(next);
+                if (prerequisites == null) {
+                    pending.add(next);
+                } else {
+                    walk.addAll(prerequisites);
+                }
+            }
+        }
+        return false;
     }
 
     @Override
     public void removePrerequisite(String courseCode, String prerequisiteCode) {
-        Course course = courseRepository.findByCourseCode(courseCode)
-                .orElseThrow(() -> new ResourceNotFoundException("Course not found with course code: " + courseCode));
+        Course course = entityResolver.getCourse(courseCode);
         
-        Course prerequisite = courseRepository.findByCourseCode(prerequisiteCode)
+        Course prerequisite = entityResolver.findCourse(prerequisiteCode)
                 .orElseThrow(() -> new ResourceNotFoundException("Prerequisite course not found with code: " + prerequisiteCode));
         
         course.removePrerequisite(prerequisite);
         courseRepository.save(course);
+        publishChange(course, null, ChangeType.PREREQUISITES_CHANGED);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Set<String> getPrerequisiteClosure(String courseCode) {
+        CourseSnapshot course = courseCatalogCache.get(courseCode);
+        return prerequisiteGraph.getTransitivePrerequisiteCodes(course.getId());
+    }
+
+    @Override
+    public CacheStatsDTO getCatalogCacheStats() {
+        return courseCatalogCache.getStats();
+    }
+    
+    // Helper method to notify listeners such as the prerequisite graph once the change is committed
+    private void publishChange(Course course, String previousCourseCode, ChangeType changeType) {
+        eventPublisher.publishEvent(new CourseChangedEvent(
+                course.getId(),
+                course.getCourseCode(),
+                previousCourseCode != null ? previousCourseCode : course.getCourseCode(),
+                changeType));
     }
     
-    // Helper method to convert Course entity to CourseDTO
+    // Helper method to convert a single Course entity to CourseDTO
     private CourseDTO convertToDTO(Course course) {
+        return convertToDTOs(List.of(course)).get(0);
+    }
+    
+    // Helper method to convert a cached CourseSnapshot to CourseDTO; only the seat counter is read live
+    private CourseDTO convertToDTO(CourseSnapshot course) {
+        int enrolled = 0;
+        for (Object[] row : courseRepository.findSeatsTakenByCourseIds(List.of(course.getId()))) {
+            enrolled = ((Number) row[1]).intValue();
+        }
+        
         CourseDTO dto = new CourseDTO();
         dto.setId(course.getId());
         dto.setCourseCode(course.getCourseCode());
@@ -144,20 +342,49 @@ public class CourseServiceImpl implements CourseService {
         dto.setDescription(course.getDescription());
         dto.setCreditHours(course.getCreditHours());
         dto.setMaxCapacity(course.getMaxCapacity());
+        dto.setPrerequisiteCodes(new HashSet<>(course.getPrerequisiteCodes()));
+        dto.setCurrentEnrollment(enrolled);
+        return dto;
+    }
+    
+    // Helper method to convert Course entities to CourseDTOs with one prerequisite query.
+    // Occupancy is the seat counter, the same figure search and the availability stream report.
+    private List<CourseDTO> convertToDTOs(List<Course> courses) {
+        Map<Long, Set<String>> prerequisiteCodes = findPrerequisiteCodes(courses);
         
-        // Set prerequisites
-        if (course.getPrerequisites() != null && !course.getPrerequisites().isEmpty()) {
-            dto.setPrerequisiteCodes(course.getPrerequisites().stream()
-                    .map(Course::getCourseCode)
-                    .collect(Collectors.toSet()));
-        }
-        
-        // Set current enrollment count
-        if (course.getId() != null) {
-            dto.setCurrentEnrollment(enrollmentRepository.countEnrolledStudentsByCourseId(course.getId()));
+        return courses.stream()
+                .map(course -> {
+                    CourseDTO dto = new CourseDTO();
+                    dto.setId(course.getId());
+                    dto.setCourseCode(course.getCourseCode());
+                    dto.setName(course.getName());
+                    dto.setDescription(course.getDescription());
+                    dto.setCreditHours(course.getCreditHours());
+                    dto.setMaxCapacity(course.getMaxCapacity());
+                    dto.setPrerequisiteCodes(prerequisiteCodes.getOrDefault(course.getId(), new HashSet<>()));
+                    dto.setCurrentEnrollment(course.getSeatsTaken());
+                    return dto;
+                })
+                .collect(Collectors.toList());
+    }
+    
+    // Helper method to fetch prerequisite codes for many courses with one query
+    private Map<Long, Set<String>> findPrerequisiteCodes(List<Course> courses) {
+        Map<Long, Set<String>> codes = new HashMap<>();
+        List<Long> courseIds = courseIds(courses);
+        if (!courseIds.isEmpty()) {
+            for (Object[] row : courseRepository.findPrerequisiteCodesByCourseIds(courseIds)) {
+                codes.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add((String) row[1]);
+            }
         }
-        
-        return dto;
+        return codes;
+    }
+    
+    private List<Long> courseIds(List<Course> courses) {
+        return courses.stream()
+                .map(Course::getId)
+                .filter(id -> id != null)
+                .collect(Collectors.toList());
     }
     
     // Helper method to convert CourseDTO to Course entity
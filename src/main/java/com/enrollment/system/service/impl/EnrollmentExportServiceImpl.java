@@ -0,0 +1,146 @@
+package com.enrollment.system.service.impl;
+
+import com.enrollment.system.dto.EnrollmentDTO;
+import com.enrollment.system.dto.ExportFormat;
+import com.enrollment.system.model.Enrollment;
+import com.enrollment.system.model.Enrollment.EnrollmentStatus;
+import com.enrollment.system.repository.EnrollmentRepository;
+import com.enrollment.system.service.EnrollmentExportService;
+import com.enrollment.system.service.term.TermResolver;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+public class EnrollmentExportServiceImpl implements EnrollmentExportService {
+
+    // Rows written between flushes and persistence-context clears
+    private static final int BATCH_SIZE = 500;
+
+    private static final String CSV_HEADER = "id,studentId,courseCode,term,enrollmentDate,status,notes";
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final TermResolver termResolver;
+    private final EntityManager entityManager;
+    private final ObjectWriter jsonWriter;
+
+    @Autowired
+    public EnrollmentExportServiceImpl(
+            EnrollmentRepository enrollmentRepository,
+            TermResolver termResolver,
+            EntityManager entityManager,
+            ObjectMapper objectMapper) {
+        this.enrollmentRepository = enrollmentRepository;
+        this.termResolver = termResolver;
+        this.entityManager = entityManager;
+        this.jsonWriter = objectMapper.writerFor(EnrollmentDTO.class);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportAllEnrollments(ExportFormat format, EnrollmentStatus status, OutputStream outputStream) throws IOException {
+        try (Stream<Enrollment> enrollments = enrollmentRepository.streamAll(status)) {
+            return write(enrollments, format, outputStream);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportCourseRoster(Long courseId, ExportFormat format, EnrollmentStatus status, OutputStream outputStream) throws IOException {
+        try (Stream<Enrollment> enrollments = enrollmentRepository.streamByCourseId(courseId, status)) {
+            return write(enrollments, format, outputStream);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportSemester(String semester, ExportFormat format, EnrollmentStatus status, OutputStream outputStream) throws IOException {
+        try (Stream<Enrollment> enrollments = enrollmentRepository.streamBySemester(semester, status)) {
+            return write(enrollments, format, outputStream);
+        }
+    }
+
+    // Writes rows as they arrive from the cursor. The first row is flushed immediately so the
+    // client sees bytes before the query completes, and the persistence context is cleared
+    // after every batch so heap use does not grow with the export size.
+    private long write(Stream<Enrollment> enrollments, ExportFormat format, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        long count = 0;
+        Iterator<Enrollment> iterator = enrollments.iterator();
+        while (iterator.hasNext()) {
+            EnrollmentDTO dto = convertToDTO(iterator.next());
+            if (format == ExportFormat.CSV) {
+                writeCsvRow(writer, dto);
+            } else {
+                writer.write(jsonWriter.writeValueAsString(dto));
+                writer.write('\n');
+            }
+            count++;
+            if (count == 1 || count % BATCH_SIZE == 0) {
+                writer.flush();
+                entityManager.clear();
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    private void writeCsvRow(Writer writer, EnrollmentDTO dto) throws IOException {
+        writer.write(String.valueOf(dto.getId()));
+        writer.write(',');
+        writer.write(csvField(dto.getStudentId()));
+        writer.write(',');
+        writer.write(csvField(dto.getCourseCode()));
+        writer.write(',');
+        writer.write(csvField(dto.getTerm()));
+        writer.write(',');
+        writer.write(dto.getEnrollmentDate() != null ? dto.getEnrollmentDate().toString() : "");
+        writer.write(',');
+        writer.write(dto.getStatus() != null ? dto.getStatus().name() : "");
+        writer.write(',');
+        writer.write(csvField(dto.getNotes()));
+        writer.write('\n');
+    }
+
+    // Quotes a field when it contains a delimiter, quote or line break
+    private String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    // Helper method to convert Enrollment entity to EnrollmentDTO
+    private EnrollmentDTO convertToDTO(Enrollment enrollment) {
+        EnrollmentDTO dto = new EnrollmentDTO();
+        dto.setId(enrollment.getId());
+        dto.setStudentId(enrollment.getStudent().getStudentId());
+        dto.setCourseCode(enrollment.getCourse().getCourseCode());
+        // Term names come from the node-local cache, so rows do not join the terms table
+        dto.setTerm(termResolver.getTerm(enrollment.getTerm().getId()).getName());
+        dto.setEnrollmentDate(enrollment.getEnrollmentDate());
+        dto.setStatus(enrollment.getStatus());
+        dto.setNotes(enrollment.getNotes());
+        return dto;
+    }
+}
@@ -1,54 +1,113 @@
 package com.enrollment.system.service.impl;
 
+import com.enrollment.system.config.PrimaryReads;
+import com.enrollment.system.dto.CursorPage;
+import com.enrollment.system.dto.EligibilityDTO;
+import com.enrollment.system.dto.EligibilityDTO.Reason;
 import com.enrollment.system.dto.EnrollmentDTO;
+import com.enrollment.system.dto.WaitlistPositionDTO;
+import com.enrollment.system.event.EnrollmentChangedEvent;
 import com.enrollment.system.exception.EnrollmentException;
 import com.enrollment.system.exception.ResourceNotFoundException;
 import com.enrollment.system.model.Course;
 import com.enrollment.system.model.Enrollment;
 import com.enrollment.system.model.Enrollment.EnrollmentStatus;
-import com.enrollment.system.model.Schedule;
 import com.enrollment.system.model.Student;
+import com.enrollment.system.model.Term;
 import com.enrollment.system.repository.CourseRepository;
 import com.enrollment.system.repository.EnrollmentRepository;
-import com.enrollment.system.repository.ScheduleRepository;
-import com.enrollment.system.repository.StudentRepository;
 import com.enrollment.system.service.EnrollmentService;
+import com.enrollment.system.service.capacity.HotCourseSeatPool;
+import com.enrollment.system.service.capacity.HotCourseSeatPool.Claim;
+import com.enrollment.system.service.catalog.CourseCatalogCache;
+import com.enrollment.system.service.catalog.CourseSnapshot;
+import com.enrollment.system.service.conflict.TimeConflictEngine;
+import com.enrollment.system.service.metrics.EnrollmentMetrics;
+import com.enrollment.system.service.prerequisite.CompletedCourses;
+import com.enrollment.system.service.resolver.EntityResolver;
+import com.enrollment.system.service.term.TermResolver;
+import com.enrollment.system.service.waitlist.CourseWaitlists;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "enrollment.service", description = "Time spent in EnrollmentService methods")
 public class EnrollmentServiceImpl implements EnrollmentService {
 
     private final EnrollmentRepository enrollmentRepository;
-    private final StudentRepository studentRepository;
+    private final EntityResolver entityResolver;
     private final CourseRepository courseRepository;
-    private final ScheduleRepository scheduleRepository;
+    private final HotCourseSeatPool hotCourseSeatPool;
+    private final TimeConflictEngine timeConflictEngine;
+    private final CompletedCourses completedCourses;
+    private final CourseCatalogCache courseCatalogCache;
+    private final CourseWaitlists courseWaitlists;
+    private final TermResolver termResolver;
+    private final EnrollmentMetrics enrollmentMetrics;
+    private final PrimaryReads primaryReads;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
     public EnrollmentServiceImpl(
             EnrollmentRepository enrollmentRepository,
-            StudentRepository studentRepository,
+            EntityResolver entityResolver,
             CourseRepository courseRepository,
-            ScheduleRepository scheduleRepository) {
+            HotCourseSeatPool hotCourseSeatPool,
+            TimeConflictEngine timeConflictEngine,
+            CompletedCourses completedCourses,
+            CourseCatalogCache courseCatalogCache,
+            CourseWaitlists courseWaitlists,
+            TermResolver termResolver,
+            EnrollmentMetrics enrollmentMetrics,
+            PrimaryReads primaryReads,
+            TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher eventPublisher) {
         this.enrollmentRepository = enrollmentRepository;
-        this.studentRepository = studentRepository;
+        this.entityResolver = entityResolver;
         this.courseRepository = courseRepository;
-        this.scheduleRepository = scheduleRepository;
+        this.hotCourseSeatPool = hotCourseSeatPool;
+        this.timeConflictEngine = timeConflictEngine;
+        this.completedCourses = completedCourses;
+        this.courseCatalogCache = courseCatalogCache;
+        this.courseWaitlists = courseWaitlists;
+        this.termResolver = termResolver;
+        this.enrollmentMetrics = enrollmentMetrics;
+        this.primaryReads = primaryReads;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<EnrollmentDTO> getAllEnrollments() {
-        return enrollmentRepository.findAll().stream()
+        return enrollmentRepository.findAllWithStudentAndCourse().stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public CursorPage<EnrollmentDTO> getEnrollmentsPage(String cursor, Integer limit, EnrollmentStatus status, String semester) {
+        int pageSize = CursorPage.resolveLimit(limit);
+        List<Enrollment> rows = enrollmentRepository.findPage(
+                CursorPage.decodeCursor(cursor), status, semester, PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(rows, pageSize, Enrollment::getId, this::convertToDTOs);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public EnrollmentDTO getEnrollmentById(Long id) {
         Enrollment enrollment = enrollmentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Enrollment not found with id: " + id));
@@ -56,6 +115,7 @@ public class EnrollmentServiceImpl implements EnrollmentService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<EnrollmentDTO> getEnrollmentsByStudentId(Long studentId) {
         return enrollmentRepository.findByStudentId(studentId).stream()
                 .map(this::convertToDTO)
@@ -63,6 +123,7 @@ public class EnrollmentServiceImpl implements EnrollmentService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<EnrollmentDTO> getEnrollmentsByCourseId(Long courseId) {
         return enrollmentRepository.findByCourseId(courseId).stream()
                 .map(this::convertToDTO)
@@ -70,47 +131,88 @@ public class EnrollmentServiceImpl implements EnrollmentService {
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
+    public CursorPage<EnrollmentDTO> getEnrollmentsPageByStudentId(Long studentId, String cursor, Integer limit, EnrollmentStatus status) {
+        int pageSize = CursorPage.resolveLimit(limit);
+        List<Enrollment> rows = enrollmentRepository.findPageByStudentId(
+                studentId, CursorPage.decodeCursor(cursor), status, PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(rows, pageSize, Enrollment::getId, this::convertToDTOs);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<EnrollmentDTO> getEnrollmentsPageByCourseId(Long courseId, String cursor, Integer limit, EnrollmentStatus status) {
+        int pageSize = CursorPage.resolveLimit(limit);
+        List<Enrollment> rows = enrollmentRepository.findPageByCourseId(
+                courseId, CursorPage.decodeCursor(cursor), status, PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(rows, pageSize, Enrollment::getId, this::convertToDTOs);
+    }
+
+    @Override
     public EnrollmentDTO enrollStudentInCourse(String studentId, String courseCode) {
-        // Get student and course
-        Student student = studentRepository.findByStudentId(studentId)
-                .orElseThrow(() -> new ResourceNotFoundException("Student not found with student ID: " + studentId));
+        // A request without a student or course is answered as not found before it takes a seat token
+        requireKeys(studentId, courseCode);
         
-        Course course = courseRepository.findByCourseCode(courseCode)
-                .orElseThrow(() -> new ResourceNotFoundException("Course not found with course code: " + courseCode));
+        // Hot courses hand out in-memory seat tokens; without one the student goes to the waitlist
+        // without contending for the seat counter
+        Claim claim = hotCourseSeatPool.tryClaim(courseCode);
         
-        // Check if student is already enrolled in the course
-        if (enrollmentRepository.existsByStudentIdAndCourseId(student.getId(), course.getId())) {
-            throw new EnrollmentException("Student is already enrolled in this course");
+        try {
+            EnrollmentDTO enrollment = transactionTemplate.execute(
+                    status -> enroll(studentId, courseCode, claim != Claim.EXHAUSTED));
+            if (claim == Claim.CLAIMED) {
+                if (enrollment.getStatus() == EnrollmentStatus.ENROLLED) {
+                    hotCourseSeatPool.confirm(courseCode);
+                } else {
+                    hotCourseSeatPool.release(courseCode);
+                }
+            }
+            return enrollment;
+        } catch (RuntimeException ex) {
+            if (claim == Claim.CLAIMED) {
+                hotCourseSeatPool.release(courseCode);
+            }
+            throw ex;
         }
+    }
+
+    private EnrollmentDTO enroll(String studentId, String courseCode, boolean seatClaimable) {
+        // Get student and course
+        Student student = entityResolver.getStudent(studentId);
         
-        // Check prerequisites
-        if (!checkPrerequisites(studentId, courseCode)) {
-            throw new EnrollmentException("Student does not meet prerequisites for this course");
-        }
+        Course course = entityResolver.getCourse(courseCode);
+        // Counted only once the course is known, so unknown codes never become meter tags
+        enrollmentMetrics.recordAttempt(course.getCourseCode());
         
-        // Check course capacity
-        if (!checkCourseCapacity(courseCode)) {
-            throw new EnrollmentException("Course has reached maximum capacity");
+        // Run every rule against the student and course loaded above; the first failure other than
+        // a full course is reported, since a full course puts the student on its waitlist instead
+        EligibilityDTO eligibility = evaluateEligibility(student, course);
+        for (EligibilityDTO.Failure failure : eligibility.getFailures()) {
+            if (failure.getReason() != Reason.COURSE_FULL) {
+                enrollmentMetrics.recordRejection(failure.getReason());
+                throw new EnrollmentException(failure.getMessage());
+            }
         }
         
-        // Check for time conflicts with current semester
-        List<Schedule> courseSchedules = scheduleRepository.findByCourseId(course.getId());
-        if (!courseSchedules.isEmpty()) {
-            String semester = courseSchedules.get(0).getSemester();
-            if (!checkTimeConflict(studentId, courseCode, semester)) {
-                throw new EnrollmentException("Course has time conflict with student's schedule");
-            }
+        // The enrollment belongs to the term of the course's first meeting; closed terms take no enrollments
+        Term term = termResolver.getEnrollmentTerm(eligibility.getSemester());
+        
+        // Claim a seat atomically; the conditional update fails once the course is full
+        boolean seated = eligibility.isEligible() && seatClaimable && courseRepository.reserveSeat(course.getId()) > 0;
+        if (!seated) {
+            enrollmentMetrics.recordWaitlistJoin();
         }
         
         // Create new enrollment
         Enrollment enrollment = new Enrollment();
         enrollment.setStudent(student);
         enrollment.setCourse(course);
+        enrollment.setTerm(term);
         enrollment.setEnrollmentDate(LocalDateTime.now());
-        enrollment.setStatus(EnrollmentStatus.ENROLLED);
+        enrollment.setStatus(seated ? EnrollmentStatus.ENROLLED : EnrollmentStatus.WAITLISTED);
         
         Enrollment savedEnrollment = enrollmentRepository.save(enrollment);
+        publishChange(savedEnrollment, null);
         return convertToDTO(savedEnrollment);
     }
 
@@ -118,83 +220,170 @@ public class EnrollmentServiceImpl implements EnrollmentService {
     @Transactional
     public EnrollmentDTO dropCourse(String studentId, String courseCode) {
         // Get student and course
-        Student student = studentRepository.findByStudentId(studentId)
-                .orElseThrow(() -> new ResourceNotFoundException("Student not found with student ID: " + studentId));
+        Student student = entityResolver.getStudent(studentId);
         
-        Course course = courseRepository.findByCourseCode(courseCode)
-                .orElseThrow(() -> new ResourceNotFoundException("Course not found with course code: " + courseCode));
+        Course course = entityResolver.getCourse(courseCode);
         
         // Find enrollment
         Enrollment enrollment = enrollmentRepository.findByStudentIdAndCourseId(student.getId(), course.getId())
                 .orElseThrow(() -> new EnrollmentException("Student is not enrolled in this course"));
         
+        // Give the seat back if the student was holding one
+        EnrollmentStatus previousStatus = enrollment.getStatus();
+        if (previousStatus == EnrollmentStatus.ENROLLED) {
+            courseRepository.releaseSeat(course.getId());
+        }
+        
         // Update enrollment status
         enrollment.setStatus(EnrollmentStatus.DROPPED);
         
         Enrollment updatedEnrollment = enrollmentRepository.save(enrollment);
+        publishChange(updatedEnrollment, previousStatus);
         return convertToDTO(updatedEnrollment);
     }
 
     @Override
-    public boolean checkPrerequisites(String studentId, String courseCode) {
-        Student student = studentRepository.findByStudentId(studentId)
-                .orElseThrow(() -> new ResourceNotFoundException("Student not found with student ID: " + studentId));
+    @Transactional(readOnly = true)
+    public WaitlistPositionDTO getWaitlistPosition(String studentId, String courseCode) {
+        Student student = entityResolver.getStudent(studentId);
         
-        Course course = courseRepository.findByCourseCode(courseCode)
-                .orElseThrow(() -> new ResourceNotFoundException("Course not found with course code: " + courseCode));
+        Course course = entityResolver.getCourse(courseCode);
         
-        // If no prerequisites, return true
-        if (course.getPrerequisites() == null || course.getPrerequisites().isEmpty()) {
-            return true;
+        // The position comes from the in-memory waitlist, not from counting rows ahead of the student.
+        // The row is read from the primary, since a lagging replica could disagree with that waitlist.
+        int position = primaryReads.read(() -> enrollmentRepository.findByStudentIdAndCourseId(student.getId(), course.getId()))
+                .filter(enrollment -> enrollment.getStatus() == EnrollmentStatus.WAITLISTED)
+                .map(enrollment -> courseWaitlists.position(course.getId(), enrollment.getId()))
+                .orElse(0);
+        if (position == 0) {
+            throw new EnrollmentException("Student is not on the waitlist for this course");
         }
         
-        // Get all courses the student has completed
-        List<Course> completedCourses = courseRepository.findEnrolledCoursesByStudentId(student.getId());
-        
-        // Check if all prerequisites are in the completed courses
-        return course.getPrerequisites().stream()
-                .allMatch(prerequisite -> completedCourses.contains(prerequisite));
+        return new WaitlistPositionDTO(student.getStudentId(), course.getCourseCode(), position,
+                courseWaitlists.size(course.getId()));
     }
 
     @Override
-    public boolean checkTimeConflict(String studentId, String courseCode, String semester) {
-        Student student = studentRepository.findByStudentId(studentId)
-                .orElseThrow(() -> new ResourceNotFoundException("Student not found with student ID: " + studentId));
+    @Transactional(readOnly = true)
+    public boolean checkPrerequisites(String studentId, String courseCode) {
+        Student student = entityResolver.getStudent(studentId);
         
-        Course course = courseRepository.findByCourseCode(courseCode)
-                .orElseThrow(() -> new ResourceNotFoundException("Course not found with course code: " + courseCode));
+        CourseSnapshot course = courseCatalogCache.get(courseCode);
         
-        // Get schedules for the course
-        List<Schedule> courseSchedules = scheduleRepository.findByCourseId(course.getId());
+        // Check the graph's direct prerequisites against the ids of the courses the student has completed;
+        // courses without prerequisites do not load the student's courses at all
+        return completedCourses.getMissingPrerequisiteCodes(student.getId(), course.getId()).isEmpty();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public EligibilityDTO checkEligibility(String studentId, String courseCode) {
+        Student student = entityResolver.getStudent(studentId);
         
-        // If no schedules, return true (no conflicts)
-        if (courseSchedules.isEmpty()) {
-            return true;
-        }
+        Course course = entityResolver.getCourse(courseCode);
         
-        // Check each schedule for conflicts
-        for (Schedule schedule : courseSchedules) {
-            if (scheduleRepository.hasTimeConflict(
-                    student.getId(), 
-                    schedule.getDayOfWeek(), 
-                    schedule.getStartTime(), 
-                    schedule.getEndTime(), 
-                    semester)) {
-                return false;
-            }
-        }
+        return evaluateEligibility(student, course);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean checkTimeConflict(String studentId, String courseCode, String semester) {
+        Student student = entityResolver.getStudent(studentId);
+        
+        CourseSnapshot course = courseCatalogCache.get(courseCode);
         
-        return true;
+        // Compare the course's meetings with the student's week as slot bitmaps
+        return !timeConflictEngine.hasConflict(student.getId(), course.getId(), semester);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public boolean checkCourseCapacity(String courseCode) {
-        Course course = courseRepository.findByCourseCode(courseCode)
-                .orElseThrow(() -> new ResourceNotFoundException("Course not found with course code: " + courseCode));
+        Course course = entityResolver.getCourse(courseCode);
         
-        int currentEnrollment = enrollmentRepository.countEnrolledStudentsByCourseId(course.getId());
+        return course.getSeatsTaken() < course.getMaxCapacity();
+    }
+    
+    @Override
+    public Map<String, Integer> getHotCourses() {
+        return hotCourseSeatPool.getAvailableTokens();
+    }
+
+    @Override
+    public void enableHotCourse(String courseCode) {
+        hotCourseSeatPool.enable(courseCode);
+    }
+
+    @Override
+    public void disableHotCourse(String courseCode) {
+        hotCourseSeatPool.disable(courseCode);
+    }
+    
+    // Helper method to reject missing keys with the same 404 the resolver gives unknown ones
+    private void requireKeys(String studentId, String courseCode) {
+        if (studentId == null) {
+            throw new ResourceNotFoundException("Student not found with student ID: null");
+        }
+        if (courseCode == null) {
+            throw new ResourceNotFoundException("Course not found with course code: null");
+        }
+    }
+
+    // Helper method to evaluate all enrollment rules, in the order enrollment reports them
+    private EligibilityDTO evaluateEligibility(Student student, Course course) {
+        EligibilityDTO eligibility = new EligibilityDTO();
+        eligibility.setStudentId(student.getStudentId());
+        eligibility.setCourseCode(course.getCourseCode());
         
-        return currentEnrollment < course.getMaxCapacity();
+        if (enrollmentRepository.existsByStudentIdAndCourseId(student.getId(), course.getId())) {
+            addFailure(eligibility, Reason.ALREADY_ENROLLED, "Student is already enrolled in this course");
+        }
+        
+        Set<String> missingPrerequisites = completedCourses.getMissingPrerequisiteCodes(student.getId(), course.getId());
+        eligibility.setMissingPrerequisites(missingPrerequisites);
+        if (!missingPrerequisites.isEmpty()) {
+            addFailure(eligibility, Reason.PREREQUISITES_NOT_MET, "Student does not meet prerequisites for this course");
+        }
+        
+        eligibility.setAvailableSeats(Math.max(0, course.getMaxCapacity() - course.getSeatsTaken()));
+        eligibility.setWaitlistSize(courseWaitlists.size(course.getId()));
+        if (eligibility.getAvailableSeats() == 0) {
+            addFailure(eligibility, Reason.COURSE_FULL, "Course has reached maximum capacity");
+        } else if (eligibility.getWaitlistSize() > 0) {
+            // Open seats go to the students already waiting, in the order they joined
+            addFailure(eligibility, Reason.COURSE_FULL, "Course seats are held for waitlisted students");
+        }
+        
+        // Courses without meetings cannot clash; otherwise check the semester of the first meeting
+        String semester = timeConflictEngine.getPrimarySemester(course.getId());
+        eligibility.setSemester(semester);
+        if (semester != null && timeConflictEngine.hasConflict(student.getId(), course.getId(), semester)) {
+            addFailure(eligibility, Reason.TIME_CONFLICT, "Course has time conflict with student's schedule");
+        }
+        
+        eligibility.setEligible(eligibility.getFailures().isEmpty());
+        return eligibility;
+    }
+    
+    private void addFailure(EligibilityDTO eligibility, Reason reason, String message) {
+        eligibility.getFailures().add(new EligibilityDTO.Failure(reason, message));
+    }
+    
+    // Helper method to notify listeners once the surrounding transaction commits
+    private void publishChange(Enrollment enrollment, EnrollmentStatus previousStatus) {
+        eventPublisher.publishEvent(new EnrollmentChangedEvent(
+                enrollment.getId(),
+                enrollment.getStudent().getId(),
+                enrollment.getCourse().getId(),
+                enrollment.getCourse().getCourseCode(),
+                previousStatus,
+                enrollment.getStatus()));
+    }
+    
+    private List<EnrollmentDTO> convertToDTOs(List<Enrollment> enrollments) {
+        return enrollments.stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
     }
     
     // Helper method to convert Enrollment entity to EnrollmentDTO
@@ -203,6 +392,7 @@ public class EnrollmentServiceImpl implements EnrollmentService {
         dto.setId(enrollment.getId());
         dto.setStudentId(enrollment.getStudent().getStudentId());
         dto.setCourseCode(enrollment.getCourse().getCourseCode());
+        dto.setTerm(termResolver.getTerm(enrollment.getTerm().getId()).getName());
         dto.setEnrollmentDate(enrollment.getEnrollmentDate());
         dto.setStatus(enrollment.getStatus());
         dto.setNotes(enrollment.getNotes());
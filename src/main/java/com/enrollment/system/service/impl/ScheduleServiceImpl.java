@@ -1,17 +1,22 @@
 package com.enrollment.system.service.impl;
 
+import com.enrollment.system.dto.CursorPage;
 import com.enrollment.system.dto.ScheduleDTO;
+import com.enrollment.system.event.ScheduleChangedEvent;
 import com.enrollment.system.exception.EnrollmentException;
 import com.enrollment.system.exception.ResourceNotFoundException;
 import com.enrollment.system.model.Course;
 import com.enrollment.system.model.Schedule;
 import com.enrollment.system.model.Student;
-import com.enrollment.system.repository.CourseRepository;
 import com.enrollment.system.repository.ScheduleRepository;
-import com.enrollment.system.repository.StudentRepository;
 import com.enrollment.system.service.ScheduleService;
+import com.enrollment.system.service.resolver.EntityResolver;
+import com.enrollment.system.service.term.TermResolver;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -20,27 +25,41 @@ import java.util.stream.Collectors;
 public class ScheduleServiceImpl implements ScheduleService {
 
     private final ScheduleRepository scheduleRepository;
-    private final CourseRepository courseRepository;
-    private final StudentRepository studentRepository;
+    private final EntityResolver entityResolver;
+    private final TermResolver termResolver;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
     public ScheduleServiceImpl(
             ScheduleRepository scheduleRepository,
-            CourseRepository courseRepository,
-            StudentRepository studentRepository) {
+            EntityResolver entityResolver,
+            TermResolver termResolver,
+            ApplicationEventPublisher eventPublisher) {
         this.scheduleRepository = scheduleRepository;
-        this.courseRepository = courseRepository;
-        this.studentRepository = studentRepository;
+        this.entityResolver = entityResolver;
+        this.termResolver = termResolver;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ScheduleDTO> getAllSchedules() {
-        return scheduleRepository.findAll().stream()
+        return scheduleRepository.findAllWithCourse().stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ScheduleDTO> getSchedulesPage(String cursor, Integer limit, String semester) {
+        int pageSize = CursorPage.resolveLimit(limit);
+        List<Schedule> rows = scheduleRepository.findPage(
+                CursorPage.decodeCursor(cursor), semester, PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(rows, pageSize, Schedule::getId, this::convertToDTOs);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public ScheduleDTO getScheduleById(Long id) {
         Schedule schedule = scheduleRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Schedule not found with id: " + id));
@@ -48,6 +67,7 @@ public class ScheduleServiceImpl implements ScheduleService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ScheduleDTO> getSchedulesByCourseId(Long courseId) {
         return scheduleRepository.findByCourseId(courseId).stream()
                 .map(this::convertToDTO)
@@ -55,6 +75,16 @@ public class ScheduleServiceImpl implements ScheduleService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ScheduleDTO> getSchedulesPageByCourseId(Long courseId, String cursor, Integer limit) {
+        int pageSize = CursorPage.resolveLimit(limit);
+        List<Schedule> rows = scheduleRepository.findPageByCourseId(
+                courseId, CursorPage.decodeCursor(cursor), PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(rows, pageSize, Schedule::getId, this::convertToDTOs);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<ScheduleDTO> getSchedulesBySemester(String semester) {
         return scheduleRepository.findBySemester(semester).stream()
                 .map(this::convertToDTO)
@@ -62,27 +92,40 @@ public class ScheduleServiceImpl implements ScheduleService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ScheduleDTO> getStudentSchedule(String studentId, String semester) {
-        Student student = studentRepository.findByStudentId(studentId)
-                .orElseThrow(() -> new ResourceNotFoundException("Student not found with student ID: " + studentId));
+        Student student = entityResolver.getStudent(studentId);
         
         return scheduleRepository.findStudentScheduleByStudentIdAndSemester(student.getId(), semester).stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ScheduleDTO> getStudentSchedulePage(String studentId, String semester, String cursor, Integer limit) {
+        Student student = entityResolver.getStudent(studentId);
+        int pageSize = CursorPage.resolveLimit(limit);
+        List<Schedule> rows = scheduleRepository.findStudentSchedulePage(
+                student.getId(), semester, CursorPage.decodeCursor(cursor), PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(rows, pageSize, Schedule::getId, this::convertToDTOs);
+    }
+
     @Override
     public ScheduleDTO createSchedule(ScheduleDTO scheduleDTO) {
-        Course course = courseRepository.findByCourseCode(scheduleDTO.getCourseCode())
-                .orElseThrow(() -> new ResourceNotFoundException("Course not found with course code: " + scheduleDTO.getCourseCode()));
+        Course course = entityResolver.getCourse(scheduleDTO.getCourseCode());
         
         // Validate time range
         if (scheduleDTO.getStartTime().isAfter(scheduleDTO.getEndTime())) {
             throw new EnrollmentException("Start time must be before end time");
         }
         
+        // Every semester a schedule names is a term
+        termResolver.getOrCreate(scheduleDTO.getSemester());
+        
         Schedule schedule = convertToEntity(scheduleDTO, course);
         Schedule savedSchedule = scheduleRepository.save(schedule);
+        eventPublisher.publishEvent(new ScheduleChangedEvent(course.getId(), savedSchedule.getSemester(), null, null));
         return convertToDTO(savedSchedule);
     }
 
@@ -91,14 +134,19 @@ public class ScheduleServiceImpl implements ScheduleService {
         Schedule schedule = scheduleRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Schedule not found with id: " + id));
         
-        Course course = courseRepository.findByCourseCode(scheduleDTO.getCourseCode())
-                .orElseThrow(() -> new ResourceNotFoundException("Course not found with course code: " + scheduleDTO.getCourseCode()));
+        Course course = entityResolver.getCourse(scheduleDTO.getCourseCode());
         
         // Validate time range
         if (scheduleDTO.getStartTime().isAfter(scheduleDTO.getEndTime())) {
             throw new EnrollmentException("Start time must be before end time");
         }
         
+        // Every semester a schedule names is a term
+        termResolver.getOrCreate(scheduleDTO.getSemester());
+        
+        Long previousCourseId = schedule.getCourse().getId();
+        String previousSemester = schedule.getSemester();
+        
         schedule.setCourse(course);
         schedule.setDayOfWeek(scheduleDTO.getDayOfWeek());
         schedule.setStartTime(scheduleDTO.getStartTime());
@@ -107,15 +155,17 @@ public class ScheduleServiceImpl implements ScheduleService {
         schedule.setSemester(scheduleDTO.getSemester());
         
         Schedule updatedSchedule = scheduleRepository.save(schedule);
+        eventPublisher.publishEvent(new ScheduleChangedEvent(
+                course.getId(), updatedSchedule.getSemester(), previousCourseId, previousSemester));
         return convertToDTO(updatedSchedule);
     }
 
     @Override
     public void deleteSchedule(Long id) {
-        if (!scheduleRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Schedule not found with id: " + id);
-        }
-        scheduleRepository.deleteById(id);
+        Schedule schedule = scheduleRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Schedule not found with id: " + id));
+        scheduleRepository.delete(schedule);
+        eventPublisher.publishEvent(new ScheduleChangedEvent(schedule.getCourse().getId(), schedule.getSemester(), null, null));
     }
     
     // Helper method to convert Schedule entity to ScheduleDTO
@@ -131,6 +181,12 @@ public class ScheduleServiceImpl implements ScheduleService {
         return dto;
     }
     
+    private List<ScheduleDTO> convertToDTOs(List<Schedule> schedules) {
+        return schedules.stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+    
     // Helper method to convert ScheduleDTO to Schedule entity
     private Schedule convertToEntity(ScheduleDTO dto, Course course) {
         Schedule schedule = new Schedule();
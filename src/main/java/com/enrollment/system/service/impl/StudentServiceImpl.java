@@ -1,13 +1,27 @@
 package com.enrollment.system.service.impl;
 
+import com.enrollment.system.dto.CursorPage;
 import com.enrollment.system.dto.StudentDTO;
+import com.enrollment.system.dto.StudentSearchResultDTO;
+import com.enrollment.system.event.EnrollmentChangedEvent;
+import com.enrollment.system.event.StudentChangedEvent;
+import com.enrollment.system.event.StudentChangedEvent.ChangeType;
 import com.enrollment.system.exception.EnrollmentException;
 import com.enrollment.system.exception.ResourceNotFoundException;
+import com.enrollment.system.model.Enrollment.EnrollmentStatus;
 import com.enrollment.system.model.Student;
+import com.enrollment.system.repository.ArchivedEnrollmentRepository;
+import com.enrollment.system.repository.CourseRepository;
+import com.enrollment.system.repository.EnrollmentRepository;
 import com.enrollment.system.repository.StudentRepository;
 import com.enrollment.system.service.StudentService;
+import com.enrollment.system.service.resolver.EntityResolver;
+import com.enrollment.system.service.search.StudentSearchIndex;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -16,13 +30,33 @@ import java.util.stream.Collectors;
 public class StudentServiceImpl implements StudentService {
 
     private final StudentRepository studentRepository;
+    private final CourseRepository courseRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final ArchivedEnrollmentRepository archivedEnrollmentRepository;
+    private final EntityResolver entityResolver;
+    private final StudentSearchIndex studentSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public StudentServiceImpl(StudentRepository studentRepository) {
+    public StudentServiceImpl(
+            StudentRepository studentRepository,
+            CourseRepository courseRepository,
+            EnrollmentRepository enrollmentRepository,
+            ArchivedEnrollmentRepository archivedEnrollmentRepository,
+            EntityResolver entityResolver,
+            StudentSearchIndex studentSearchIndex,
+            ApplicationEventPublisher eventPublisher) {
         this.studentRepository = studentRepository;
+        this.courseRepository = courseRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.archivedEnrollmentRepository = archivedEnrollmentRepository;
+        this.entityResolver = entityResolver;
+        this.studentSearchIndex = studentSearchIndex;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<StudentDTO> getAllStudents() {
         return studentRepository.findAll().stream()
                 .map(this::convertToDTO)
@@ -30,6 +64,18 @@ public class StudentServiceImpl implements StudentService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public CursorPage<StudentDTO> getStudentsPage(String cursor, Integer limit) {
+        int pageSize = CursorPage.resolveLimit(limit);
+        List<Student> rows = studentRepository.findByIdGreaterThanOrderByIdAsc(
+                CursorPage.decodeCursor(cursor), PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(rows, pageSize, Student::getId, page -> page.stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public StudentDTO getStudentById(Long id) {
         Student student = studentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + id));
@@ -37,12 +83,18 @@ public class StudentServiceImpl implements StudentService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public StudentDTO getStudentByStudentId(String studentId) {
-        Student student = studentRepository.findByStudentId(studentId)
-                .orElseThrow(() -> new ResourceNotFoundException("Student not found with student ID: " + studentId));
+        Student student = entityResolver.getStudent(studentId);
         return convertToDTO(student);
     }
 
+    @Override
+    public List<StudentSearchResultDTO> searchStudents(String query, Integer limit) {
+        // Answered from memory; the index follows the changes published below
+        return studentSearchIndex.search(query, limit);
+    }
+
     @Override
     public StudentDTO createStudent(StudentDTO studentDTO) {
         // Check if student ID already exists
@@ -57,6 +109,7 @@ public class StudentServiceImpl implements StudentService {
         
         Student student = convertToEntity(studentDTO);
         Student savedStudent = studentRepository.save(student);
+        publishChange(savedStudent, ChangeType.CREATED);
         return convertToDTO(savedStudent);
     }
 
@@ -84,15 +137,50 @@ public class StudentServiceImpl implements StudentService {
         student.setPhoneNumber(studentDTO.getPhoneNumber());
         
         Student updatedStudent = studentRepository.save(student);
+        publishChange(updatedStudent, ChangeType.UPDATED);
         return convertToDTO(updatedStudent);
     }
 
     @Override
+    @Transactional
     public void deleteStudent(Long id) {
         if (!studentRepository.existsById(id)) {
             throw new ResourceNotFoundException("Student not found with id: " + id);
         }
+        // Enrollments are removed by cascade, so free the seats they held first
+        List<Object[]> heldEnrollments = enrollmentRepository.findHeldEnrollmentsByStudentId(id);
+        courseRepository.releaseSeatsHeldByStudent(id);
+        // Archived enrollments have no foreign key to cascade from
+        archivedEnrollmentRepository.deleteByStudentId(id);
         studentRepository.deleteById(id);
+        eventPublisher.publishEvent(new StudentChangedEvent(id, null, null, null, null, null, ChangeType.DELETED));
+        publishDrops(id, heldEnrollments);
+    }
+    
+    // Helper method to report the cascaded enrollments as drops, so their seats go to waitlisted students
+    // and their places in line are given up like any other drop
+    private void publishDrops(Long studentId, List<Object[]> heldEnrollments) {
+        for (Object[] row : heldEnrollments) {
+            eventPublisher.publishEvent(new EnrollmentChangedEvent(
+                    (Long) row[0],
+                    studentId,
+                    (Long) row[1],
+                    (String) row[2],
+                    (EnrollmentStatus) row[3],
+                    EnrollmentStatus.DROPPED));
+        }
+    }
+    
+    // Helper method to notify listeners once the surrounding transaction commits
+    private void publishChange(Student student, ChangeType changeType) {
+        eventPublisher.publishEvent(new StudentChangedEvent(
+                student.getId(),
+                student.getStudentId(),
+                student.getFirstName(),
+                student.getLastName(),
+                student.getEmail(),
+                student.getPhoneNumber(),
+                changeType));
     }
     
     // Helper method to convert Student entity to StudentDTO
@@ -0,0 +1,124 @@
+package com.enrollment.system.service.impl;
+
+import com.enrollment.system.dto.TermDTO;
+import com.enrollment.system.event.TermChangedEvent;
+import com.enrollment.system.exception.EnrollmentException;
+import com.enrollment.system.exception.ResourceNotFoundException;
+import com.enrollment.system.model.Term;
+import com.enrollment.system.model.Term.TermStatus;
+import com.enrollment.system.repository.ArchivedEnrollmentRepository;
+import com.enrollment.system.repository.CourseRepository;
+import com.enrollment.system.repository.EnrollmentRepository;
+import com.enrollment.system.repository.TermRepository;
+import com.enrollment.system.service.TermService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+public class TermServiceImpl implements TermService {
+
+    private static final Logger log = LoggerFactory.getLogger(TermServiceImpl.class);
+
+    private final TermRepository termRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final ArchivedEnrollmentRepository archivedEnrollmentRepository;
+    private final CourseRepository courseRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public TermServiceImpl(
+            TermRepository termRepository,
+            EnrollmentRepository enrollmentRepository,
+            ArchivedEnrollmentRepository archivedEnrollmentRepository,
+            CourseRepository courseRepository,
+            ApplicationEventPublisher eventPublisher) {
+        this.termRepository = termRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.archivedEnrollmentRepository = archivedEnrollmentRepository;
+        this.courseRepository = courseRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TermDTO> getAllTerms() {
+        return termRepository.findAllByOrderByIdAsc().stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TermDTO getTermById(Integer id) {
+        return convertToDTO(findTerm(id));
+    }
+
+    @Override
+    public TermDTO createTerm(TermDTO termDTO) {
+        if (termRepository.existsByName(termDTO.getName())) {
+            throw new EnrollmentException("Term already exists: " + termDTO.getName());
+        }
+        
+        Term savedTerm = termRepository.save(new Term(null, termDTO.getName(), TermStatus.OPEN));
+        publishChange(savedTerm);
+        return convertToDTO(savedTerm);
+    }
+
+    @Override
+    @Transactional
+    public TermDTO closeTerm(Integer id) {
+        Term term = findTerm(id);
+        if (term.getStatus() != TermStatus.OPEN) {
+            throw new EnrollmentException("Only open terms can be closed");
+        }
+        
+        term.setStatus(TermStatus.CLOSED);
+        publishChange(term);
+        return convertToDTO(term);
+    }
+
+    @Override
+    @Transactional
+    public TermDTO archiveTerm(Integer id) {
+        Term term = findTerm(id);
+        if (term.getStatus() != TermStatus.CLOSED) {
+            throw new EnrollmentException("Only closed terms can be archived");
+        }
+        
+        // Give back the seats the term held, then move its rows to the cold table in the same transaction
+        courseRepository.releaseSeatsHeldInTerm(term.getId());
+        int archived = archivedEnrollmentRepository.copyFromEnrollmentsByTermId(term.getId());
+        int deleted = enrollmentRepository.deleteByTermId(term.getId());
+        if (archived != deleted) {
+            throw new IllegalStateException("Archived " + archived + " enrollments of term " + term.getName()
+                    + " but removed " + deleted);
+        }
+        
+        term.setStatus(TermStatus.ARCHIVED);
+        publishChange(term);
+        log.info("Archived {} enrollments of term {}", archived, term.getName());
+        return convertToDTO(term);
+    }
+    
+    private Term findTerm(Integer id) {
+        return termRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Term not found with id: " + id));
+    }
+    
+    // Helper method to notify listeners once the surrounding transaction commits
+    private void publishChange(Term term) {
+        eventPublisher.publishEvent(new TermChangedEvent(term.getId(), term.getName(), term.getStatus()));
+    }
+    
+    // Helper method to convert Term entity to TermDTO
+    private TermDTO convertToDTO(Term term) {
+        return new TermDTO(term.getId(), term.getName(), term.getStatus());
+    }
+}
@@ -0,0 +1,95 @@
+package com.enrollment.system.service.metrics;
+
+import com.enrollment.system.dto.EligibilityDTO.Reason;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.noop.NoopCounter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counters for the single-enrollment path: attempts per course, rejections per
+ * reason, and waitlist joins and promotions. Rejection counters are registered up
+ * front so every reason is exported, at zero, before the first rejection. The
+ * number of course tags is capped by a meter filter, since the catalog is unbounded;
+ * attempts are only recorded for courses that exist, and courses past the cap are
+ * not kept here either.
+ */
+@Component
+public class EnrollmentMetrics {
+
+    public static final String ATTEMPTS = "enrollment.attempts";
+    public static final String REJECTIONS = "enrollment.rejections";
+    public static final String WAITLIST_JOINS = "enrollment.waitlist.joins";
+    public static final String WAITLIST_PROMOTIONS = "enrollment.waitlist.promotions";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> attemptsByCourse = new ConcurrentHashMap<>();
+    private final Map<Reason, Counter> rejectionsByReason = new EnumMap<>(Reason.class);
+    private final Counter waitlistJoins;
+    private final Counter waitlistPromotions;
+
+    @Autowired
+    public EnrollmentMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        for (Reason reason : Reason.values()) {
+            rejectionsByReason.put(reason, Counter.builder(REJECTIONS)
+                    .description("Enrollment requests rejected by a rule")
+                    .tag("reason", tagOf(reason))
+                    .register(meterRegistry));
+        }
+        waitlistJoins = Counter.builder(WAITLIST_JOINS)
+                .description("Enrollment requests placed on a course waitlist")
+                .register(meterRegistry);
+        waitlistPromotions = Counter.builder(WAITLIST_PROMOTIONS)
+                .description("Waitlisted enrollments promoted to a seat")
+                .register(meterRegistry);
+    }
+
+    public void recordAttempt(String courseCode) {
+        Counter counter = attemptsByCourse.get(courseCode);
+        if (counter == null) {
+            Counter registered = Counter.builder(ATTEMPTS)
+                    .description("Enrollment requests received per course")
+                    .tag("course", courseCode)
+                    .register(meterRegistry);
+            // The tag filter hands back a no-op for courses past the cap; caching those would grow the map anyway
+            counter = registered instanceof NoopCounter
+                    ? registered
+                    : attemptsByCourse.computeIfAbsent(courseCode, code -> registered);
+        }
+        counter.increment();
+    }
+
+    public void recordRejection(Reason reason) {
+        rejectionsByReason.get(reason).increment();
+    }
+
+    public void recordWaitlistJoin() {
+        waitlistJoins.increment();
+    }
+
+    public void recordWaitlistPromotion() {
+        waitlistPromotions.increment();
+    }
+
+    // Helper method to map a rule to the tag value dashboards group by
+    private static String tagOf(Reason reason) {
+        switch (reason) {
+            case ALREADY_ENROLLED:
+                return "duplicate";
+            case PREREQUISITES_NOT_MET:
+                return "prerequisites";
+            case COURSE_FULL:
+                return "capacity";
+            case TIME_CONFLICT:
+                return "time_conflict";
+            default:
+                throw new IllegalArgumentException("Unknown rejection reason " + reason);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.enrollment.system.service.metrics;
+
+import lombok.Getter;
+
+import java.util.Locale;
+
+// SQL statements seen by QueryCounter, split by statement type
+@Getter
+public class QueryCount {
+    private int selects;
+    private int inserts;
+    private int updates;
+    private int deletes;
+    private int others;
+
+    void record(String sql) {
+        String statement = sql.stripLeading();
+        String keyword = statement.substring(0, Math.min(6, statement.length())).toLowerCase(Locale.ROOT);
+        switch (keyword) {
+            case "select":
+                selects++;
+                break;
+            case "insert":
+                inserts++;
+                break;
+            case "update":
+                updates++;
+                break;
+            case "delete":
+                deletes++;
+                break;
+            default:
+                others++;
+        }
+    }
+
+    public int getTotal() {
+        return selects + inserts + updates + deletes + others;
+    }
+
+    @Override
+    public String toString() {
+        return "select=" + selects + " insert=" + inserts + " update=" + updates + " delete=" + deletes + " other=" + others;
+    }
+}
@@ -0,0 +1,62 @@
+package com.enrollment.system.service.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread between
+ * start() and stop(). Registered as Hibernate's statement inspector, so it sees
+ * every query issued through JPA, including lazy loads and flushes. Statements
+ * issued through JdbcTemplate bypass Hibernate and are not counted.
+ *
+ * Counting can be started with a budget; the statement that exceeds it fails
+ * with an IllegalStateException instead of reaching the database.
+ */
+@Component
+public class QueryCounter implements StatementInspector {
+
+    private static final ThreadLocal<Counting> CURRENT = new ThreadLocal<>();
+
+    public void start() {
+        start(0);
+    }
+
+    // A budget of 0 counts without limit
+    public void start(int budget) {
+        CURRENT.set(new Counting(budget));
+    }
+
+    // Ends counting on this thread and returns what was seen, which is empty if counting was not started
+    public QueryCount stop() {
+        Counting counting = CURRENT.get();
+        CURRENT.remove();
+        return counting == null ? new QueryCount() : counting.count;
+    }
+
+    public int current() {
+        Counting counting = CURRENT.get();
+        return counting == null ? 0 : counting.count.getTotal();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Counting counting = CURRENT.get();
+        if (counting != null) {
+            counting.count.record(sql);
+            if (counting.budget > 0 && counting.count.getTotal() > counting.budget) {
+                throw new IllegalStateException("Exceeded the budget of " + counting.budget
+                        + " SQL statements (" + counting.count + ")");
+            }
+        }
+        return sql;
+    }
+
+    private static final class Counting {
+        private final int budget;
+        private final QueryCount count = new QueryCount();
+
+        private Counting(int budget) {
+            this.budget = budget;
+        }
+    }
+}
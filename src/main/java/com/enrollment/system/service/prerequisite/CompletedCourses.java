@@ -0,0 +1,46 @@
+package com.enrollment.system.service.prerequisite;
+
+import com.enrollment.system.repository.ArchivedEnrollmentRepository;
+import com.enrollment.system.repository.EnrollmentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Checks a student's completed courses against a course's prerequisites. Courses of
+ * archived terms are in the cold table, which is read only when the student's current
+ * enrollments leave a prerequisite missing, so the usual check stays one query.
+ */
+@Component
+public class CompletedCourses {
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final ArchivedEnrollmentRepository archivedEnrollmentRepository;
+    private final PrerequisiteGraph prerequisiteGraph;
+
+    @Autowired
+    public CompletedCourses(
+            EnrollmentRepository enrollmentRepository,
+            ArchivedEnrollmentRepository archivedEnrollmentRepository,
+            PrerequisiteGraph prerequisiteGraph) {
+        this.enrollmentRepository = enrollmentRepository;
+        this.archivedEnrollmentRepository = archivedEnrollmentRepository;
+        this.prerequisiteGraph = prerequisiteGraph;
+    }
+
+    public Set<String> getMissingPrerequisiteCodes(Long studentId, Long courseId) {
+        if (!prerequisiteGraph.hasPrerequisites(courseId)) {
+            return Set.of();
+        }
+        Set<Long> completedCourseIds = enrollmentRepository.findEnrolledCourseIdsByStudentId(studentId);
+        Set<String> missing = prerequisiteGraph.getMissingPrerequisiteCodes(courseId, completedCourseIds);
+        if (missing.isEmpty()) {
+            return missing;
+        }
+        Set<Long> allCompletedCourseIds = new HashSet<>(completedCourseIds);
+        allCompletedCourseIds.addAll(archivedEnrollmentRepository.findCompletedCourseIdsByStudentId(studentId));
+        return prerequisiteGraph.getMissingPrerequisiteCodes(courseId, allCompletedCourseIds);
+    }
+}
@@ -0,0 +1,396 @@
+package com.enrollment.system.service.prerequisite;
+
+import com.enrollment.system.config.PrimaryReads;
+import com.enrollment.system.event.CourseChangedEvent;
+import com.enrollment.system.event.CourseChangedEvent.ChangeType;
+import com.enrollment.system.repository.CourseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory copy of the course_prerequisites graph.
+ *
+ * Courses are mapped to dense indexes so direct prerequisites are kept as int arrays
+ * and the transitive closure of every course as a BitSet over those indexes. The graph
+ * is loaded with two queries on first use; afterwards course and prerequisite changes
+ * patch only the closures that can see the changed course, once the change commits.
+ * Because the closures are always complete, an edge course -> prerequisite closes a
+ * cycle exactly when course is already in the prerequisite's closure.
+ *
+ * Changes made through another node or by SQL send no event here. A lookup for a course
+ * the graph does not know reloads it, so a new course never passes as having no
+ * prerequisites, and the whole graph is reloaded after a TTL, which bounds how long
+ * re-wired edges of known courses can go unseen.
+ */
+@Component
+public class PrerequisiteGraph {
+
+    private static final Logger log = LoggerFactory.getLogger(PrerequisiteGraph.class);
+
+    private static final int[] NO_PREREQUISITES = new int[0];
+
+    private final CourseRepository courseRepository;
+    private final PrimaryReads primaryReads;
+    private final long ttlMillis;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Integer> indexById = new HashMap<>();
+    private Long[] ids = new Long[64];
+    private String[] codes = new String[64];
+    private int[][] prerequisites = new int[64][];
+    private BitSet[] closures = new BitSet[64];
+    private int size;
+    private boolean loaded;
+    private long loadedAt;
+
+    @Autowired
+    public PrerequisiteGraph(
+            CourseRepository courseRepository,
+            PrimaryReads primaryReads,
+            @Value("${enrollment.prerequisite-graph.ttl:10m}") Duration ttl) {
+        this.courseRepository = courseRepository;
+        this.primaryReads = primaryReads;
+        this.ttlMillis = ttl.toMillis();
+    }
+
+    public boolean wouldCreateCycle(Long courseId, Long prerequisiteId) {
+        if (courseId.equals(prerequisiteId)) {
+            return true;
+        }
+        ensureKnown(courseId, prerequisiteId);
+        lock.readLock().lock();
+        try {
+            Integer course = indexById.get(courseId);
+            Integer prerequisite = indexById.get(prerequisiteId);
+            return course != null && prerequisite != null && closures[prerequisite].get(course);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Set<Long> getDirectPrerequisiteIds(Long courseId) {
+        ensureKnown(courseId);
+        lock.readLock().lock();
+        try {
+            Integer course = indexById.get(courseId);
+            if (course == null || prerequisites[course].length == 0) {
+                return Set.of();
+            }
+            Set<Long> result = new HashSet<>();
+            for (int prerequisite : prerequisites[course]) {
+                result.add(ids[prerequisite]);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // A course is open to a student once every direct prerequisite is among their enrolled courses
+    public boolean hasCompletedPrerequisites(Long courseId, Set<Long> completedCourseIds) {
+        return getMissingPrerequisiteCodes(courseId, completedCourseIds).isEmpty();
+    }
+
+    public Set<String> getMissingPrerequisiteCodes(Long courseId, Set<Long> completedCourseIds) {
+        ensureKnown(courseId);
+        lock.readLock().lock();
+        try {
+            Integer course = indexById.get(courseId);
+            if (course == null) {
+                return Set.of();
+            }
+            Set<String> missing = new TreeSet<>();
+            for (int prerequisite : prerequisites[course]) {
+                if (!completedCourseIds.contains(ids[prerequisite])) {
+                    missing.add(codes[prerequisite]);
+                }
+            }
+            return missing;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean hasPrerequisites(Long courseId) {
+        ensureKnown(courseId);
+        lock.readLock().lock();
+        try {
+            Integer course = indexById.get(courseId);
+            return course != null && prerequisites[course].length > 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Every course reachable through prerequisite edges, sorted by course code
+    public Set<String> getTransitivePrerequisiteCodes(Long courseId) {
+        ensureKnown(courseId);
+        lock.readLock().lock();
+        try {
+            Integer course = indexById.get(courseId);
+            if (course == null) {
+                return Set.of();
+            }
+            Set<String> result = new TreeSet<>();
+            BitSet closure = closures[course];
+            for (int i = closure.nextSetBit(0); i >= 0; i = closure.nextSetBit(i + 1)) {
+                result.add(codes[i]);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Set<Long> getTransitivePrerequisiteIds(Long courseId) {
+        ensureKnown(courseId);
+        lock.readLock().lock();
+        try {
+            Integer course = indexById.get(courseId);
+            if (course == null) {
+                return Set.of();
+            }
+            Set<Long> result = new HashSet<>();
+            BitSet closure = closures[course];
+            for (int i = closure.nextSetBit(0); i >= 0; i = closure.nextSetBit(i + 1)) {
+                result.add(ids[i]);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            if (event.getChangeType() == ChangeType.DELETED) {
+                removeCourse(event.getCourseId());
+                return;
+            }
+            Set<Long> prerequisiteIds = new HashSet<>();
+            List<Object[]> rows = primaryReads.read(
+                    () -> courseRepository.findPrerequisiteIdsByCourseIds(List.of(event.getCourseId())));
+            for (Object[] row : rows) {
+                prerequisiteIds.add((Long) row[1]);
+            }
+            int course = indexOf(event.getCourseId(), event.getCourseCode());
+            codes[course] = event.getCourseCode();
+            int[] updated = new int[prerequisiteIds.size()];
+            int n = 0;
+            for (Long prerequisiteId : prerequisiteIds) {
+                Integer prerequisite = indexById.get(prerequisiteId);
+                if (prerequisite == null) {
+                    // Created by a transaction this node has not seen yet; rebuild from scratch
+                    loaded = false;
+                    return;
+                }
+                updated[n++] = prerequisite;
+            }
+            setPrerequisites(course, updated);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Loads the graph if it was never loaded, has expired or does not know one of the courses
+    private void ensureKnown(Long... courseIds) {
+        lock.readLock().lock();
+        try {
+            if (isCurrent(courseIds)) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            if (!isCurrent(courseIds)) {
+                load();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean isCurrent(Long... courseIds) {
+        if (!loaded || System.currentTimeMillis() - loadedAt > ttlMillis) {
+            return false;
+        }
+        for (Long courseId : courseIds) {
+            if (!indexById.containsKey(courseId)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void load() {
+        indexById.clear();
+        size = 0;
+        // Often first called from a read-only method, which must not fill the graph from a lagging replica
+        for (Object[] row : primaryReads.read(courseRepository::findAllCourseCodes)) {
+            indexOf((Long) row[0], (String) row[1]);
+        }
+        Map<Integer, List<Integer>> edges = new HashMap<>();
+        for (Object[] row : primaryReads.read(courseRepository::findAllPrerequisiteIds)) {
+            Integer course = indexById.get((Long) row[0]);
+            Integer prerequisite = indexById.get((Long) row[1]);
+            if (course != null && prerequisite != null) {
+                edges.computeIfAbsent(course, index -> new ArrayList<>()).add(prerequisite);
+            }
+        }
+        for (Map.Entry<Integer, List<Integer>> entry : edges.entrySet()) {
+            prerequisites[entry.getKey()] = entry.getValue().stream().mapToInt(Integer::intValue).toArray();
+        }
+        computeClosures(allIndexes());
+        loaded = true;
+        loadedAt = System.currentTimeMillis();
+        log.info("Loaded prerequisite graph with {} courses and {} edges", indexById.size(),
+                edges.values().stream().mapToInt(List::size).sum());
+    }
+
+    private int indexOf(Long courseId, String courseCode) {
+        Integer existing = indexById.get(courseId);
+        if (existing != null) {
+            return existing;
+        }
+        if (size == ids.length) {
+            int capacity = size * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            codes = Arrays.copyOf(codes, capacity);
+            prerequisites = Arrays.copyOf(prerequisites, capacity);
+            closures = Arrays.copyOf(closures, capacity);
+        }
+        int index = size++;
+        ids[index] = courseId;
+        codes[index] = courseCode;
+        prerequisites[index] = NO_PREREQUISITES;
+        closures[index] = new BitSet();
+        indexById.put(courseId, index);
+        return index;
+    }
+
+    private void setPrerequisites(int course, int[] updated) {
+        int[] current = prerequisites[course];
+        prerequisites[course] = updated;
+        if (containsAll(updated, current)) {
+            // Only additions: every course that can see this one gains the new closures
+            BitSet added = new BitSet();
+            for (int prerequisite : updated) {
+                added.set(prerequisite);
+                added.or(closures[prerequisite]);
+            }
+            for (int i = 0; i < size; i++) {
+                if (i == course || closures[i].get(course)) {
+                    closures[i].or(added);
+                }
+            }
+        } else {
+            computeClosures(dependentsOf(course, true));
+        }
+    }
+
+    private void removeCourse(Long courseId) {
+        Integer course = indexById.remove(courseId);
+        if (course == null) {
+            return;
+        }
+        List<Integer> dependents = dependentsOf(course, false);
+        for (int dependent : dependents) {
+            prerequisites[dependent] = Arrays.stream(prerequisites[dependent])
+                    .filter(prerequisite -> prerequisite != course)
+                    .toArray();
+        }
+        // The slot is left empty rather than reused; a reload compacts the indexes
+        ids[course] = null;
+        codes[course] = null;
+        prerequisites[course] = NO_PREREQUISITES;
+        closures[course] = new BitSet();
+        computeClosures(dependents);
+    }
+
+    // Indexes whose closure contains course, optionally including course itself
+    private List<Integer> dependentsOf(int course, boolean includeSelf) {
+        List<Integer> dependents = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            if ((includeSelf && i == course) || (i != course && closures[i].get(course))) {
+                dependents.add(i);
+            }
+        }
+        return dependents;
+    }
+
+    private List<Integer> allIndexes() {
+        List<Integer> all = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            all.add(i);
+        }
+        return all;
+    }
+
+    // Recomputes the closures of the given indexes; closures of every other index must be current
+    private void computeClosures(List<Integer> stale) {
+        for (int index : stale) {
+            closures[index] = null;
+        }
+        byte[] state = new byte[size];
+        for (int index : stale) {
+            computeClosure(index, state);
+        }
+    }
+
+    private BitSet computeClosure(int course, byte[] state) {
+        if (closures[course] != null) {
+            return closures[course];
+        }
+        state[course] = 1;
+        BitSet closure = new BitSet();
+        for (int prerequisite : prerequisites[course]) {
+            if (state[prerequisite] == 1) {
+                // Only reachable with rows written outside this service; ignore the back edge
+                log.warn("Prerequisite cycle through {} and {}", codes[course], codes[prerequisite]);
+                continue;
+            }
+            closure.set(prerequisite);
+            closure.or(computeClosure(prerequisite, state));
+        }
+        state[course] = 2;
+        closures[course] = closure;
+        return closure;
+    }
+
+    private static boolean containsAll(int[] values, int[] required) {
+        outer:
+        for (int r : required) {
+            for (int v : values) {
+                if (v == r) {
+                    continue outer;
+                }
+            }
+            return false;
+        }
+        return true;
+    }
+}
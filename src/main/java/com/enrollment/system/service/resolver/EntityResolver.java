@@ -0,0 +1,185 @@
+package com.enrollment.system.service.resolver;
+
+import com.enrollment.system.exception.ResourceNotFoundException;
+import com.enrollment.system.model.Course;
+import com.enrollment.system.model.Student;
+import com.enrollment.system.repository.CourseRepository;
+import com.enrollment.system.repository.StudentRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Resolves students by studentId and courses by courseCode, remembering every entity
+ * it loads for the rest of the current persistence context.
+ *
+ * The memo lives in the HTTP request when there is one, otherwise in the current
+ * transaction, and is only trusted while the EntityManager that loaded it is still
+ * active: the same one that open-in-view keeps for the whole request. Entities that
+ * were detached, deleted or had their natural key changed are loaded again. Lookups
+ * of several keys fetch every key that is not memoized yet with one IN query.
+ * Without a request or transaction nothing is memoized.
+ */
+@Component
+public class EntityResolver {
+
+    private static final String CACHE_KEY = EntityResolver.class.getName() + ".CACHE";
+
+    private final StudentRepository studentRepository;
+    private final CourseRepository courseRepository;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    public EntityResolver(
+            StudentRepository studentRepository,
+            CourseRepository courseRepository,
+            EntityManagerFactory entityManagerFactory) {
+        this.studentRepository = studentRepository;
+        this.courseRepository = courseRepository;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    public Student getStudent(String studentId) {
+        return findStudent(studentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Student not found with student ID: " + studentId));
+    }
+
+    public Course getCourse(String courseCode) {
+        return findCourse(courseCode)
+                .orElseThrow(() -> new ResourceNotFoundException("Course not found with course code: " + courseCode));
+    }
+
+    // A missing key finds nothing, so callers report it as not found like any unknown key
+    public Optional<Student> findStudent(String studentId) {
+        if (studentId == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(findStudents(List.of(studentId)).get(studentId));
+    }
+
+    public Optional<Course> findCourse(String courseCode) {
+        if (courseCode == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(findCourses(List.of(courseCode)).get(courseCode));
+    }
+
+    // Students found for the given ids, in request order; unknown and null ids are left out
+    public Map<String, Student> findStudents(Collection<String> studentIds) {
+        Cache cache = currentCache();
+        return resolve(studentIds,
+                cache != null ? cache.students : null,
+                cache != null ? cache.entityManager : null,
+                Student::getStudentId,
+                studentRepository::findByStudentIdIn);
+    }
+
+    // Courses found for the given codes, in request order; unknown and null codes are left out
+    public Map<String, Course> findCourses(Collection<String> courseCodes) {
+        Cache cache = currentCache();
+        return resolve(courseCodes,
+                cache != null ? cache.courses : null,
+                cache != null ? cache.entityManager : null,
+                Course::getCourseCode,
+                courseRepository::findByCourseCodeIn);
+    }
+
+    private <T> Map<String, T> resolve(
+            Collection<String> keys,
+            Map<String, T> memo,
+            EntityManager entityManager,
+            Function<T, String> keyOf,
+            Function<Collection<String>, List<T>> loader) {
+        Set<String> distinctKeys = new LinkedHashSet<>(keys);
+        distinctKeys.remove(null);
+        Map<String, T> found = new HashMap<>();
+        Set<String> missing = new LinkedHashSet<>();
+        for (String key : distinctKeys) {
+            T entity = memo != null ? memo.get(key) : null;
+            if (entity != null && key.equals(keyOf.apply(entity)) && entityManager.contains(entity)) {
+                found.put(key, entity);
+            } else {
+                missing.add(key);
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (T entity : loader.apply(missing)) {
+                String key = keyOf.apply(entity);
+                found.put(key, entity);
+                if (memo != null) {
+                    memo.put(key, entity);
+                }
+            }
+        }
+
+        Map<String, T> result = new LinkedHashMap<>();
+        for (String key : distinctKeys) {
+            T entity = found.get(key);
+            if (entity != null) {
+                result.put(key, entity);
+            }
+        }
+        return result;
+    }
+
+    private Cache currentCache() {
+        EntityManager entityManager = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+        if (entityManager == null) {
+            return null;
+        }
+
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            Cache cache = (Cache) attributes.getAttribute(CACHE_KEY, RequestAttributes.SCOPE_REQUEST);
+            if (cache == null || cache.entityManager != entityManager) {
+                cache = new Cache(entityManager);
+                attributes.setAttribute(CACHE_KEY, cache, RequestAttributes.SCOPE_REQUEST);
+            }
+            return cache;
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        Cache cache = (Cache) TransactionSynchronizationManager.getResource(CACHE_KEY);
+        if (cache == null) {
+            Cache created = new Cache(entityManager);
+            TransactionSynchronizationManager.bindResource(CACHE_KEY, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(CACHE_KEY);
+                }
+            });
+            cache = created;
+        }
+        return cache;
+    }
+
+    // Entities loaded through one EntityManager, keyed by natural key
+    private static final class Cache {
+        private final EntityManager entityManager;
+        private final Map<String, Student> students = new HashMap<>();
+        private final Map<String, Course> courses = new HashMap<>();
+
+        private Cache(EntityManager entityManager) {
+            this.entityManager = entityManager;
+        }
+    }
+}
@@ -0,0 +1,486 @@
+package com.enrollment.system.service.search;
+
+import com.enrollment.system.config.ReadWriteRouting;
+import com.enrollment.system.dto.CourseSearchResultDTO;
+import com.enrollment.system.event.CourseChangedEvent;
+import com.enrollment.system.event.CourseChangedEvent.ChangeType;
+import com.enrollment.system.event.ScheduleChangedEvent;
+import com.enrollment.system.model.Course;
+import com.enrollment.system.repository.CourseRepository;
+import com.enrollment.system.repository.ScheduleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory full-text search over the code, name and description of every course.
+ *
+ * Text is lowercased and split into words, common English words are dropped, and each
+ * remaining word maps to a compressed posting list of the courses containing it with
+ * how often it occurs there. A word in the code counts three times and in the name twice,
+ * so a course about a topic outranks one that mentions it in passing. Results are ranked
+ * with BM25: rare words weigh more than common ones, repeats add less and less, and long
+ * descriptions are normalised against the average. The last query word also matches
+ * longer words it prefixes, at a discount, so results follow the user while typing.
+ *
+ * Credit hours and the semesters a course meets in are kept with each course for
+ * filtering; seat counts change with every enrollment and are left to the caller.
+ *
+ * The index is built from the database once the application is ready and patched after
+ * each course or schedule change commits. Changes that commit while it is being built
+ * are replayed on top of the build.
+ */
+@Component
+public class CourseSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(CourseSearchIndex.class);
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "into", "is", "it", "its",
+            "of", "on", "or", "that", "the", "their", "this", "to", "with");
+    private static final int MAX_TOKEN_LENGTH = 64;
+    private static final int LOAD_PAGE_SIZE = 500;
+    private static final int CODE_WEIGHT = 3;
+    private static final int NAME_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int MAX_PREFIX_EXPANSIONS = 32;
+    private static final double PREFIX_DISCOUNT = 0.8;
+
+    private static final Comparator<Match> RANKING = Comparator
+            .comparingDouble((Match match) -> match.score).reversed()
+            .thenComparing(match -> match.doc.courseCode);
+
+    private final CourseRepository courseRepository;
+    private final ScheduleRepository scheduleRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object rebuildLock = new Object();
+
+    // All guarded by lock. Ordinals only grow, so postings are always appended in order;
+    // the slots of removed and re-indexed courses are reclaimed by compacting.
+    private final TreeMap<String, VarIntPostings> postings = new TreeMap<>();
+    private final List<Doc> docs = new ArrayList<>();
+    private final Map<Long, Integer> ordinalsById = new HashMap<>();
+    private long totalLength;
+    // Changes committed during a rebuild, replayed once it is done; null when not rebuilding
+    private List<Runnable> pending;
+
+    @Autowired
+    public CourseSearchIndex(CourseRepository courseRepository, ScheduleRepository scheduleRepository) {
+        this.courseRepository = courseRepository;
+        this.scheduleRepository = scheduleRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        rebuild();
+        log.info("Course search index built: {} courses, {} terms, {} posting bytes",
+                size(), vocabularySize(), postingBytes());
+    }
+
+    // Re-reads every course, for data written without going through the course and schedule services
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            lock.writeLock().lock();
+            try {
+                pending = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            List<Doc> loaded = new ArrayList<>();
+            boolean complete = false;
+            try {
+                Map<Long, List<String>> semesters = ReadWriteRouting.onPrimary(
+                        () -> semestersOf(scheduleRepository.findAllCourseSemesters()));
+                List<Course> page;
+                long afterId = 0;
+                do {
+                    long from = afterId;
+                    page = ReadWriteRouting.onPrimary(() -> courseRepository.findByIdGreaterThanOrderByIdAsc(
+                            from, PageRequest.of(0, LOAD_PAGE_SIZE)));
+                    for (Course course : page) {
+                        loaded.add(docOf(course, semesters.getOrDefault(course.getId(), List.of())));
+                        afterId = course.getId();
+                    }
+                } while (page.size() == LOAD_PAGE_SIZE);
+                complete = true;
+            } finally {
+                // A failed load keeps the previous index, still patched with the changes it missed
+                lock.writeLock().lock();
+                try {
+                    if (complete) {
+                        clear();
+                        loaded.forEach(this::index);
+                    }
+                    pending.forEach(Runnable::run);
+                    pending = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        }
+    }
+
+    public static int resolveLimit(Integer limit) {
+        return limit == null || limit < 1 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+    }
+
+    /**
+     * Every course matching at least one query word and both filters, best first.
+     * A null filter matches every course; the semester is compared ignoring case.
+     */
+    public List<Match> search(String query, Integer creditHours, String semester) {
+        List<String> typed = wordsIn(query);
+        List<String> words = new ArrayList<>(new LinkedHashSet<>(typed));
+        words.removeIf(STOP_WORDS::contains);
+        if (words.isEmpty()) {
+            return List.of();
+        }
+        // Only a word still being typed, with no separator after it, is completed as a prefix
+        boolean lastIsPrefix = !WORD_SEPARATOR.matcher(query.substring(query.length() - 1)).matches()
+                && typed.get(typed.size() - 1).equals(words.get(words.size() - 1));
+        String semesterFilter = semester == null || semester.isBlank() ? null : semester.trim();
+
+        lock.readLock().lock();
+        try {
+            int courses = ordinalsById.size();
+            if (courses == 0) {
+                return List.of();
+            }
+            double averageLength = (double) totalLength / courses;
+            double[] scores = new double[docs.size()];
+            double[] wordScores = new double[docs.size()];
+            List<Integer> matched = new ArrayList<>();
+
+            for (int w = 0; w < words.size(); w++) {
+                String word = words.get(w);
+                Map<String, Double> tokens = new HashMap<>();
+                tokens.put(word, 1.0);
+                if (w == words.size() - 1 && lastIsPrefix) {
+                    int expansions = 0;
+                    for (String token : postings.tailMap(word, false).keySet()) {
+                        if (!token.startsWith(word) || expansions++ == MAX_PREFIX_EXPANSIONS) {
+                            break;
+                        }
+                        tokens.put(token, PREFIX_DISCOUNT);
+                    }
+                }
+
+                // A course scores its best match for the word, so a prefix cannot add up over many completions
+                List<Integer> touched = new ArrayList<>();
+                for (Map.Entry<String, Double> token : tokens.entrySet()) {
+                    VarIntPostings list = postings.get(token.getKey());
+                    if (list == null) {
+                        continue;
+                    }
+                    double idf = Math.log(1 + (courses - list.size() + 0.5) / (list.size() + 0.5));
+                    VarIntPostings.Cursor cursor = list.cursor();
+                    while (cursor.next()) {
+                        int ordinal = cursor.doc();
+                        Doc doc = docs.get(ordinal);
+                        if (!doc.matches(creditHours, semesterFilter)) {
+                            continue;
+                        }
+                        int frequency = cursor.frequency();
+                        double norm = K1 * (1 - B + B * doc.length / averageLength);
+                        double score = token.getValue() * idf * frequency * (K1 + 1) / (frequency + norm);
+                        if (wordScores[ordinal] == 0) {
+                            touched.add(ordinal);
+                        }
+                        wordScores[ordinal] = Math.max(wordScores[ordinal], score);
+                    }
+                }
+                for (int ordinal : touched) {
+                    if (scores[ordinal] == 0) {
+                        matched.add(ordinal);
+                    }
+                    scores[ordinal] += wordScores[ordinal];
+                    wordScores[ordinal] = 0;
+                }
+            }
+
+            List<Match> matches = new ArrayList<>(matched.size());
+            for (int ordinal : matched) {
+                matches.add(new Match(docs.get(ordinal), scores[ordinal]));
+            }
+            matches.sort(RANKING);
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinalsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int vocabularySize() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long postingBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = 0;
+            for (VarIntPostings list : postings.values()) {
+                bytes += list.byteSize();
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        if (event.getChangeType() == ChangeType.PREREQUISITES_CHANGED) {
+            return;
+        }
+        Long courseId = event.getCourseId();
+        // Loaded after the commit, so the course read is at least as new as the change
+        Doc doc = event.getChangeType() == ChangeType.DELETED ? null : ReadWriteRouting.onPrimary(() ->
+                courseRepository.findById(courseId)
+                        .map(course -> docOf(course, semestersOf(
+                                scheduleRepository.findCourseSemestersByCourseIds(List.of(courseId)))
+                                .getOrDefault(courseId, List.of())))
+                        .orElse(null));
+        update(() -> {
+            if (doc == null) {
+                remove(courseId);
+            } else {
+                index(doc);
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScheduleChanged(ScheduleChangedEvent event) {
+        Set<Long> courseIds = new LinkedHashSet<>();
+        courseIds.add(event.getCourseId());
+        if (event.getPreviousCourseId() != null) {
+            courseIds.add(event.getPreviousCourseId());
+        }
+        Map<Long, List<String>> semesters = ReadWriteRouting.onPrimary(
+                () -> semestersOf(scheduleRepository.findCourseSemestersByCourseIds(courseIds)));
+        update(() -> {
+            for (Long courseId : courseIds) {
+                Integer ordinal = ordinalsById.get(courseId);
+                if (ordinal != null) {
+                    docs.get(ordinal).semesters = semesters.getOrDefault(courseId, List.of());
+                }
+            }
+        });
+    }
+
+    private void update(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            if (pending != null) {
+                pending.add(change);
+            } else {
+                change.run();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void index(Doc doc) {
+        remove(doc.id);
+        int ordinal = docs.size();
+        doc.length = 0;
+        docs.add(doc);
+        ordinalsById.put(doc.id, ordinal);
+
+        Map<String, Integer> frequencies = new HashMap<>();
+        addWords(frequencies, doc.courseCode, CODE_WEIGHT);
+        String wholeCode = doc.courseCode.trim().toLowerCase(Locale.ROOT);
+        if (!wholeCode.isEmpty() && wholeCode.length() <= MAX_TOKEN_LENGTH && !frequencies.containsKey(wholeCode)) {
+            frequencies.put(wholeCode, CODE_WEIGHT);
+        }
+        addWords(frequencies, doc.name, NAME_WEIGHT);
+        addWords(frequencies, doc.description, DESCRIPTION_WEIGHT);
+
+        doc.terms = frequencies.keySet().toArray(new String[0]);
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), token -> new VarIntPostings()).append(ordinal, entry.getValue());
+            doc.length += entry.getValue();
+        }
+        totalLength += doc.length;
+    }
+
+    private void remove(Long courseId) {
+        Integer ordinal = ordinalsById.remove(courseId);
+        if (ordinal == null) {
+            return;
+        }
+        Doc doc = docs.set(ordinal, null);
+        for (String term : doc.terms) {
+            VarIntPostings list = postings.get(term);
+            if (list.remove(ordinal) && list.size() == 0) {
+                postings.remove(term);
+            }
+        }
+        totalLength -= doc.length;
+
+        // Dead slots cost a null per edit and a longer score array per search; renumber once they dominate
+        int dead = docs.size() - ordinalsById.size();
+        if (dead > 64 && dead > ordinalsById.size()) {
+            List<Doc> live = new ArrayList<>(ordinalsById.size());
+            for (Doc remaining : docs) {
+                if (remaining != null) {
+                    live.add(remaining);
+                }
+            }
+            clear();
+            live.forEach(this::index);
+        }
+    }
+
+    private void clear() {
+        postings.clear();
+        docs.clear();
+        ordinalsById.clear();
+        totalLength = 0;
+    }
+
+    private static Doc docOf(Course course, List<String> semesters) {
+        return new Doc(course.getId(), course.getCourseCode(), course.getName(), course.getDescription(),
+                course.getCreditHours(), course.getMaxCapacity(), semesters);
+    }
+
+    private static Map<Long, List<String>> semestersOf(List<Object[]> rows) {
+        Map<Long, Set<String>> sorted = new HashMap<>();
+        for (Object[] row : rows) {
+            sorted.computeIfAbsent((Long) row[0], id -> new TreeSet<>()).add((String) row[1]);
+        }
+        Map<Long, List<String>> semesters = new HashMap<>();
+        sorted.forEach((courseId, names) -> semesters.put(courseId, List.copyOf(names)));
+        return semesters;
+    }
+
+    private static void addWords(Map<String, Integer> frequencies, String text, int weight) {
+        for (String word : wordsIn(text)) {
+            if (!STOP_WORDS.contains(word)) {
+                frequencies.merge(word, weight, Integer::sum);
+            }
+        }
+    }
+
+    // Every word in order, repeats included, as term frequencies need them
+    private static List<String> wordsIn(String value) {
+        List<String> words = new ArrayList<>();
+        if (value != null) {
+            for (String word : WORD_SEPARATOR.split(value.toLowerCase(Locale.ROOT))) {
+                if (!word.isEmpty()) {
+                    words.add(word.length() > MAX_TOKEN_LENGTH ? word.substring(0, MAX_TOKEN_LENGTH) : word);
+                }
+            }
+        }
+        return words;
+    }
+
+    /**
+     * One ranked course. The caller adds the live enrollment count when converting it.
+     */
+    public static final class Match {
+        private final Doc doc;
+        private final double score;
+
+        private Match(Doc doc, double score) {
+            this.doc = doc;
+            this.score = score;
+        }
+
+        public Long getCourseId() {
+            return doc.id;
+        }
+
+        public int getMaxCapacity() {
+            return doc.maxCapacity;
+        }
+
+        public double getScore() {
+            return score;
+        }
+
+        public CourseSearchResultDTO toDTO(int currentEnrollment) {
+            return new CourseSearchResultDTO(doc.id, doc.courseCode, doc.name, doc.description, doc.creditHours,
+                    doc.maxCapacity, currentEnrollment, Math.max(0, doc.maxCapacity - currentEnrollment),
+                    doc.semesters, score);
+        }
+    }
+
+    private static final class Doc {
+        private final Long id;
+        private final String courseCode;
+        private final String name;
+        private final String description;
+        private final Integer creditHours;
+        private final Integer maxCapacity;
+        // Replaced whole under the write lock when the course's schedules change
+        private volatile List<String> semesters;
+        private String[] terms;
+        private int length;
+
+        private Doc(Long id, String courseCode, String name, String description, Integer creditHours,
+                Integer maxCapacity, List<String> semesters) {
+            this.id = id;
+            this.courseCode = courseCode;
+            this.name = name;
+            this.description = description;
+            this.creditHours = creditHours;
+            this.maxCapacity = maxCapacity;
+            this.semesters = semesters;
+        }
+
+        private boolean matches(Integer creditHoursFilter, String semesterFilter) {
+            if (creditHoursFilter != null && !creditHoursFilter.equals(creditHours)) {
+                return false;
+            }
+            if (semesterFilter == null) {
+                return true;
+            }
+            for (String semester : semesters) {
+                if (semester.equalsIgnoreCase(semesterFilter)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
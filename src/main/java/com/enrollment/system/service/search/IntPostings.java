@@ -0,0 +1,50 @@
+package com.enrollment.system.service.search;
+
+import java.util.Arrays;
+
+/**
+ * Sorted set of non-negative ints in one growable array: 4 bytes per entry instead of
+ * a boxed set's ~40, binary-search membership, and in-order iteration.
+ */
+final class IntPostings {
+
+    private int[] values = new int[2];
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    int get(int index) {
+        return values[index];
+    }
+
+    boolean add(int value) {
+        int index = Arrays.binarySearch(values, 0, size, value);
+        if (index >= 0) {
+            return false;
+        }
+        int insertAt = -index - 1;
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        System.arraycopy(values, insertAt, values, insertAt + 1, size - insertAt);
+        values[insertAt] = value;
+        size++;
+        return true;
+    }
+
+    boolean remove(int value) {
+        int index = Arrays.binarySearch(values, 0, size, value);
+        if (index < 0) {
+            return false;
+        }
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        size--;
+        // Shrink once three quarters are unused so removals give the memory back
+        if (values.length > 8 && size < values.length / 4) {
+            values = Arrays.copyOf(values, values.length / 2);
+        }
+        return true;
+    }
+}
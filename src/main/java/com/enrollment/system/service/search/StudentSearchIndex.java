@@ -0,0 +1,445 @@
+package com.enrollment.system.service.search;
+
+import com.enrollment.system.dto.StudentSearchResultDTO;
+import com.enrollment.system.event.StudentChangedEvent;
+import com.enrollment.system.event.StudentChangedEvent.ChangeType;
+import com.enrollment.system.model.Student;
+import com.enrollment.system.repository.StudentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory search over the studentId, names and email of every student.
+ *
+ * Fields are lowercased and split into words; studentId and email are also kept whole.
+ * Each distinct token is stored once, in a dictionary that maps it to the students
+ * containing it as a sorted int array, so memory follows the vocabulary rather than
+ * repeating common names and mail domains per student, and a token is dropped with its
+ * last student. A query word matches tokens exactly or as a prefix through the sorted
+ * dictionary; a word of three or more letters that prefixes nothing falls back to
+ * trigram similarity, which catches typos. A student scores the best match per query
+ * word. Students matching more words rank first, then by score; only the top results
+ * are kept while ranking.
+ *
+ * The index is built from the database once the application is ready and patched by
+ * student changes after they commit. Changes that commit while it is being built are
+ * replayed on top of the build.
+ */
+@Component
+public class StudentSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(StudentSearchIndex.class);
+
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 100;
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int MAX_TOKEN_LENGTH = 64;
+    private static final int LOAD_PAGE_SIZE = 1000;
+    // A one-letter prefix could otherwise expand to most of the vocabulary
+    private static final int MAX_PREFIX_EXPANSIONS = 256;
+    private static final double MIN_SIMILARITY = 0.35;
+
+    private static final Comparator<Hit> RANKING = Comparator
+            .comparingInt((Hit hit) -> hit.matchedTerms)
+            .thenComparingDouble(hit -> hit.score)
+            .thenComparing(hit -> hit.doc.studentId, Comparator.reverseOrder());
+
+    private final StudentRepository studentRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object rebuildLock = new Object();
+
+    // All guarded by lock
+    private final TreeMap<String, Token> dictionary = new TreeMap<>();
+    private final Map<String, IntPostings> tokensByTrigram = new HashMap<>();
+    private final List<Token> tokensById = new ArrayList<>();
+    private final ArrayDeque<Integer> freeTokenIds = new ArrayDeque<>();
+    private final Map<Long, Integer> ordinalsById = new HashMap<>();
+    private final List<Doc> docs = new ArrayList<>();
+    private final ArrayDeque<Integer> freeOrdinals = new ArrayDeque<>();
+    // Changes committed during a rebuild, replayed once it is done; null when not rebuilding
+    private List<StudentChangedEvent> pending;
+
+    @Autowired
+    public StudentSearchIndex(StudentRepository studentRepository) {
+        this.studentRepository = studentRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        rebuild();
+        log.info("Student search index built: {} students, {} tokens", size(), vocabularySize());
+    }
+
+    // Re-reads every student, for data written without going through the student service
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            lock.writeLock().lock();
+            try {
+                pending = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            List<Doc> loaded = new ArrayList<>();
+            boolean complete = false;
+            try {
+                List<Student> page;
+                long afterId = 0;
+                do {
+                    page = studentRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, LOAD_PAGE_SIZE));
+                    for (Student student : page) {
+                        loaded.add(new Doc(student.getId(), student.getStudentId(), student.getFirstName(),
+                                student.getLastName(), student.getEmail(), student.getPhoneNumber()));
+                        afterId = student.getId();
+                    }
+                } while (page.size() == LOAD_PAGE_SIZE);
+                complete = true;
+            } finally {
+                // A failed load keeps the previous index, still patched with the changes it missed
+                lock.writeLock().lock();
+                try {
+                    if (complete) {
+                        clear();
+                        loaded.forEach(this::index);
+                    }
+                    pending.forEach(this::apply);
+                    pending = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        }
+    }
+
+    public List<StudentSearchResultDTO> search(String query, Integer limit) {
+        List<String> terms = new ArrayList<>(wordsOf(query));
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        int resultLimit = limit == null || limit < 1 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+        String wholeQuery = query.trim().toLowerCase(Locale.ROOT);
+
+        lock.readLock().lock();
+        try {
+            Map<Integer, Hit> hits = new HashMap<>();
+            for (int term = 0; term < terms.size(); term++) {
+                int termIndex = term;
+                matchTerm(terms.get(term)).forEach((tokenId, score) -> {
+                    IntPostings postings = tokensById.get(tokenId).docs;
+                    for (int i = 0; i < postings.size(); i++) {
+                        int ordinal = postings.get(i);
+                        hits.computeIfAbsent(ordinal, o -> new Hit(docs.get(o), terms.size())).offer(termIndex, score);
+                    }
+                });
+            }
+
+            PriorityQueue<Hit> top = new PriorityQueue<>(resultLimit + 1, RANKING);
+            for (Hit hit : hits.values()) {
+                hit.finish(wholeQuery);
+                top.add(hit);
+                if (top.size() > resultLimit) {
+                    top.poll();
+                }
+            }
+            List<StudentSearchResultDTO> results = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                results.add(top.poll().toDTO());
+            }
+            Collections.reverse(results);
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinalsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int vocabularySize() {
+        lock.readLock().lock();
+        try {
+            return dictionary.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (pending != null) {
+                pending.add(event);
+            } else {
+                apply(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Token id to score for one query word: 1 for an exact token, more for prefixes of shorter tokens, then typos
+    private Map<Integer, Double> matchTerm(String term) {
+        Map<Integer, Double> scores = new HashMap<>();
+        int expansions = 0;
+        for (Token token : dictionary.tailMap(term, true).values()) {
+            if (!token.text.startsWith(term) || expansions++ == MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+            scores.put(token.id, token.text.length() == term.length()
+                    ? 1.0
+                    : 0.5 + 0.4 * term.length() / token.text.length());
+        }
+        if (!scores.isEmpty() || term.length() < 3) {
+            return scores;
+        }
+
+        // Shared trigrams are counted in a flat array indexed by token id; a hash map per query costs far more
+        Set<String> grams = trigramsOf(term);
+        int[] shared = new int[tokensById.size()];
+        for (String gram : grams) {
+            IntPostings tokenIds = tokensByTrigram.get(gram);
+            if (tokenIds != null) {
+                for (int i = 0; i < tokenIds.size(); i++) {
+                    shared[tokenIds.get(i)]++;
+                }
+            }
+        }
+        int minShared = (int) Math.ceil(MIN_SIMILARITY * grams.size());
+        for (int tokenId = 0; tokenId < shared.length; tokenId++) {
+            if (shared[tokenId] >= minShared) {
+                Token token = tokensById.get(tokenId);
+                double similarity = (double) shared[tokenId] / (grams.size() + token.trigramCount - shared[tokenId]);
+                if (similarity >= MIN_SIMILARITY) {
+                    scores.put(tokenId, 0.5 * similarity);
+                }
+            }
+        }
+        return scores;
+    }
+
+    private void apply(StudentChangedEvent event) {
+        if (event.getChangeType() == ChangeType.DELETED) {
+            Integer ordinal = ordinalsById.remove(event.getId());
+            if (ordinal != null) {
+                unindex(ordinal);
+            }
+        } else {
+            index(new Doc(event.getId(), event.getStudentId(), event.getFirstName(), event.getLastName(),
+                    event.getEmail(), event.getPhoneNumber()));
+        }
+    }
+
+    private void index(Doc doc) {
+        Integer previous = ordinalsById.remove(doc.id);
+        if (previous != null) {
+            unindex(previous);
+        }
+        int ordinal;
+        if (freeOrdinals.isEmpty()) {
+            ordinal = docs.size();
+            docs.add(doc);
+        } else {
+            ordinal = freeOrdinals.pop();
+            docs.set(ordinal, doc);
+        }
+        ordinalsById.put(doc.id, ordinal);
+
+        Set<String> tokens = new LinkedHashSet<>();
+        addWhole(tokens, doc.studentId);
+        addWhole(tokens, doc.email);
+        tokens.addAll(wordsOf(doc.studentId));
+        tokens.addAll(wordsOf(doc.firstName));
+        tokens.addAll(wordsOf(doc.lastName));
+        tokens.addAll(wordsOf(doc.email));
+        doc.tokenIds = new int[tokens.size()];
+        int i = 0;
+        for (String text : tokens) {
+            Token token = intern(text);
+            token.docs.add(ordinal);
+            doc.tokenIds[i++] = token.id;
+        }
+    }
+
+    private void unindex(int ordinal) {
+        Doc doc = docs.get(ordinal);
+        for (int tokenId : doc.tokenIds) {
+            Token token = tokensById.get(tokenId);
+            token.docs.remove(ordinal);
+            if (token.docs.size() == 0) {
+                release(token);
+            }
+        }
+        docs.set(ordinal, null);
+        freeOrdinals.push(ordinal);
+    }
+
+    // The one shared instance of a token, created with its trigrams on first use
+    private Token intern(String text) {
+        Token token = dictionary.get(text);
+        if (token != null) {
+            return token;
+        }
+        int id = freeTokenIds.isEmpty() ? tokensById.size() : freeTokenIds.pop();
+        Set<String> grams = trigramsOf(text);
+        token = new Token(id, text, grams.size());
+        if (id == tokensById.size()) {
+            tokensById.add(token);
+        } else {
+            tokensById.set(id, token);
+        }
+        dictionary.put(text, token);
+        for (String gram : grams) {
+            tokensByTrigram.computeIfAbsent(gram, g -> new IntPostings()).add(id);
+        }
+        return token;
+    }
+
+    private void release(Token token) {
+        dictionary.remove(token.text);
+        for (String gram : trigramsOf(token.text)) {
+            IntPostings tokenIds = tokensByTrigram.get(gram);
+            if (tokenIds != null && tokenIds.remove(token.id) && tokenIds.size() == 0) {
+                tokensByTrigram.remove(gram);
+            }
+        }
+        tokensById.set(token.id, null);
+        freeTokenIds.push(token.id);
+    }
+
+    private void clear() {
+        dictionary.clear();
+        tokensByTrigram.clear();
+        tokensById.clear();
+        freeTokenIds.clear();
+        ordinalsById.clear();
+        docs.clear();
+        freeOrdinals.clear();
+    }
+
+    private static void addWhole(Set<String> tokens, String value) {
+        if (value != null) {
+            String whole = value.trim().toLowerCase(Locale.ROOT);
+            if (!whole.isEmpty() && whole.length() <= MAX_TOKEN_LENGTH) {
+                tokens.add(whole);
+            }
+        }
+    }
+
+    private static Set<String> wordsOf(String value) {
+        Set<String> words = new LinkedHashSet<>();
+        if (value != null) {
+            for (String word : WORD_SEPARATOR.split(value.toLowerCase(Locale.ROOT))) {
+                if (!word.isEmpty()) {
+                    words.add(word.length() > MAX_TOKEN_LENGTH ? word.substring(0, MAX_TOKEN_LENGTH) : word);
+                }
+            }
+        }
+        return words;
+    }
+
+    // Padded like "  ab " so that the first letters weigh as much as the middle of a word
+    private static Set<String> trigramsOf(String text) {
+        String padded = "  " + text + " ";
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    private static final class Token {
+        private final int id;
+        private final String text;
+        private final int trigramCount;
+        private final IntPostings docs = new IntPostings();
+
+        private Token(int id, String text, int trigramCount) {
+            this.id = id;
+            this.text = text;
+            this.trigramCount = trigramCount;
+        }
+    }
+
+    private static final class Doc {
+        private final Long id;
+        private final String studentId;
+        private final String firstName;
+        private final String lastName;
+        private final String email;
+        private final String phoneNumber;
+        private int[] tokenIds;
+
+        private Doc(Long id, String studentId, String firstName, String lastName, String email, String phoneNumber) {
+            this.id = id;
+            this.studentId = studentId;
+            this.firstName = firstName;
+            this.lastName = lastName;
+            this.email = email;
+            this.phoneNumber = phoneNumber;
+        }
+    }
+
+    // Best score per query word for one student
+    private static final class Hit {
+        private final Doc doc;
+        private final double[] termScores;
+        private int matchedTerms;
+        private double score;
+
+        private Hit(Doc doc, int terms) {
+            this.doc = doc;
+            this.termScores = new double[terms];
+        }
+
+        private void offer(int term, double termScore) {
+            termScores[term] = Math.max(termScores[term], termScore);
+        }
+
+        // An exact studentId outranks any name that merely contains the same letters
+        private void finish(String wholeQuery) {
+            for (double termScore : termScores) {
+                if (termScore > 0) {
+                    matchedTerms++;
+                    score += termScore;
+                }
+            }
+            if (doc.studentId != null && doc.studentId.toLowerCase(Locale.ROOT).equals(wholeQuery)) {
+                score += 1.0;
+            }
+        }
+
+        private StudentSearchResultDTO toDTO() {
+            return new StudentSearchResultDTO(doc.id, doc.studentId, doc.firstName, doc.lastName, doc.email,
+                    doc.phoneNumber, score);
+        }
+    }
+}
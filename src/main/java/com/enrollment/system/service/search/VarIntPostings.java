@@ -0,0 +1,144 @@
+package com.enrollment.system.service.search;
+
+import java.util.Arrays;
+
+/**
+ * Posting list of (document, term frequency) pairs in ascending document order, packed
+ * into one byte array: each document as the gap from the previous one, then its
+ * frequency, both as 7-bit varints. Gaps between neighbouring courses and small counts
+ * take a byte each, so a posting usually costs two bytes instead of an int pair's eight.
+ *
+ * Appending a larger document is cheap; removing one re-encodes the tail after it, which
+ * is fine for lists that change once per course edit.
+ */
+final class VarIntPostings {
+
+    private byte[] bytes = new byte[8];
+    private int length;
+    private int size;
+    private int lastDoc = -1;
+
+    int size() {
+        return size;
+    }
+
+    int lastDoc() {
+        return lastDoc;
+    }
+
+    // Documents must arrive in ascending order; the index only hands out increasing ordinals
+    void append(int doc, int frequency) {
+        if (doc <= lastDoc) {
+            throw new IllegalArgumentException("Posting " + doc + " is not after " + lastDoc);
+        }
+        ensureCapacity(10);
+        length = writeVarInt(bytes, length, doc - lastDoc);
+        length = writeVarInt(bytes, length, frequency);
+        lastDoc = doc;
+        size++;
+    }
+
+    boolean remove(int doc) {
+        if (doc > lastDoc) {
+            return false;
+        }
+        Cursor cursor = cursor();
+        int start = 0;
+        int previousDoc = -1;
+        while (cursor.next()) {
+            if (cursor.doc() == doc) {
+                break;
+            }
+            if (cursor.doc() > doc) {
+                return false;
+            }
+            start = cursor.position;
+            previousDoc = cursor.doc();
+        }
+        if (cursor.doc() != doc) {
+            return false;
+        }
+
+        // The gap of the following posting now spans the removed one
+        int end = cursor.position;
+        byte[] rest = Arrays.copyOfRange(bytes, end, length);
+        length = start;
+        size--;
+        if (rest.length == 0) {
+            lastDoc = previousDoc;
+        } else {
+            int[] read = new int[1];
+            int next = readVarInt(rest, 0, read);
+            length = writeVarInt(bytes, length, read[0] + doc - previousDoc);
+            System.arraycopy(rest, next, bytes, length, rest.length - next);
+            length += rest.length - next;
+        }
+        if (bytes.length > 64 && length < bytes.length / 4) {
+            bytes = Arrays.copyOf(bytes, bytes.length / 2);
+        }
+        return true;
+    }
+
+    int byteSize() {
+        return length;
+    }
+
+    Cursor cursor() {
+        return new Cursor();
+    }
+
+    final class Cursor {
+        private final int[] read = new int[1];
+        private int position;
+        private int doc = -1;
+        private int frequency;
+
+        boolean next() {
+            if (position >= length) {
+                return false;
+            }
+            position = readVarInt(bytes, position, read);
+            doc += read[0];
+            position = readVarInt(bytes, position, read);
+            frequency = read[0];
+            return true;
+        }
+
+        int doc() {
+            return doc;
+        }
+
+        int frequency() {
+            return frequency;
+        }
+    }
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+        }
+    }
+
+    private static int writeVarInt(byte[] target, int offset, int value) {
+        while ((value & ~0x7F) != 0) {
+            target[offset++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        target[offset++] = (byte) value;
+        return offset;
+    }
+
+    // Returns the offset after the value, which goes into result[0]
+    private static int readVarInt(byte[] source, int offset, int[] result) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = source[offset++];
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        result[0] = value;
+        return offset;
+    }
+}
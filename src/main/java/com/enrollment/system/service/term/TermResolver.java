@@ -0,0 +1,94 @@
+package com.enrollment.system.service.term;
+
+import com.enrollment.system.config.PrimaryReads;
+import com.enrollment.system.event.TermChangedEvent;
+import com.enrollment.system.exception.EnrollmentException;
+import com.enrollment.system.exception.ResourceNotFoundException;
+import com.enrollment.system.model.Term;
+import com.enrollment.system.model.Term.TermStatus;
+import com.enrollment.system.repository.TermRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps semester names and ids to terms. There are only a handful of terms, so they are
+ * kept in memory once read and dropped whenever a term changes; an enrollment then costs
+ * no extra query to find or show its term.
+ */
+@Component
+public class TermResolver {
+
+    private final TermRepository termRepository;
+    private final PrimaryReads primaryReads;
+    private final Map<String, Term> termsByName = new ConcurrentHashMap<>();
+    private final Map<Integer, Term> termsById = new ConcurrentHashMap<>();
+    private volatile Term defaultTerm;
+
+    @Autowired
+    public TermResolver(TermRepository termRepository, PrimaryReads primaryReads) {
+        this.termRepository = termRepository;
+        this.primaryReads = primaryReads;
+    }
+
+    // Term a new enrollment belongs to: the term of the course's first meeting, or the latest open term
+    public Term getEnrollmentTerm(String semester) {
+        Term term;
+        if (semester != null) {
+            term = find(semester)
+                    .orElseThrow(() -> new EnrollmentException("Term not found for semester: " + semester));
+        } else {
+            term = findDefault()
+                    .orElseThrow(() -> new EnrollmentException("No open term to enroll in"));
+        }
+        if (term.getStatus() != TermStatus.OPEN) {
+            throw new EnrollmentException("Term " + term.getName() + " is closed for enrollment");
+        }
+        return term;
+    }
+
+    // Term named by a schedule's semester, created open the first time a schedule names it
+    public Term getOrCreate(String name) {
+        return find(name).orElseGet(() -> {
+            Term created = termRepository.save(new Term(null, name, TermStatus.OPEN));
+            defaultTerm = null;
+            return created;
+        });
+    }
+
+    public Term getTerm(Integer id) {
+        // Cached statuses must come from the primary, which read-only lookups would skip
+        return termsById.computeIfAbsent(id, key -> primaryReads.read(() -> termRepository.findById(key))
+                .orElseThrow(() -> new ResourceNotFoundException("Term not found with id: " + key)));
+    }
+
+    public Optional<Term> find(String name) {
+        Term term = termsByName.get(name);
+        if (term != null) {
+            return Optional.of(term);
+        }
+        Optional<Term> found = primaryReads.read(() -> termRepository.findByName(name));
+        found.ifPresent(loaded -> termsByName.put(name, loaded));
+        return found;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTermChanged(TermChangedEvent event) {
+        termsByName.remove(event.getName());
+        termsById.remove(event.getTermId());
+        defaultTerm = null;
+    }
+
+    private Optional<Term> findDefault() {
+        Term term = defaultTerm;
+        if (term == null) {
+            term = primaryReads.read(() -> termRepository.findFirstByStatusOrderByIdDesc(TermStatus.OPEN)).orElse(null);
+            defaultTerm = term;
+        }
+        return Optional.ofNullable(term);
+    }
+}
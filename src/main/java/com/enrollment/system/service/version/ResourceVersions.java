@@ -0,0 +1,168 @@
+package com.enrollment.system.service.version;
+
+import com.enrollment.system.event.CourseChangedEvent;
+import com.enrollment.system.event.EnrollmentChangedEvent;
+import com.enrollment.system.event.StudentChangedEvent;
+import com.enrollment.system.event.TermChangedEvent;
+import com.enrollment.system.model.Term.TermStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Version counters behind the ETags of the student, course and enrollment endpoints.
+ *
+ * Every change bumps its collection's counter and the counter of the changed entity after
+ * the transaction commits, so a tag taken before reading the data can only be older than
+ * the data, never newer. Entities share a fixed set of striped counters, which keeps
+ * memory flat: an edit may cost a neighbour on the same stripe a 304, but never serves a
+ * stale body. A change that affects entities it cannot name, such as a course rename that
+ * shows up in every enrollment, bumps a per-collection wide counter that is part of every
+ * entity tag.
+ *
+ * Tags carry a start-up epoch, since counters restart at zero. Counters only see changes
+ * made through this node's services; data edited by another node or directly in the
+ * database keeps its old tag until this node changes it too. While reads may be served by
+ * a lagging replica, a counter bumped within the read-your-writes window yields no tag,
+ * so a replica read is never cached under a version it may not contain yet.
+ */
+@Component
+public class ResourceVersions {
+
+    public enum Resource {
+        STUDENTS, COURSES, ENROLLMENTS
+    }
+
+    private static final int STRIPES = 4096;
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final long settleMillis;
+    private final Map<Resource, Versions> versions = new EnumMap<>(Resource.class);
+
+    @Autowired
+    public ResourceVersions(
+            @Value("${enrollment.datasource.replica.jdbc-url:}") String replicaUrl,
+            @Value("${enrollment.datasource.replica.read-your-writes:5s}") Duration replicaLag) {
+        this.settleMillis = replicaUrl.isBlank() ? 0 : replicaLag.toMillis();
+        for (Resource resource : Resource.values()) {
+            versions.put(resource, new Versions());
+        }
+    }
+
+    // Strong ETag for a whole collection, or null while a recent change may not be readable yet
+    public String collectionTag(Resource resource) {
+        Versions counters = versions.get(resource);
+        if (!counters.collection.isSettled(settleMillis)) {
+            return null;
+        }
+        return tag(resource, Long.toString(counters.collection.version.get()));
+    }
+
+    public String entityTag(Resource resource, Long id) {
+        Versions counters = versions.get(resource);
+        int stripe = Versions.stripeOf(id);
+        if (!counters.wide.isSettled(settleMillis) || !counters.isStripeSettled(stripe, settleMillis)) {
+            return null;
+        }
+        return tag(resource, counters.wide.version.get() + "." + counters.stripeVersions.get(stripe));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        bump(Resource.STUDENTS, event.getId());
+        if (event.getChangeType() != StudentChangedEvent.ChangeType.CREATED) {
+            // Enrollments show the student code; a deleted student's seats leave course counts
+            bumpAll(Resource.ENROLLMENTS);
+        }
+        if (event.getChangeType() == StudentChangedEvent.ChangeType.DELETED) {
+            bumpAll(Resource.COURSES);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        bump(Resource.COURSES, event.getCourseId());
+        boolean codeRemoved = event.getChangeType() == CourseChangedEvent.ChangeType.DELETED
+                || !event.getCourseCode().equals(event.getPreviousCourseCode());
+        if (codeRemoved) {
+            // Other courses list the code as a prerequisite and enrollments show it
+            bumpAll(Resource.COURSES);
+            bumpAll(Resource.ENROLLMENTS);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEnrollmentChanged(EnrollmentChangedEvent event) {
+        bump(Resource.ENROLLMENTS, event.getEnrollmentId());
+        if (event.claimedSeat() || event.releasedSeat()) {
+            bump(Resource.COURSES, event.getCourseId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTermChanged(TermChangedEvent event) {
+        if (event.getStatus() == TermStatus.ARCHIVED) {
+            bumpAll(Resource.ENROLLMENTS);
+            bumpAll(Resource.COURSES);
+        }
+    }
+
+    private void bump(Resource resource, Long id) {
+        Versions counters = versions.get(resource);
+        if (id != null) {
+            counters.bumpStripe(Versions.stripeOf(id));
+        }
+        counters.collection.bump();
+    }
+
+    private void bumpAll(Resource resource) {
+        Versions counters = versions.get(resource);
+        counters.wide.bump();
+        counters.collection.bump();
+    }
+
+    private String tag(Resource resource, String version) {
+        return "\"" + epoch + "-" + resource.name().charAt(0) + version + "\"";
+    }
+
+    private static final class Counter {
+        private final AtomicLong version = new AtomicLong();
+        private volatile long changedAt;
+
+        private void bump() {
+            changedAt = System.currentTimeMillis();
+            version.incrementAndGet();
+        }
+
+        private boolean isSettled(long settleMillis) {
+            return settleMillis == 0 || System.currentTimeMillis() - changedAt >= settleMillis;
+        }
+    }
+
+    private static final class Versions {
+        private final Counter collection = new Counter();
+        private final Counter wide = new Counter();
+        private final AtomicLongArray stripeVersions = new AtomicLongArray(STRIPES);
+        private final AtomicLongArray stripeChangedAt = new AtomicLongArray(STRIPES);
+
+        private static int stripeOf(Long id) {
+            return (int) Math.floorMod(id, (long) STRIPES);
+        }
+
+        private void bumpStripe(int stripe) {
+            stripeChangedAt.set(stripe, System.currentTimeMillis());
+            stripeVersions.incrementAndGet(stripe);
+        }
+
+        private boolean isStripeSettled(int stripe, long settleMillis) {
+            return settleMillis == 0 || System.currentTimeMillis() - stripeChangedAt.get(stripe) >= settleMillis;
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.enrollment.system.service.waitlist;
+
+import com.enrollment.system.config.PrimaryReads;
+import com.enrollment.system.event.CourseChangedEvent;
+import com.enrollment.system.event.CourseChangedEvent.ChangeType;
+import com.enrollment.system.event.EnrollmentChangedEvent;
+import com.enrollment.system.event.TermChangedEvent;
+import com.enrollment.system.model.Enrollment.EnrollmentStatus;
+import com.enrollment.system.model.Term.TermStatus;
+import com.enrollment.system.repository.EnrollmentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory FIFO order of the WAITLISTED enrollments of each course.
+ *
+ * A course's waitlist is loaded in enrollment id order on first use; afterwards joins
+ * are appended and leaves removed once their transaction commits. Every entry owns a
+ * slot in a Fenwick tree whose flags mark the slots still waiting, so a position is a
+ * prefix sum and the k-th student in line a tree descent, both O(log n). Slots are
+ * never reused; the tree is rebuilt without the gaps once it fills up.
+ */
+@Component
+public class CourseWaitlists {
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final PrimaryReads primaryReads;
+    private final Map<Long, Waitlist> waitlists = new ConcurrentHashMap<>();
+    private final Object loadLock = new Object();
+
+    @Autowired
+    public CourseWaitlists(EnrollmentRepository enrollmentRepository, PrimaryReads primaryReads) {
+        this.enrollmentRepository = enrollmentRepository;
+        this.primaryReads = primaryReads;
+    }
+
+    public int size(Long courseId) {
+        Waitlist waitlist = waitlistOf(courseId);
+        synchronized (waitlist) {
+            return waitlist.size;
+        }
+    }
+
+    // 1-based position of the enrollment in its course's line, or 0 if it is not waiting
+    public int position(Long courseId, Long enrollmentId) {
+        Waitlist waitlist = waitlistOf(courseId);
+        synchronized (waitlist) {
+            Integer slot = waitlist.slotById.get(enrollmentId);
+            return slot == null ? 0 : waitlist.present.prefixSum(slot);
+        }
+    }
+
+    // Enrollment id of the k-th student in line, counting from 1, or null if fewer are waiting
+    public Long get(Long courseId, int k) {
+        Waitlist waitlist = waitlistOf(courseId);
+        synchronized (waitlist) {
+            if (k < 1 || k > waitlist.size) {
+                return null;
+            }
+            return waitlist.enrollmentIds[waitlist.present.findKth(k)];
+        }
+    }
+
+    // Drops an entry whose row is no longer waiting but whose change published no event, e.g. one made on another node
+    void remove(Long courseId, Long enrollmentId) {
+        Waitlist waitlist = waitlistOf(courseId);
+        synchronized (waitlist) {
+            waitlist.remove(enrollmentId);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEnrollmentChanged(EnrollmentChangedEvent event) {
+        boolean joined = event.getNewStatus() == EnrollmentStatus.WAITLISTED
+                && event.getPreviousStatus() != EnrollmentStatus.WAITLISTED;
+        boolean left = event.getPreviousStatus() == EnrollmentStatus.WAITLISTED
+                && event.getNewStatus() != EnrollmentStatus.WAITLISTED;
+        if (!joined && !left) {
+            return;
+        }
+        Waitlist waitlist = loadedWaitlistOf(event.getCourseId());
+        if (waitlist == null) {
+            // Not loaded yet; the first lookup reads the committed state
+            return;
+        }
+        synchronized (waitlist) {
+            if (joined) {
+                waitlist.append(event.getEnrollmentId());
+            } else {
+                waitlist.remove(event.getEnrollmentId());
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        if (event.getChangeType() == ChangeType.DELETED) {
+            waitlists.remove(event.getCourseId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTermChanged(TermChangedEvent event) {
+        // The term's waiting rows were archived with the rest; reload every line on next use
+        if (event.getStatus() == TermStatus.ARCHIVED) {
+            synchronized (loadLock) {
+                waitlists.clear();
+            }
+        }
+    }
+
+    private Waitlist waitlistOf(Long courseId) {
+        Waitlist waitlist = waitlists.get(courseId);
+        if (waitlist != null) {
+            return waitlist;
+        }
+        // Loads hold the lock so an event committed during a load waits for it and is then applied on top
+        synchronized (loadLock) {
+            waitlist = waitlists.get(courseId);
+            if (waitlist == null) {
+                waitlist = new Waitlist(primaryReads.read(() -> enrollmentRepository.findWaitlistedIdsByCourseId(courseId)));
+                waitlists.put(courseId, waitlist);
+            }
+            return waitlist;
+        }
+    }
+
+    private Waitlist loadedWaitlistOf(Long courseId) {
+        Waitlist waitlist = waitlists.get(courseId);
+        if (waitlist != null) {
+            return waitlist;
+        }
+        synchronized (loadLock) {
+            return waitlists.get(courseId);
+        }
+    }
+
+    private static final class Waitlist {
+        private long[] enrollmentIds;
+        private final Map<Long, Integer> slotById = new HashMap<>();
+        private FenwickTree present;
+        private int nextSlot;
+        private int size;
+
+        private Waitlist(List<Long> orderedIds) {
+            enrollmentIds = new long[Math.max(16, orderedIds.size() * 2)];
+            present = new FenwickTree(enrollmentIds.length);
+            for (Long enrollmentId : orderedIds) {
+                append(enrollmentId);
+            }
+        }
+
+        // Joins are idempotent, since an event can race with the load that already saw its row
+        private void append(Long enrollmentId) {
+            if (slotById.containsKey(enrollmentId)) {
+                return;
+            }
+            if (nextSlot == enrollmentIds.length) {
+                compact();
+            }
+            int slot = nextSlot++;
+            enrollmentIds[slot] = enrollmentId;
+            slotById.put(enrollmentId, slot);
+            present.add(slot, 1);
+            size++;
+        }
+
+        private void remove(Long enrollmentId) {
+            Integer slot = slotById.remove(enrollmentId);
+            if (slot != null) {
+                present.add(slot, -1);
+                size--;
+            }
+        }
+
+        // Moves the waiting entries to the front in order, doubling the capacity if at least half are waiting
+        private void compact() {
+            int capacity = size * 2 >= enrollmentIds.length ? enrollmentIds.length * 2 : enrollmentIds.length;
+            long[] compacted = new long[capacity];
+            boolean[] flags = new boolean[capacity];
+            int slot = 0;
+            for (int i = 0; i < nextSlot; i++) {
+                Long enrollmentId = enrollmentIds[i];
+                Integer current = slotById.get(enrollmentId);
+                if (current != null && current == i) {
+                    compacted[slot] = enrollmentId;
+                    flags[slot] = true;
+                    slotById.put(enrollmentId, slot);
+                    slot++;
+                }
+            }
+            enrollmentIds = compacted;
+            present = new FenwickTree(flags, capacity);
+            nextSlot = slot;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.enrollment.system.service.waitlist;
+
+/**
+ * Binary indexed tree of 0/1 flags over slots 0..capacity-1. Counting the set
+ * flags up to a slot, flipping a flag and finding the k-th set slot are all
+ * O(log capacity).
+ */
+final class FenwickTree {
+
+    // 1-based: tree[i] covers the slots (i - lowbit(i), i]
+    private final int[] tree;
+
+    FenwickTree(int capacity) {
+        tree = new int[capacity + 1];
+    }
+
+    // Builds the tree over the given flags in O(n) instead of n separate updates
+    FenwickTree(boolean[] flags, int capacity) {
+        tree = new int[capacity + 1];
+        for (int i = 1; i <= capacity; i++) {
+            if (i <= flags.length && flags[i - 1]) {
+                tree[i]++;
+            }
+            int parent = i + (i & -i);
+            if (parent <= capacity) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+
+    int capacity() {
+        return tree.length - 1;
+    }
+
+    void add(int slot, int delta) {
+        for (int i = slot + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    // Number of set flags in slots 0..slot
+    int prefixSum(int slot) {
+        int sum = 0;
+        for (int i = slot + 1; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    // Slot of the k-th set flag, counting from 1, or -1 if fewer than k flags are set
+    int findKth(int k) {
+        int position = 0;
+        int remaining = k;
+        for (int step = Integer.highestOneBit(capacity()); step > 0; step >>= 1) {
+            int next = position + step;
+            if (next < tree.length && tree[next] < remaining) {
+                position = next;
+                remaining -= tree[next];
+            }
+        }
+        return position < capacity() ? position : -1;
+    }
+}
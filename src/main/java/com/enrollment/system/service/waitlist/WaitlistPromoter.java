@@ -0,0 +1,184 @@
+package com.enrollment.system.service.waitlist;
+
+import com.enrollment.system.event.CourseChangedEvent;
+import com.enrollment.system.event.CourseChangedEvent.ChangeType;
+import com.enrollment.system.event.EnrollmentChangedEvent;
+import com.enrollment.system.model.Course;
+import com.enrollment.system.model.Enrollment;
+import com.enrollment.system.model.Enrollment.EnrollmentStatus;
+import com.enrollment.system.model.Term.TermStatus;
+import com.enrollment.system.repository.CourseRepository;
+import com.enrollment.system.repository.EnrollmentRepository;
+import com.enrollment.system.service.conflict.TimeConflictEngine;
+import com.enrollment.system.service.metrics.EnrollmentMetrics;
+import com.enrollment.system.service.prerequisite.CompletedCourses;
+import com.enrollment.system.service.term.TermResolver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Moves waitlisted students into seats that open up.
+ *
+ * Whenever a committed change can free a seat (a drop, a capacity update) or leaves a
+ * student waiting, a pass over the course's waitlist is queued on the application task
+ * executor. A pass walks the line in order and promotes each student in their own
+ * transaction, re-checking prerequisites and time conflicts against the student's
+ * current enrollments; students who no longer qualify keep their place and are skipped.
+ * The pass ends when the course is full again or the line is exhausted. Passes of one
+ * course never overlap, and a change arriving while a pass is queued joins that pass.
+ */
+@Component
+public class WaitlistPromoter {
+
+    private static final Logger log = LoggerFactory.getLogger(WaitlistPromoter.class);
+
+    enum Outcome {
+        PROMOTED, INELIGIBLE, NO_SEAT, STALE
+    }
+
+    private final CourseWaitlists courseWaitlists;
+    private final EnrollmentRepository enrollmentRepository;
+    private final CourseRepository courseRepository;
+    private final CompletedCourses completedCourses;
+    private final TimeConflictEngine timeConflictEngine;
+    private final TermResolver termResolver;
+    private final EnrollmentMetrics enrollmentMetrics;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskExecutor taskExecutor;
+    private final Set<Long> queuedCourses = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Object> courseLocks = new ConcurrentHashMap<>();
+
+    @Autowired
+    public WaitlistPromoter(
+            CourseWaitlists courseWaitlists,
+            EnrollmentRepository enrollmentRepository,
+            CourseRepository courseRepository,
+            CompletedCourses completedCourses,
+            TimeConflictEngine timeConflictEngine,
+            TermResolver termResolver,
+            EnrollmentMetrics enrollmentMetrics,
+            TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher eventPublisher,
+            @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor) {
+        this.courseWaitlists = courseWaitlists;
+        this.enrollmentRepository = enrollmentRepository;
+        this.courseRepository = courseRepository;
+        this.completedCourses = completedCourses;
+        this.timeConflictEngine = timeConflictEngine;
+        this.termResolver = termResolver;
+        this.enrollmentMetrics = enrollmentMetrics;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.taskExecutor = taskExecutor;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEnrollmentChanged(EnrollmentChangedEvent event) {
+        // A new waiter may be first in line for a seat that earlier, ineligible waiters left open
+        if (event.releasedSeat() || event.getNewStatus() == EnrollmentStatus.WAITLISTED) {
+            schedule(event.getCourseId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        if (event.getChangeType() == ChangeType.UPDATED) {
+            schedule(event.getCourseId());
+        }
+    }
+
+    // Helper method to queue one pass per course, however many changes arrive before it starts
+    private void schedule(Long courseId) {
+        if (queuedCourses.add(courseId)) {
+            taskExecutor.execute(() -> {
+                queuedCourses.remove(courseId);
+                try {
+                    promote(courseId);
+                } catch (RuntimeException ex) {
+                    log.warn("Waitlist promotion for course {} failed", courseId, ex);
+                }
+            });
+        }
+    }
+
+    void promote(Long courseId) {
+        synchronized (courseLocks.computeIfAbsent(courseId, id -> new Object())) {
+            int k = 1;
+            Long enrollmentId;
+            while ((enrollmentId = courseWaitlists.get(courseId, k)) != null) {
+                Long candidateId = enrollmentId;
+                Outcome outcome = transactionTemplate.execute(status -> tryPromote(candidateId, status));
+                switch (outcome) {
+                    case NO_SEAT:
+                        return;
+                    case INELIGIBLE:
+                        k++;
+                        break;
+                    case STALE:
+                        courseWaitlists.remove(courseId, candidateId);
+                        break;
+                    case PROMOTED:
+                        // The committed promotion already took the student out of the line
+                        enrollmentMetrics.recordWaitlistPromotion();
+                        break;
+                    default:
+                        throw new IllegalStateException("Unknown promotion outcome " + outcome);
+                }
+            }
+        }
+    }
+
+    private Outcome tryPromote(Long enrollmentId, TransactionStatus status) {
+        Enrollment enrollment = enrollmentRepository.findByIdWithStudentAndCourse(enrollmentId).orElse(null);
+        if (enrollment == null || enrollment.getStatus() != EnrollmentStatus.WAITLISTED) {
+            return Outcome.STALE;
+        }
+        if (termResolver.getTerm(enrollment.getTerm().getId()).getStatus() != TermStatus.OPEN) {
+            return Outcome.INELIGIBLE;
+        }
+        Course course = enrollment.getCourse();
+        if (course.getSeatsTaken() >= course.getMaxCapacity()) {
+            return Outcome.NO_SEAT;
+        }
+
+        // Re-check the rules that depend on what the student has enrolled in since joining the line
+        Long studentId = enrollment.getStudent().getId();
+        if (!completedCourses.getMissingPrerequisiteCodes(studentId, course.getId()).isEmpty()) {
+            return Outcome.INELIGIBLE;
+        }
+        String semester = timeConflictEngine.getPrimarySemester(course.getId());
+        if (semester != null && timeConflictEngine.hasConflict(studentId, course.getId(), semester)) {
+            return Outcome.INELIGIBLE;
+        }
+
+        if (courseRepository.reserveSeat(course.getId()) == 0) {
+            return Outcome.NO_SEAT;
+        }
+        if (enrollmentRepository.promoteFromWaitlist(enrollmentId) == 0) {
+            // The student left the line since the read above; give the seat back
+            status.setRollbackOnly();
+            return Outcome.STALE;
+        }
+        eventPublisher.publishEvent(new EnrollmentChangedEvent(
+                enrollmentId,
+                studentId,
+                course.getId(),
+                course.getCourseCode(),
+                EnrollmentStatus.WAITLISTED,
+                EnrollmentStatus.ENROLLED));
+        return Outcome.PROMOTED;
+    }
+}
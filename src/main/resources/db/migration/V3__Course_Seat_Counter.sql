@@ -0,0 +1,10 @@
+-- Add denormalized seat counter to courses
+ALTER TABLE courses ADD COLUMN seats_taken INT NOT NULL DEFAULT 0;
+
+-- Backfill seat counter from current enrollments
+UPDATE courses c
+SET seats_taken = (
+    SELECT COUNT(*)
+    FROM enrollments e
+    WHERE e.course_id = c.id AND e.status = 'ENROLLED'
+);
@@ -0,0 +1,2 @@
+-- Waitlists are loaded per course in join order
+CREATE INDEX idx_enrollments_course_status ON enrollments (course_id, status);
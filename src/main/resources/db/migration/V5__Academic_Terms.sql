@@ -0,0 +1,54 @@
+-- Academic terms, keyed by a compact integer
+CREATE TABLE IF NOT EXISTS terms (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    UNIQUE KEY uk_terms_name (name)
+);
+
+-- Every semester a schedule names becomes an open term
+INSERT INTO terms (name, status)
+SELECT DISTINCT semester, 'OPEN' FROM schedules ORDER BY semester;
+
+ALTER TABLE schedules ADD CONSTRAINT fk_schedules_term FOREIGN KEY (semester) REFERENCES terms(name);
+
+-- Enrollments belong to the term of their course's first meeting
+ALTER TABLE enrollments ADD COLUMN term_id INT NULL AFTER course_id;
+
+UPDATE enrollments e
+JOIN schedules s ON s.id = (SELECT MIN(first.id) FROM schedules first WHERE first.course_id = e.course_id)
+JOIN terms t ON t.name = s.semester
+SET e.term_id = t.id;
+
+-- Enrollments in courses without meetings go to a catch-all term
+INSERT INTO terms (name, status)
+SELECT 'Unscheduled', 'OPEN' FROM DUAL
+WHERE EXISTS (SELECT 1 FROM enrollments WHERE term_id IS NULL)
+  AND NOT EXISTS (SELECT 1 FROM terms WHERE name = 'Unscheduled');
+
+UPDATE enrollments e
+JOIN terms t ON t.name = 'Unscheduled'
+SET e.term_id = t.id
+WHERE e.term_id IS NULL;
+
+ALTER TABLE enrollments MODIFY term_id INT NOT NULL;
+ALTER TABLE enrollments ADD CONSTRAINT fk_enrollments_term FOREIGN KEY (term_id) REFERENCES terms(id);
+
+-- Active-term reads and the archive move select one term's rows by course
+CREATE INDEX idx_enrollments_term_course ON enrollments (term_id, course_id, status);
+
+-- Cold storage for the enrollments of archived terms, one partition per term hash.
+-- Partitioned InnoDB tables cannot carry foreign keys, and the partition key must be
+-- part of every unique key, hence the composite primary key.
+CREATE TABLE IF NOT EXISTS enrollments_archive (
+    id BIGINT NOT NULL,
+    student_id BIGINT NOT NULL,
+    course_id BIGINT NOT NULL,
+    term_id INT NOT NULL,
+    enrollment_date DATETIME NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    notes TEXT,
+    PRIMARY KEY (term_id, id),
+    KEY idx_enrollments_archive_student (student_id)
+)
+PARTITION BY HASH (term_id) PARTITIONS 8;
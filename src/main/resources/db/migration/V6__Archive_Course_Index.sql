@@ -0,0 +1,2 @@
+-- Deleting a course deletes its archived enrollments
+CREATE INDEX idx_enrollments_archive_course ON enrollments_archive (course_id);
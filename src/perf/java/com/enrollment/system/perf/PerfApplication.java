@@ -0,0 +1,25 @@
+package com.enrollment.system.perf;
+
+import com.enrollment.system.StudentCourseEnrollmentSystemApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Boots the real application against the embedded H2 database of the perf profile.
+ */
+public final class PerfApplication {
+
+    public static final String PROFILE = "perf";
+
+    private PerfApplication() {
+    }
+
+    public static ConfigurableApplicationContext start(WebApplicationType webApplicationType, String... args) {
+        return new SpringApplicationBuilder(StudentCourseEnrollmentSystemApplication.class)
+                .profiles(PROFILE)
+                .web(webApplicationType)
+                .logStartupInfo(false)
+                .run(args);
+    }
+}
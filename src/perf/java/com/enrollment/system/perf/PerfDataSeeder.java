@@ -0,0 +1,181 @@
+package com.enrollment.system.perf;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Fills an empty schema with a registration-sized catalog using batched JDBC inserts.
+ *
+ * Regular courses meet twice a week on weekdays, form an acyclic prerequisite graph and
+ * already hold the seeded enrollments. Every student is enrolled in the core course.
+ * Open courses require only the core course, have effectively unlimited seats and each
+ * meet in its own weekend slot, so any student can be enrolled in any open course
+ * without failing a rule. The random seed is fixed so every run sees the same data.
+ */
+public class PerfDataSeeder {
+
+    public static final String SEMESTER = "Fall 2024";
+    public static final String CORE_COURSE = "CORE100";
+
+    private static final int BATCH_SIZE = 1000;
+    private static final DayOfWeek[][] WEEKLY_PATTERNS = {
+            {DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY},
+            {DayOfWeek.TUESDAY, DayOfWeek.THURSDAY},
+            {DayOfWeek.WEDNESDAY, DayOfWeek.FRIDAY}
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Random random = new Random(42);
+    private final Map<String, Integer> remainingSeats = new HashMap<>();
+
+    public PerfDataSeeder(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public PerfDataset seed(int studentCount, int courseCount, int openCourseCount, int coursesPerStudent) {
+        if (openCourseCount > 2 * 24 * 60 / 12) {
+            throw new IllegalArgumentException("At most 240 open courses fit into distinct weekend slots");
+        }
+
+        String[] studentCodes = insertStudents(studentCount);
+        String[] courseCodes = new String[courseCount];
+        String[] openCourseCodes = new String[openCourseCount];
+        insertCourses(courseCodes, openCourseCodes, studentCount);
+
+        Map<String, Long> studentIds = idsByCode("SELECT id, student_id FROM students");
+        Map<String, Long> courseIds = idsByCode("SELECT id, course_code FROM courses");
+
+        insertPrerequisites(courseCodes, openCourseCodes, courseIds);
+        jdbcTemplate.update("INSERT INTO terms (name, status) VALUES (?, 'OPEN')", SEMESTER);
+        Integer termId = jdbcTemplate.queryForObject("SELECT id FROM terms WHERE name = ?", Integer.class, SEMESTER);
+        insertSchedules(courseCodes, openCourseCodes, courseIds);
+        insertEnrollments(studentCodes, courseCodes, studentIds, courseIds, termId, coursesPerStudent);
+
+        jdbcTemplate.update("UPDATE courses c SET seats_taken = "
+                + "(SELECT COUNT(*) FROM enrollments e WHERE e.course_id = c.id AND e.status = 'ENROLLED')");
+
+        long[] studentDbIds = new long[studentCount];
+        for (int i = 0; i < studentCount; i++) {
+            studentDbIds[i] = studentIds.get(studentCodes[i]);
+        }
+        return new PerfDataset(studentCodes, studentDbIds, courseCodes, openCourseCodes);
+    }
+
+    private String[] insertStudents(int studentCount) {
+        String[] codes = new String[studentCount];
+        List<Object[]> rows = new ArrayList<>(studentCount);
+        for (int i = 0; i < studentCount; i++) {
+            codes[i] = String.format("P%06d", i);
+            rows.add(new Object[]{codes[i], "First" + i, "Last" + i, "student" + i + "@perf.example.com",
+                    String.format("555%07d", i)});
+        }
+        batchInsert("INSERT INTO students (student_id, first_name, last_name, email, phone_number) VALUES (?, ?, ?, ?, ?)",
+                rows);
+        return codes;
+    }
+
+    private void insertCourses(String[] courseCodes, String[] openCourseCodes, int studentCount) {
+        String sql = "INSERT INTO courses (course_code, name, description, credit_hours, max_capacity, seats_taken) "
+                + "VALUES (?, ?, ?, ?, ?, 0)";
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{CORE_COURSE, "Core Curriculum", "Required for every student", 3, studentCount});
+        for (int i = 0; i < courseCodes.length; i++) {
+            courseCodes[i] = String.format("C%04d", i);
+            int capacity = 60 + random.nextInt(181);
+            remainingSeats.put(courseCodes[i], capacity);
+            rows.add(new Object[]{courseCodes[i], "Course " + i, "Regular course " + i, 2 + random.nextInt(3), capacity});
+        }
+        for (int i = 0; i < openCourseCodes.length; i++) {
+            openCourseCodes[i] = String.format("OPEN%03d", i);
+            rows.add(new Object[]{openCourseCodes[i], "Open Course " + i, "Open course " + i, 3, 1_000_000});
+        }
+        batchInsert(sql, rows);
+    }
+
+    // Courses in the upper three quarters of the catalog require one or two lower courses
+    private void insertPrerequisites(String[] courseCodes, String[] openCourseCodes, Map<String, Long> courseIds) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = courseCodes.length / 4; i < courseCodes.length; i++) {
+            Set<Integer> prerequisites = new HashSet<>();
+            int count = 1 + random.nextInt(2);
+            while (prerequisites.size() < count) {
+                prerequisites.add(random.nextInt(i));
+            }
+            for (int prerequisite : prerequisites) {
+                rows.add(new Object[]{courseIds.get(courseCodes[i]), courseIds.get(courseCodes[prerequisite])});
+            }
+        }
+        for (String openCourseCode : openCourseCodes) {
+            rows.add(new Object[]{courseIds.get(openCourseCode), courseIds.get(CORE_COURSE)});
+        }
+        batchInsert("INSERT INTO course_prerequisites (course_id, prerequisite_id) VALUES (?, ?)", rows);
+    }
+
+    private void insertSchedules(String[] courseCodes, String[] openCourseCodes, Map<String, Long> courseIds) {
+        String sql = "INSERT INTO schedules (course_id, day_of_week, start_time, end_time, room, semester) VALUES (?, ?, ?, ?, ?, ?)";
+        List<Object[]> rows = new ArrayList<>();
+        for (String courseCode : courseCodes) {
+            DayOfWeek[] days = WEEKLY_PATTERNS[random.nextInt(WEEKLY_PATTERNS.length)];
+            LocalTime start = LocalTime.of(8 + random.nextInt(10), random.nextBoolean() ? 0 : 30);
+            String room = "R" + (100 + random.nextInt(300));
+            for (DayOfWeek day : days) {
+                rows.add(new Object[]{courseIds.get(courseCode), day.name(), Time.valueOf(start),
+                        Time.valueOf(start.plusMinutes(75)), room, SEMESTER});
+            }
+        }
+        // Five-minute meetings twelve minutes apart never share a slot of the conflict bitmaps
+        for (int i = 0; i < openCourseCodes.length; i++) {
+            DayOfWeek day = i < 120 ? DayOfWeek.SATURDAY : DayOfWeek.SUNDAY;
+            LocalTime start = LocalTime.MIDNIGHT.plusMinutes((i % 120) * 12L);
+            rows.add(new Object[]{courseIds.get(openCourseCodes[i]), day.name(), Time.valueOf(start),
+                    Time.valueOf(start.plusMinutes(5)), "ONLINE", SEMESTER});
+        }
+        batchInsert(sql, rows);
+    }
+
+    private void insertEnrollments(String[] studentCodes, String[] courseCodes, Map<String, Long> studentIds,
+                                   Map<String, Long> courseIds, Integer termId, int coursesPerStudent) {
+        Timestamp enrolledAt = Timestamp.valueOf(LocalDateTime.now().minusDays(30));
+        List<Object[]> rows = new ArrayList<>();
+        for (String studentCode : studentCodes) {
+            Long studentId = studentIds.get(studentCode);
+            rows.add(new Object[]{studentId, courseIds.get(CORE_COURSE), termId, enrolledAt, "ENROLLED"});
+            Set<String> chosen = new HashSet<>();
+            for (int attempt = 0; chosen.size() < coursesPerStudent && attempt < coursesPerStudent * 4; attempt++) {
+                String courseCode = courseCodes[random.nextInt(courseCodes.length)];
+                if (remainingSeats.get(courseCode) > 0 && chosen.add(courseCode)) {
+                    remainingSeats.merge(courseCode, -1, Integer::sum);
+                    rows.add(new Object[]{studentId, courseIds.get(courseCode), termId, enrolledAt, "ENROLLED"});
+                }
+            }
+        }
+        batchInsert("INSERT INTO enrollments (student_id, course_id, term_id, enrollment_date, status) "
+                + "VALUES (?, ?, ?, ?, ?)", rows);
+    }
+
+    private Map<String, Long> idsByCode(String sql) {
+        Map<String, Long> ids = new HashMap<>();
+        jdbcTemplate.query(sql, row -> {
+            ids.put(row.getString(2), row.getLong(1));
+        });
+        return ids;
+    }
+
+    private void batchInsert(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(rows.size(), from + BATCH_SIZE)));
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.enrollment.system.perf;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+// Natural keys of the seeded rows, indexed so workloads can pick them without queries
+@Getter
+@AllArgsConstructor
+public class PerfDataset {
+    private final String[] studentCodes;
+    private final long[] studentIds;
+    private final String[] courseCodes;
+    private final String[] openCourseCodes;
+
+    public int randomStudent() {
+        return ThreadLocalRandom.current().nextInt(studentCodes.length);
+    }
+
+    public String randomCourseCode() {
+        return courseCodes[ThreadLocalRandom.current().nextInt(courseCodes.length)];
+    }
+
+    // Maps a running counter onto (student, open course) pairs that have never been enrolled
+    public String[] freshEnrollment(long sequence) {
+        long course = sequence / studentCodes.length;
+        if (course >= openCourseCodes.length) {
+            throw new IllegalStateException("Ran out of fresh enrollment pairs after " + sequence + " enrollments");
+        }
+        return new String[]{studentCodes[(int) (sequence % studentCodes.length)], openCourseCodes[(int) course]};
+    }
+}
@@ -0,0 +1,105 @@
+package com.enrollment.system.perf.jmh;
+
+import com.enrollment.system.dto.CourseDTO;
+import com.enrollment.system.dto.CourseSearchResultDTO;
+import com.enrollment.system.dto.CursorPage;
+import com.enrollment.system.dto.EnrollmentDTO;
+import com.enrollment.system.dto.StudentSearchResultDTO;
+import com.enrollment.system.perf.PerfDataSeeder;
+import com.enrollment.system.service.CourseService;
+import com.enrollment.system.service.EnrollmentService;
+import com.enrollment.system.service.StudentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read paths behind the catalog and listing endpoints, including DTO conversion.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CatalogBenchmark {
+
+    private CourseService courseService;
+    private EnrollmentService enrollmentService;
+    private StudentService studentService;
+
+    @Setup(Level.Trial)
+    public void setUp(SeededApplication application) {
+        courseService = application.bean(CourseService.class);
+        enrollmentService = application.bean(EnrollmentService.class);
+        studentService = application.bean(StudentService.class);
+    }
+
+    @Benchmark
+    public List<CourseDTO> getAllCourses() {
+        return courseService.getAllCourses();
+    }
+
+    @Benchmark
+    public CursorPage<CourseDTO> getCoursesFirstPage() {
+        return courseService.getCoursesPage(null, null);
+    }
+
+    @Benchmark
+    public CourseDTO getCourseByCourseCode(SeededApplication application) {
+        return courseService.getCourseByCourseCode(application.dataset.randomCourseCode());
+    }
+
+    @Benchmark
+    public List<CourseDTO> getAvailableCoursesForStudent(SeededApplication application) {
+        return courseService.getAvailableCoursesByStudentId(application.dataset.getStudentIds()[application.dataset.randomStudent()]);
+    }
+
+    @Benchmark
+    public List<StudentSearchResultDTO> searchStudentsByStudentId(SeededApplication application) {
+        return studentService.searchStudents(application.dataset.getStudentCodes()[application.dataset.randomStudent()], null);
+    }
+
+    // Seeded names are "First<n> Last<n>", so a prefix of the number matches a whole decade of students
+    @Benchmark
+    public List<StudentSearchResultDTO> searchStudentsByNamePrefix(SeededApplication application) {
+        return studentService.searchStudents("first" + application.dataset.randomStudent() / 10 + " last", null);
+    }
+
+    @Benchmark
+    public List<StudentSearchResultDTO> searchStudentsWithTypo(SeededApplication application) {
+        return studentService.searchStudents("frist" + application.dataset.randomStudent(), null);
+    }
+
+    @Benchmark
+    public List<CourseSearchResultDTO> searchCoursesByCode(SeededApplication application) {
+        return courseService.searchCourses(application.dataset.randomCourseCode(), null, null, null, null);
+    }
+
+    // Every seeded description contains "course", so this ranks the whole catalog
+    @Benchmark
+    public List<CourseSearchResultDTO> searchCoursesByKeywords() {
+        return courseService.searchCourses("regular course", null, null, null, null);
+    }
+
+    @Benchmark
+    public List<CourseSearchResultDTO> searchOpenCoursesInSemester() {
+        return courseService.searchCourses("course", 3, PerfDataSeeder.SEMESTER, true, null);
+    }
+
+    @Benchmark
+    public CursorPage<EnrollmentDTO> getEnrollmentsFirstPage() {
+        return enrollmentService.getEnrollmentsPage(null, null, null, null);
+    }
+}
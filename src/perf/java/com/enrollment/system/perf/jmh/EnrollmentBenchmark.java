@@ -0,0 +1,65 @@
+package com.enrollment.system.perf.jmh;
+
+import com.enrollment.system.dto.EligibilityDTO;
+import com.enrollment.system.dto.EnrollmentDTO;
+import com.enrollment.system.perf.PerfDataSeeder;
+import com.enrollment.system.service.EnrollmentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Enrollment paths of EnrollmentServiceImpl. Enroll and enroll-then-drop use pairs that
+ * have never been enrolled, so every invocation commits a new row instead of failing
+ * the duplicate check; the cost of a drop is the difference between the two.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class EnrollmentBenchmark {
+
+    private EnrollmentService enrollmentService;
+
+    @Setup(Level.Trial)
+    public void setUp(SeededApplication application) {
+        enrollmentService = application.bean(EnrollmentService.class);
+    }
+
+    @Benchmark
+    public EnrollmentDTO enroll(SeededApplication application) {
+        String[] pair = application.nextFreshEnrollment();
+        return enrollmentService.enrollStudentInCourse(pair[0], pair[1]);
+    }
+
+    @Benchmark
+    public EnrollmentDTO enrollThenDrop(SeededApplication application) {
+        String[] pair = application.nextFreshEnrollment();
+        enrollmentService.enrollStudentInCourse(pair[0], pair[1]);
+        return enrollmentService.dropCourse(pair[0], pair[1]);
+    }
+
+    @Benchmark
+    public EligibilityDTO checkEligibility(SeededApplication application) {
+        String studentId = application.dataset.getStudentCodes()[application.dataset.randomStudent()];
+        return enrollmentService.checkEligibility(studentId, application.dataset.randomCourseCode());
+    }
+
+    @Benchmark
+    public boolean checkTimeConflict(SeededApplication application) {
+        String studentId = application.dataset.getStudentCodes()[application.dataset.randomStudent()];
+        return enrollmentService.checkTimeConflict(studentId, application.dataset.randomCourseCode(), PerfDataSeeder.SEMESTER);
+    }
+}
@@ -0,0 +1,67 @@
+package com.enrollment.system.perf.jmh;
+
+import com.enrollment.system.perf.PerfApplication;
+import com.enrollment.system.perf.PerfDataSeeder;
+import com.enrollment.system.perf.PerfDataset;
+import com.enrollment.system.service.search.CourseSearchIndex;
+import com.enrollment.system.service.search.StudentSearchIndex;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One application context per fork, seeded once before warmup. The sizes are JMH
+ * parameters, so they are recorded with every result and can be overridden with -p.
+ */
+@State(Scope.Benchmark)
+public class SeededApplication {
+
+    @Param("20000")
+    public int students;
+
+    @Param("400")
+    public int courses;
+
+    @Param("200")
+    public int openCourses;
+
+    @Param("4")
+    public int coursesPerStudent;
+
+    ConfigurableApplicationContext context;
+    PerfDataset dataset;
+
+    private final AtomicLong enrollmentSequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = PerfApplication.start(WebApplicationType.NONE);
+        dataset = new PerfDataSeeder(context.getBean(JdbcTemplate.class))
+                .seed(students, courses, openCourses, coursesPerStudent);
+        // The seeder writes with plain SQL, past the services that keep the search indexes current
+        context.getBean(StudentSearchIndex.class).rebuild();
+        context.getBean(CourseSearchIndex.class).rebuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    // A (studentId, courseCode) pair that passes every enrollment rule and has never been used
+    String[] nextFreshEnrollment() {
+        return dataset.freshEnrollment(enrollmentSequence.getAndIncrement());
+    }
+}
@@ -0,0 +1,94 @@
+package com.enrollment.system.perf.jmh;
+
+import com.enrollment.system.dto.CursorPage;
+import com.enrollment.system.service.CourseService;
+import com.enrollment.system.service.EnrollmentService;
+import com.enrollment.system.service.ScheduleService;
+import com.enrollment.system.service.StudentService;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and decoding of list responses with the application's own JSON, CBOR and
+ * Smile mappers. Each list is what its endpoint returns for the seeded data: the whole
+ * course and schedule catalogs, and a full page of enrollments and of students. The
+ * encoded size of each list in each format is printed when a trial starts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"courses", "enrollments", "students", "schedules"})
+    public String payload;
+
+    private ObjectMapper mapper;
+    private JavaType listType;
+    private List<?> items;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp(SeededApplication application) throws IOException {
+        items = switch (payload) {
+            case "courses" -> application.bean(CourseService.class).getAllCourses();
+            case "enrollments" -> application.bean(EnrollmentService.class)
+                    .getEnrollmentsPage(null, CursorPage.MAX_LIMIT, null, null).getItems();
+            case "students" -> application.bean(StudentService.class).getStudentsPage(null, CursorPage.MAX_LIMIT).getItems();
+            case "schedules" -> application.bean(ScheduleService.class).getAllSchedules();
+            default -> throw new IllegalArgumentException("Unknown payload " + payload);
+        };
+        mapper = mapperFor(application, format);
+        listType = mapper.getTypeFactory().constructCollectionType(List.class, items.get(0).getClass());
+        encoded = mapper.writeValueAsBytes(items);
+
+        int jsonSize = mapperFor(application, "json").writeValueAsBytes(items).length;
+        System.out.printf("%n%s as %s: %d items, %d bytes, %.0f%% of JSON%n",
+                payload, format, items.size(), encoded.length, 100.0 * encoded.length / jsonSize);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return mapper.writeValueAsBytes(items);
+    }
+
+    @Benchmark
+    public List<?> decode() throws IOException {
+        return mapper.readValue(encoded, listType);
+    }
+
+    private static ObjectMapper mapperFor(SeededApplication application, String format) {
+        Class<? extends AbstractJackson2HttpMessageConverter> converter = switch (format) {
+            case "json" -> MappingJackson2HttpMessageConverter.class;
+            case "cbor" -> MappingJackson2CborHttpMessageConverter.class;
+            case "smile" -> MappingJackson2SmileHttpMessageConverter.class;
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        };
+        return application.bean(converter).getObjectMapper();
+    }
+}
@@ -0,0 +1,71 @@
+package com.enrollment.system.perf.load;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Seat invariants that must hold after any mix of concurrent enrolls and drops: no
+ * course holds more enrolled students than its capacity, the seats_taken counter
+ * matches the enrolled rows, and no student is enrolled twice in the same course.
+ */
+final class CapacityCheck {
+
+    private static final int MAX_LISTED = 10;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    CapacityCheck(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    boolean run(StringBuilder report) {
+        List<String> overCapacity = new ArrayList<>();
+        List<String> counterMismatches = new ArrayList<>();
+        int[] courses = {0};
+        jdbcTemplate.query(
+                "SELECT c.course_code, c.max_capacity, c.seats_taken, "
+                        + "(SELECT COUNT(*) FROM enrollments e WHERE e.course_id = c.id AND e.status = 'ENROLLED') "
+                        + "FROM courses c ORDER BY c.course_code",
+                row -> {
+                    courses[0]++;
+                    String courseCode = row.getString(1);
+                    int maxCapacity = row.getInt(2);
+                    int seatsTaken = row.getInt(3);
+                    int enrolled = row.getInt(4);
+                    if (enrolled > maxCapacity || seatsTaken > maxCapacity) {
+                        overCapacity.add(String.format("%s: %d enrolled, %d seats taken, capacity %d",
+                                courseCode, enrolled, seatsTaken, maxCapacity));
+                    }
+                    if (enrolled != seatsTaken) {
+                        counterMismatches.add(String.format("%s: %d enrolled, %d seats taken",
+                                courseCode, enrolled, seatsTaken));
+                    }
+                });
+        Integer duplicates = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM (SELECT student_id, course_id FROM enrollments WHERE status = 'ENROLLED' "
+                        + "GROUP BY student_id, course_id HAVING COUNT(*) > 1) d",
+                Integer.class);
+
+        report.append(String.format("Capacity check over %d courses: %d over capacity, %d seat counter mismatches,"
+                        + " %d duplicate enrollments%n",
+                courses[0], overCapacity.size(), counterMismatches.size(), duplicates));
+        list(report, "over capacity", overCapacity);
+        list(report, "seat counter mismatch", counterMismatches);
+
+        boolean passed = overCapacity.isEmpty() && counterMismatches.isEmpty() && duplicates == 0;
+        report.append(passed ? "PASSED" : "FAILED").append(System.lineSeparator());
+        return passed;
+    }
+
+    // Helper method to list the first few offending courses of one kind
+    private static void list(StringBuilder report, String label, List<String> courses) {
+        for (int i = 0; i < Math.min(MAX_LISTED, courses.size()); i++) {
+            report.append("    ").append(label).append(": ").append(courses.get(i)).append(System.lineSeparator());
+        }
+        if (courses.size() > MAX_LISTED) {
+            report.append(String.format("    ... and %d more%n", courses.size() - MAX_LISTED));
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.enrollment.system.perf.load;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Latencies and outcomes of one operation. Every client thread owns its own instance,
+ * so recording needs no synchronization; the instances are merged once the run ends.
+ */
+final class EndpointStats {
+
+    private long[] latenciesMicros = new long[1024];
+    private int count;
+    private final Map<String, Long> outcomes = new TreeMap<>();
+
+    void record(long latencyMicros, String outcome) {
+        if (count == latenciesMicros.length) {
+            latenciesMicros = Arrays.copyOf(latenciesMicros, count * 2);
+        }
+        latenciesMicros[count++] = latencyMicros;
+        outcomes.merge(outcome, 1L, Long::sum);
+    }
+
+    void mergeFrom(EndpointStats other) {
+        if (count + other.count > latenciesMicros.length) {
+            latenciesMicros = Arrays.copyOf(latenciesMicros, count + other.count);
+        }
+        System.arraycopy(other.latenciesMicros, 0, latenciesMicros, count, other.count);
+        count += other.count;
+        other.outcomes.forEach((outcome, n) -> outcomes.merge(outcome, n, Long::sum));
+    }
+
+    // Sorts the recorded latencies; call once after merging and before reading percentiles
+    void seal() {
+        Arrays.sort(latenciesMicros, 0, count);
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    // Nearest-rank percentile in milliseconds, e.g. 0.999 for p999
+    double percentileMillis(double quantile) {
+        if (count == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(quantile * count);
+        return latenciesMicros[Math.max(0, Math.min(count, rank) - 1)] / 1000.0;
+    }
+
+    double maxMillis() {
+        return count == 0 ? 0 : latenciesMicros[count - 1] / 1000.0;
+    }
+
+    Map<String, Long> getOutcomes() {
+        return outcomes;
+    }
+}
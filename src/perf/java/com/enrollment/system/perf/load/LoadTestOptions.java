@@ -0,0 +1,83 @@
+package com.enrollment.system.perf.load;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command line of the registration rush, given as --name=value pairs:
+ * students, courses, open-courses and courses-per-student size the seeded data;
+ * clients, warmup and duration (seconds) shape the run; zipf is the skew exponent of
+ * course popularity; hot-courses gates that many of the most popular courses with
+ * in-memory seat tokens; mix weights the operations, e.g. enroll:50,drop:10,available:40;
+ * report is the file the summary is also written to.
+ */
+final class LoadTestOptions {
+
+    final int students;
+    final int courses;
+    final int openCourses;
+    final int coursesPerStudent;
+    final int clients;
+    final int warmupSeconds;
+    final int durationSeconds;
+    final double zipfExponent;
+    final int hotCourses;
+    final Map<Operation, Integer> mix;
+    final String report;
+
+    private LoadTestOptions(Map<String, String> values) {
+        students = intOption(values, "students", 20000);
+        courses = intOption(values, "courses", 400);
+        openCourses = intOption(values, "open-courses", 0);
+        coursesPerStudent = intOption(values, "courses-per-student", 2);
+        clients = intOption(values, "clients", 200);
+        warmupSeconds = intOption(values, "warmup", 10);
+        durationSeconds = intOption(values, "duration", 60);
+        String zipf = values.remove("zipf");
+        zipfExponent = zipf == null ? 1.1 : Double.parseDouble(zipf);
+        hotCourses = intOption(values, "hot-courses", 0);
+        mix = parseMix(values.remove("mix"));
+        String reportPath = values.remove("report");
+        report = reportPath == null ? "target/loadtest-report.txt" : reportPath;
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Unknown load test options: " + values.keySet());
+        }
+    }
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return new LoadTestOptions(values);
+    }
+
+    // Helper method to read an integer option and mark it as consumed
+    private static int intOption(Map<String, String> values, String name, int defaultValue) {
+        String value = values.remove(name);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    private static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        if (value == null) {
+            for (Operation operation : Operation.values()) {
+                mix.put(operation, operation.getDefaultWeight());
+            }
+            return mix;
+        }
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected operation:weight in mix but got: " + entry);
+            }
+            mix.put(Operation.fromKey(parts[0]), Integer.parseInt(parts[1]));
+        }
+        return mix;
+    }
+}
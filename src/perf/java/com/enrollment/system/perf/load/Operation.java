@@ -0,0 +1,42 @@
+package com.enrollment.system.perf.load;
+
+// Requests replayed by the registration rush, with their default share of the mix
+enum Operation {
+    CATALOG_PAGE("catalog-page", "GET /courses/page", 15),
+    COURSE_DETAIL("course-detail", "GET /courses/code/{code}", 20),
+    AVAILABLE_COURSES("available", "GET /courses/available/student/{id}", 20),
+    ELIGIBILITY("eligibility", "GET /enrollments/eligibility", 20),
+    ENROLL("enroll", "POST /enrollments/enroll", 20),
+    DROP("drop", "POST /enrollments/drop", 5);
+
+    private final String key;
+    private final String endpoint;
+    private final int defaultWeight;
+
+    Operation(String key, String endpoint, int defaultWeight) {
+        this.key = key;
+        this.endpoint = endpoint;
+        this.defaultWeight = defaultWeight;
+    }
+
+    String getKey() {
+        return key;
+    }
+
+    String getEndpoint() {
+        return endpoint;
+    }
+
+    int getDefaultWeight() {
+        return defaultWeight;
+    }
+
+    static Operation fromKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equals(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation in mix: " + key);
+    }
+}
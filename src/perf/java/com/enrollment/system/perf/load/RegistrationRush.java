@@ -0,0 +1,315 @@
+package com.enrollment.system.perf.load;
+
+import com.enrollment.system.perf.PerfApplication;
+import com.enrollment.system.perf.PerfDataSeeder;
+import com.enrollment.system.perf.PerfDataset;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Replays the minute registration opens against the real application over HTTP.
+ *
+ * The application is booted on a random port against embedded H2 and seeded with
+ * PerfDataSeeder. A fixed number of clients then send requests back to back without
+ * think time, each picking an operation from the weighted mix. Students are drawn
+ * uniformly and courses from a Zipf distribution over the regular catalog, so the
+ * introductory courses without prerequisites take most of the traffic and fill up
+ * while the run is going. Drops release seeded or freshly made enrollments, which
+ * keeps seats in the hot courses changing hands.
+ *
+ * Per endpoint the report lists throughput, p50/p99/p999 latency and the outcome of
+ * every response: ok, the error message of a rejection, or the first failure reason
+ * of an ineligible eligibility check. Once the clients stop, every course is checked
+ * against its capacity; the process exits with status 1 if any check fails.
+ */
+public final class RegistrationRush {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
+    private final LoadTestOptions options;
+    private final PerfDataset dataset;
+    private final String baseUrl;
+    private final HttpClient httpClient;
+    private final ZipfDistribution coursePopularity;
+    private final Operation[] operationByTicket;
+    private final Queue<String[]> droppableEnrollments;
+
+    private RegistrationRush(LoadTestOptions options, PerfDataset dataset, String baseUrl,
+                             Queue<String[]> droppableEnrollments) {
+        this.options = options;
+        this.dataset = dataset;
+        this.baseUrl = baseUrl;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        this.coursePopularity = new ZipfDistribution(dataset.getCourseCodes().length, options.zipfExponent);
+        this.operationByTicket = ticketsFor(options.mix);
+        this.droppableEnrollments = droppableEnrollments;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        ConfigurableApplicationContext context = PerfApplication.start(WebApplicationType.SERVLET, "--server.port=0");
+        boolean passed;
+        try {
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            PerfDataset dataset = new PerfDataSeeder(jdbcTemplate)
+                    .seed(options.students, options.courses, options.openCourses, options.coursesPerStudent);
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                    + context.getEnvironment().getProperty("server.servlet.context-path", "");
+
+            RegistrationRush rush = new RegistrationRush(options, dataset, baseUrl, seededEnrollments(jdbcTemplate));
+            rush.enableHotCourses();
+            Map<Operation, EndpointStats> stats = rush.run();
+
+            StringBuilder report = new StringBuilder();
+            rush.describeRun(report);
+            describeEndpoints(report, stats, options.durationSeconds);
+            passed = new CapacityCheck(jdbcTemplate).run(report);
+
+            System.out.print(report);
+            Path reportPath = Path.of(options.report);
+            if (reportPath.getParent() != null) {
+                Files.createDirectories(reportPath.getParent());
+            }
+            Files.writeString(reportPath, report);
+        } finally {
+            context.close();
+        }
+        System.exit(passed ? 0 : 1);
+    }
+
+    private Map<Operation, EndpointStats> run() throws Exception {
+        long start = System.nanoTime();
+        long measureFrom = start + options.warmupSeconds * 1_000_000_000L;
+        long end = measureFrom + options.durationSeconds * 1_000_000_000L;
+
+        ExecutorService executor = Executors.newFixedThreadPool(options.clients);
+        List<Future<Map<Operation, EndpointStats>>> clients = new ArrayList<>();
+        try {
+            for (int i = 0; i < options.clients; i++) {
+                clients.add(executor.submit(() -> runClient(measureFrom, end)));
+            }
+            Map<Operation, EndpointStats> merged = new EnumMap<>(Operation.class);
+            for (Future<Map<Operation, EndpointStats>> client : clients) {
+                client.get().forEach((operation, stats) ->
+                        merged.computeIfAbsent(operation, key -> new EndpointStats()).mergeFrom(stats));
+            }
+            merged.values().forEach(EndpointStats::seal);
+            return merged;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Map<Operation, EndpointStats> runClient(long measureFrom, long end) {
+        Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+        while (true) {
+            Operation operation = operationByTicket[ThreadLocalRandom.current().nextInt(operationByTicket.length)];
+            long started = System.nanoTime();
+            if (started >= end) {
+                return stats;
+            }
+            String outcome = execute(operation);
+            if (started >= measureFrom) {
+                long latencyMicros = (System.nanoTime() - started) / 1000;
+                stats.computeIfAbsent(operation, key -> new EndpointStats()).record(latencyMicros, outcome);
+            }
+        }
+    }
+
+    private String execute(Operation operation) {
+        String studentId = randomStudentCode();
+        String courseCode = popularCourseCode();
+        try {
+            switch (operation) {
+                case CATALOG_PAGE:
+                    return outcomeOf(get("/courses/page?limit=20"));
+                case COURSE_DETAIL:
+                    return outcomeOf(get("/courses/code/" + encode(courseCode)));
+                case AVAILABLE_COURSES:
+                    return outcomeOf(get("/courses/available/student/" + dataset.getStudentIds()[dataset.randomStudent()]));
+                case ELIGIBILITY:
+                    return eligibilityOutcomeOf(get("/enrollments/eligibility?studentId=" + encode(studentId)
+                            + "&courseCode=" + encode(courseCode)));
+                case ENROLL:
+                    HttpResponse<String> enrolled = post("/enrollments/enroll", studentId, courseCode);
+                    if (enrolled.statusCode() == 201) {
+                        droppableEnrollments.add(new String[]{studentId, courseCode});
+                    }
+                    return outcomeOf(enrolled);
+                case DROP:
+                    // Without anything left to drop the request is still sent and reported as a rejection
+                    String[] enrollment = droppableEnrollments.poll();
+                    return enrollment != null
+                            ? outcomeOf(post("/enrollments/drop", enrollment[0], enrollment[1]))
+                            : outcomeOf(post("/enrollments/drop", studentId, courseCode));
+                default:
+                    throw new IllegalStateException("Unhandled operation " + operation);
+            }
+        } catch (IOException ex) {
+            return "transport error: " + ex.getClass().getSimpleName();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return "interrupted";
+        }
+    }
+
+    // Registers the most popular courses with the in-memory seat pool, as an operator would before the rush
+    private void enableHotCourses() throws IOException, InterruptedException {
+        for (int rank = 0; rank < Math.min(options.hotCourses, dataset.getCourseCodes().length); rank++) {
+            HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/enrollments/hot-courses/"
+                    + encode(dataset.getCourseCodes()[rank]))).POST(HttpRequest.BodyPublishers.noBody()));
+            if (response.statusCode() / 100 != 2) {
+                throw new IllegalStateException("Could not enable hot course " + dataset.getCourseCodes()[rank]
+                        + ": " + response.body());
+            }
+        }
+    }
+
+    private void describeRun(StringBuilder report) {
+        int courseCount = dataset.getCourseCodes().length;
+        report.append(String.format("Registration rush: %d clients, %d s measured after %d s warmup%n",
+                options.clients, options.durationSeconds, options.warmupSeconds));
+        report.append(String.format("Data: %d students, %d courses, %d open courses, %d seeded courses per student%n",
+                options.students, courseCount, options.openCourses, options.coursesPerStudent));
+        report.append(String.format("Course popularity: Zipf s=%.2f, top 10 courses take %.0f%% of course picks;"
+                        + " %d hot courses; mix %s%n%n",
+                options.zipfExponent, 100 * coursePopularity.headShare(10), options.hotCourses, options.mix));
+    }
+
+    private static void describeEndpoints(StringBuilder report, Map<Operation, EndpointStats> stats, int seconds) {
+        report.append(String.format("%-38s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+        long total = 0;
+        for (Map.Entry<Operation, EndpointStats> entry : stats.entrySet()) {
+            EndpointStats endpoint = entry.getValue();
+            total += endpoint.getCount();
+            report.append(String.format("%-38s %9d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    entry.getKey().getEndpoint(),
+                    endpoint.getCount(),
+                    endpoint.getCount() / (double) seconds,
+                    endpoint.percentileMillis(0.50),
+                    endpoint.percentileMillis(0.99),
+                    endpoint.percentileMillis(0.999),
+                    endpoint.maxMillis()));
+            endpoint.getOutcomes().forEach((outcome, count) ->
+                    report.append(String.format("    %-60s %9d %5.1f%%%n",
+                            outcome, count, 100.0 * count / endpoint.getCount())));
+        }
+        report.append(String.format("%-38s %9d %9.1f%n%n", "total", total, total / (double) seconds));
+    }
+
+    // Helper method to turn a response into its outcome label; rejections are labelled with their error message
+    private static String outcomeOf(HttpResponse<String> response) {
+        if (response.statusCode() / 100 == 2) {
+            return "ok";
+        }
+        String message = response.body();
+        try {
+            JsonNode body = JSON.readTree(response.body());
+            if (body.hasNonNull("message")) {
+                message = body.get("message").asText();
+            }
+        } catch (IOException ex) {
+            // Not JSON; keep the raw body
+        }
+        if (message.length() > 80) {
+            message = message.substring(0, 80);
+        }
+        return response.statusCode() + " " + message;
+    }
+
+    private static String eligibilityOutcomeOf(HttpResponse<String> response) throws IOException {
+        if (response.statusCode() != 200) {
+            return outcomeOf(response);
+        }
+        JsonNode body = JSON.readTree(response.body());
+        if (body.path("eligible").asBoolean()) {
+            return "ok: eligible";
+        }
+        return "ok: ineligible, " + body.path("failures").path(0).path("reason").asText();
+    }
+
+    private HttpResponse<String> get(String path) throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(uri(path)).GET());
+    }
+
+    private HttpResponse<String> post(String path, String studentId, String courseCode)
+            throws IOException, InterruptedException {
+        String body = JSON.writeValueAsString(Map.of("studentId", studentId, "courseCode", courseCode));
+        return send(HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)));
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return httpClient.send(request.timeout(REQUEST_TIMEOUT).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    private String randomStudentCode() {
+        return dataset.getStudentCodes()[dataset.randomStudent()];
+    }
+
+    private String popularCourseCode() {
+        return dataset.getCourseCodes()[coursePopularity.sample()];
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    // One slot per unit of weight, so picking an operation is a single random index
+    private static Operation[] ticketsFor(Map<Operation, Integer> mix) {
+        List<Operation> tickets = new ArrayList<>();
+        mix.forEach((operation, weight) -> tickets.addAll(Collections.nCopies(weight, operation)));
+        if (tickets.isEmpty()) {
+            throw new IllegalArgumentException("The operation mix needs at least one positive weight");
+        }
+        return tickets.toArray(new Operation[0]);
+    }
+
+    // Seeded enrollments in regular courses, shuffled, so drops free seats all over the catalog
+    private static Queue<String[]> seededEnrollments(JdbcTemplate jdbcTemplate) {
+        List<String[]> enrollments = jdbcTemplate.query(
+                "SELECT s.student_id, c.course_code FROM enrollments e "
+                        + "JOIN students s ON s.id = e.student_id JOIN courses c ON c.id = e.course_id "
+                        + "WHERE e.status = 'ENROLLED' AND c.course_code <> ?",
+                (row, rowNum) -> new String[]{row.getString(1), row.getString(2)},
+                PerfDataSeeder.CORE_COURSE);
+        Collections.shuffle(enrollments, new Random(42));
+        return new ConcurrentLinkedQueue<>(enrollments);
+    }
+}
@@ -0,0 +1,153 @@
+package com.enrollment.system.perf.replica;
+
+import com.enrollment.system.config.ReadWriteRouting;
+import com.enrollment.system.dto.CourseDTO;
+import com.enrollment.system.dto.EnrollmentDTO;
+import com.enrollment.system.dto.StudentDTO;
+import com.enrollment.system.perf.PerfApplication;
+import com.enrollment.system.perf.PerfDataSeeder;
+import com.enrollment.system.perf.PerfDataset;
+import com.enrollment.system.service.CourseService;
+import com.enrollment.system.service.EnrollmentService;
+import com.enrollment.system.service.StudentService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Objects;
+
+/**
+ * Checks read/write routing against two embedded H2 databases.
+ *
+ * The application starts with a primary and a replica database. After seeding, the
+ * primary is copied to the replica once and never again, so the replica behaves like
+ * one whose replication stopped: anything written afterwards exists only on the primary.
+ * Writes must land on the primary, read-only service methods must answer from the
+ * replica, and reads pinned to the primary, as after a client's own write, must see
+ * the new rows. Any mismatch fails the run.
+ */
+public final class ReplicaRoutingCheck {
+
+    private static final String H2_OPTIONS = ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    private static final String REPLICA_URL = "jdbc:h2:mem:rwreplica" + H2_OPTIONS;
+
+    private int failures;
+
+    private ReplicaRoutingCheck() {
+    }
+
+    public static void main(String[] args) throws IOException, SQLException {
+        ConfigurableApplicationContext context = PerfApplication.start(WebApplicationType.NONE,
+                "--spring.datasource.url=jdbc:h2:mem:rwprimary" + H2_OPTIONS,
+                "--enrollment.datasource.replica.jdbc-url=" + REPLICA_URL,
+                "--enrollment.datasource.replica.driver-class-name=org.h2.Driver",
+                "--enrollment.datasource.replica.username=sa");
+        ReplicaRoutingCheck check = new ReplicaRoutingCheck();
+        try {
+            check.run(context);
+        } finally {
+            context.close();
+        }
+        if (check.failures > 0) {
+            System.out.println(check.failures + " routing checks failed");
+            System.exit(1);
+        }
+        System.out.println("PASSED");
+    }
+
+    private void run(ConfigurableApplicationContext context) throws IOException, SQLException {
+        JdbcTemplate primary = new JdbcTemplate(context.getBean("primaryDataSource", DataSource.class));
+        JdbcTemplate replica = new JdbcTemplate(context.getBean("replicaDataSource", DataSource.class));
+        StudentService studentService = context.getBean(StudentService.class);
+        CourseService courseService = context.getBean(CourseService.class);
+        EnrollmentService enrollmentService = context.getBean(EnrollmentService.class);
+
+        PerfDataset dataset = new PerfDataSeeder(primary).seed(100, 20, 4, 2);
+        copyToReplica(primary);
+
+        StudentDTO student = new StudentDTO();
+        student.setStudentId("RW0001");
+        student.setFirstName("Read");
+        student.setLastName("Write");
+        student.setEmail("rw0001@perf.example.com");
+        student.setPhoneNumber("5550000001");
+        studentService.createStudent(student);
+        String[] pair = dataset.freshEnrollment(0);
+        EnrollmentDTO enrollment = enrollmentService.enrollStudentInCourse(pair[0], pair[1]);
+
+        System.out.printf("%-56s %-12s %-12s %s%n", "check", "expected", "actual", "result");
+        expect("student created on the primary", 1,
+                count(primary, "SELECT COUNT(*) FROM students WHERE student_id = 'RW0001'"));
+        expect("student not on the replica", 0,
+                count(replica, "SELECT COUNT(*) FROM students WHERE student_id = 'RW0001'"));
+        expect("enrollment created on the primary", 1,
+                count(primary, "SELECT COUNT(*) FROM enrollments WHERE id = " + enrollment.getId()));
+
+        int replicaStudents = count(replica, "SELECT COUNT(*) FROM students");
+        int primaryStudents = count(primary, "SELECT COUNT(*) FROM students");
+        expect("read-only getAllStudents reads the replica", replicaStudents,
+                studentService.getAllStudents().size());
+        expect("pinned getAllStudents reads the primary", primaryStudents,
+                ReadWriteRouting.onPrimary(() -> studentService.getAllStudents()).size());
+
+        Long courseId = courseIdOf(primary, pair[1]);
+        String enrolledSql = "SELECT COUNT(*) FROM enrollments WHERE status = 'ENROLLED' AND course_id = " + courseId;
+        expect("read-only getCourseById reads the replica", count(replica, enrolledSql),
+                courseService.getCourseById(courseId).getCurrentEnrollment());
+        CourseDTO pinned = ReadWriteRouting.onPrimary(() -> courseService.getCourseById(courseId));
+        expect("pinned getCourseById reads the primary", count(primary, enrolledSql), pinned.getCurrentEnrollment());
+
+        String courseEnrollmentsSql = "SELECT COUNT(*) FROM enrollments WHERE course_id = " + courseId;
+        expect("read-only getEnrollmentsByCourseId reads the replica", count(replica, courseEnrollmentsSql),
+                enrollmentService.getEnrollmentsByCourseId(courseId).size());
+
+        // The catalog cache fills from the primary even inside a read-only call bound to the replica
+        CourseDTO course = new CourseDTO();
+        course.setCourseCode("RW101");
+        course.setName("Routing");
+        course.setDescription("Created after the replica copy");
+        course.setCreditHours(3);
+        course.setMaxCapacity(10);
+        courseService.createCourse(course);
+        expect("read-only getCourseByCourseCode caches from the primary", 10,
+                courseService.getCourseByCourseCode("RW101").getMaxCapacity());
+    }
+
+    // Stands in for replication: one snapshot of the primary, taken through a separate writable connection
+    private static void copyToReplica(JdbcTemplate primary) throws IOException, SQLException {
+        Path script = Files.createTempFile("replica", ".sql");
+        try {
+            primary.execute("SCRIPT TO '" + script + "'");
+            try (Connection connection = DriverManager.getConnection(REPLICA_URL, "sa", "");
+                 Statement statement = connection.createStatement()) {
+                statement.execute("RUNSCRIPT FROM '" + script + "'");
+            }
+        } finally {
+            Files.deleteIfExists(script);
+        }
+    }
+
+    private void expect(String check, int expected, int actual) {
+        boolean ok = expected == actual;
+        if (!ok) {
+            failures++;
+        }
+        System.out.printf("%-56s %-12d %-12d %s%n", check, expected, actual, ok ? "ok" : "FAILED");
+    }
+
+    private static int count(JdbcTemplate jdbcTemplate, String sql) {
+        return Objects.requireNonNull(jdbcTemplate.queryForObject(sql, Integer.class));
+    }
+
+    private static Long courseIdOf(JdbcTemplate jdbcTemplate, String courseCode) {
+        return jdbcTemplate.queryForObject("SELECT id FROM courses WHERE course_code = ?", Long.class, courseCode);
+    }
+}
@@ -0,0 +1,43 @@
+package com.enrollment.system.service;
+
+import com.enrollment.system.dto.CourseDTO;
+import com.enrollment.system.dto.StudentDTO;
+
+import java.util.Set;
+
+/**
+ * Builds the students and courses service tests create. The email is derived from the
+ * student ID, so tests that keep their IDs unique keep their emails unique as well.
+ */
+public final class ServiceFixtures {
+
+    private ServiceFixtures() {
+    }
+
+    public static StudentDTO student(String studentId) {
+        StudentDTO student = new StudentDTO();
+        student.setStudentId(studentId);
+        student.setFirstName("First");
+        student.setLastName("Last");
+        student.setEmail(studentId.toLowerCase() + "@example.com");
+        student.setPhoneNumber("1234567890");
+        return student;
+    }
+
+    public static CourseDTO course(String courseCode, int maxCapacity) {
+        CourseDTO course = new CourseDTO();
+        course.setCourseCode(courseCode);
+        course.setName("Course " + courseCode);
+        course.setDescription("Description of " + courseCode);
+        course.setCreditHours(3);
+        course.setMaxCapacity(maxCapacity);
+        return course;
+    }
+
+    // Helper method for a course that requires one other course, or none when the code is null
+    public static CourseDTO course(String courseCode, int maxCapacity, String prerequisiteCode) {
+        CourseDTO course = course(courseCode, maxCapacity);
+        course.setPrerequisiteCodes(prerequisiteCode == null ? Set.of() : Set.of(prerequisiteCode));
+        return course;
+    }
+}
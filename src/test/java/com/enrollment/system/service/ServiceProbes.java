@@ -0,0 +1,240 @@
+package com.enrollment.system.service;
+
+import com.enrollment.system.dto.BatchEnrollmentItemDTO;
+import com.enrollment.system.dto.ScheduleDTO;
+import com.enrollment.system.dto.StudentDTO;
+import com.enrollment.system.model.Enrollment.EnrollmentStatus;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.enrollment.system.service.ServiceFixtures.course;
+import static com.enrollment.system.service.ServiceFixtures.student;
+
+/**
+ * Seeds one data set through the services and lists one call of every public method of
+ * the student, course, enrollment, schedule and batch enrollment services against it.
+ *
+ * Every student is enrolled in the core course and in the first few regular courses,
+ * each of which requires the one before it. Open courses require only the core course
+ * and meet on Saturday, so any student can join them. Reads are called twice and
+ * measured on the second call, so lazily loaded caches do not count; writes are measured
+ * once, in an order that leaves the data as it was apart from the probe enrollments.
+ * The arguments are chosen so result sizes grow with the data set.
+ */
+final class ServiceProbes {
+
+    static final String SEMESTER = "Fall 2024";
+
+    interface Call {
+        Object run();
+    }
+
+    static final class Probe {
+        final String name;
+        final boolean read;
+        final Call call;
+
+        private Probe(String name, boolean read, Call call) {
+            this.name = name;
+            this.read = read;
+            this.call = call;
+        }
+    }
+
+    private final List<Probe> probes = new ArrayList<>();
+    private final StudentService studentService;
+    private final CourseService courseService;
+    private final EnrollmentService enrollmentService;
+    private final ScheduleService scheduleService;
+    private final BulkEnrollmentService bulkEnrollmentService;
+    private final JdbcTemplate jdbcTemplate;
+
+    ServiceProbes(ApplicationContext context, String prefix, int studentCount, int courseCount, int coursesPerStudent) {
+        this.studentService = context.getBean(StudentService.class);
+        this.courseService = context.getBean(CourseService.class);
+        this.enrollmentService = context.getBean(EnrollmentService.class);
+        this.scheduleService = context.getBean(ScheduleService.class);
+        this.bulkEnrollmentService = context.getBean(BulkEnrollmentService.class);
+        this.jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        String coreCourse = prefix + "100";
+        Long coreCourseId = createCourse(coreCourse, studentCount + 10, null, DayOfWeek.MONDAY, LocalTime.of(8, 0));
+        String[] courseCodes = new String[courseCount];
+        Long[] courseIds = new Long[courseCount];
+        for (int i = 0; i < courseCount; i++) {
+            courseCodes[i] = prefix + (101 + i);
+            // One distinct weekday hour per course, so no two of them conflict
+            DayOfWeek day = DayOfWeek.of(1 + (i + 1) % 5);
+            LocalTime start = LocalTime.of(9 + (i + 1) / 5, 0);
+            courseIds[i] = createCourse(courseCodes[i], 100, i == 0 ? coreCourse : courseCodes[i - 1], day, start);
+        }
+        String openCourse = prefix + "900";
+        String waitlistCourse = prefix + "901";
+        String batchCourse = prefix + "902";
+        createCourse(openCourse, 1000, coreCourse, DayOfWeek.SATURDAY, LocalTime.of(9, 0));
+        createCourse(waitlistCourse, 1000, coreCourse, DayOfWeek.SATURDAY, LocalTime.of(10, 0));
+        createCourse(batchCourse, 1000, coreCourse, DayOfWeek.SATURDAY, LocalTime.of(11, 0));
+
+        String[] studentCodes = new String[studentCount];
+        for (int i = 0; i < studentCount; i++) {
+            studentCodes[i] = String.format("%s%04d", prefix, i + 1);
+            studentService.createStudent(newStudent(studentCodes[i], "Student" + i));
+            enrollmentService.enrollStudentInCourse(studentCodes[i], coreCourse);
+            for (int k = 0; k < coursesPerStudent; k++) {
+                enrollmentService.enrollStudentInCourse(studentCodes[i], courseCodes[k]);
+            }
+        }
+        // Queued behind a seat that is still open, so the position lookup has a line to read
+        jdbcTemplate.update("INSERT INTO enrollments (student_id, course_id, term_id, enrollment_date, status) "
+                + "SELECT s.id, c.id, t.id, CURRENT_TIMESTAMP, 'WAITLISTED' FROM students s, courses c, terms t "
+                + "WHERE s.student_id = ? AND c.course_code = ? AND t.name = ?",
+                studentCodes[1], waitlistCourse, SEMESTER);
+
+        String studentCode = studentCodes[0];
+        Long studentId = studentService.getStudentByStudentId(studentCode).getId();
+        // The last regular course has the longest prerequisite chain
+        String courseCode = courseCodes[courseCount - 1];
+        Long courseId = courseIds[courseCount - 1];
+        Long scheduleId = scheduleService.getSchedulesByCourseId(coreCourseId).get(0).getId();
+        Long enrollmentId = enrollmentService.getEnrollmentsByStudentId(studentId).get(0).getId();
+        List<BatchEnrollmentItemDTO> batch = Arrays.stream(studentCodes)
+                .map(code -> new BatchEnrollmentItemDTO(code, batchCourse))
+                .collect(Collectors.toList());
+
+        read("StudentService.getAllStudents", studentService::getAllStudents);
+        read("StudentService.getStudentsPage", () -> studentService.getStudentsPage(null, 20));
+        read("StudentService.getStudentById", () -> studentService.getStudentById(studentId));
+        read("StudentService.getStudentByStudentId", () -> studentService.getStudentByStudentId(studentCode));
+        read("StudentService.searchStudents", () -> studentService.searchStudents("first", null));
+
+        read("CourseService.getAllCourses", courseService::getAllCourses);
+        read("CourseService.getCoursesPage", () -> courseService.getCoursesPage(null, 20));
+        read("CourseService.getCourseById", () -> courseService.getCourseById(courseId));
+        read("CourseService.getCourseByCourseCode", () -> courseService.getCourseByCourseCode(courseCode));
+        read("CourseService.searchCourses", () -> courseService.searchCourses("course", null, SEMESTER, true, 20));
+        read("CourseService.getEnrolledCoursesByStudentId", () -> courseService.getEnrolledCoursesByStudentId(studentId));
+        read("CourseService.getEnrolledCoursesPageByStudentId",
+                () -> courseService.getEnrolledCoursesPageByStudentId(studentId, null, 20));
+        read("CourseService.getAvailableCoursesByStudentId", () -> courseService.getAvailableCoursesByStudentId(studentId));
+        read("CourseService.getAvailableCoursesPageByStudentId",
+                () -> courseService.getAvailableCoursesPageByStudentId(studentId, null, 20));
+        read("CourseService.getCourseCapacities", () -> courseService.getCourseCapacities(Arrays.asList(courseCodes)));
+        read("CourseService.getPrerequisiteClosure", () -> courseService.getPrerequisiteClosure(courseCode));
+        read("CourseService.getCatalogCacheStats", courseService::getCatalogCacheStats);
+
+        read("EnrollmentService.getAllEnrollments", enrollmentService::getAllEnrollments);
+        read("EnrollmentService.getEnrollmentsPage",
+                () -> enrollmentService.getEnrollmentsPage(null, 20, EnrollmentStatus.ENROLLED, SEMESTER));
+        read("EnrollmentService.getEnrollmentById", () -> enrollmentService.getEnrollmentById(enrollmentId));
+        read("EnrollmentService.getEnrollmentsByStudentId", () -> enrollmentService.getEnrollmentsByStudentId(studentId));
+        read("EnrollmentService.getEnrollmentsByCourseId", () -> enrollmentService.getEnrollmentsByCourseId(coreCourseId));
+        read("EnrollmentService.getEnrollmentsPageByStudentId",
+                () -> enrollmentService.getEnrollmentsPageByStudentId(studentId, null, 20, null));
+        read("EnrollmentService.getEnrollmentsPageByCourseId",
+                () -> enrollmentService.getEnrollmentsPageByCourseId(coreCourseId, null, 20, null));
+        read("EnrollmentService.checkEligibility", () -> enrollmentService.checkEligibility(studentCode, courseCode));
+        read("EnrollmentService.checkPrerequisites", () -> enrollmentService.checkPrerequisites(studentCode, courseCode));
+        read("EnrollmentService.checkTimeConflict",
+                () -> enrollmentService.checkTimeConflict(studentCode, courseCode, SEMESTER));
+        read("EnrollmentService.checkCourseCapacity", () -> enrollmentService.checkCourseCapacity(courseCode));
+        read("EnrollmentService.getWaitlistPosition",
+                () -> enrollmentService.getWaitlistPosition(studentCodes[1], waitlistCourse));
+
+        read("ScheduleService.getAllSchedules", scheduleService::getAllSchedules);
+        read("ScheduleService.getSchedulesPage", () -> scheduleService.getSchedulesPage(null, 20, SEMESTER));
+        read("ScheduleService.getScheduleById", () -> scheduleService.getScheduleById(scheduleId));
+        read("ScheduleService.getSchedulesByCourseId", () -> scheduleService.getSchedulesByCourseId(coreCourseId));
+        read("ScheduleService.getSchedulesPageByCourseId",
+                () -> scheduleService.getSchedulesPageByCourseId(coreCourseId, null, 20));
+        read("ScheduleService.getSchedulesBySemester", () -> scheduleService.getSchedulesBySemester(SEMESTER));
+        read("ScheduleService.getStudentSchedule", () -> scheduleService.getStudentSchedule(studentCode, SEMESTER));
+        read("ScheduleService.getStudentSchedulePage",
+                () -> scheduleService.getStudentSchedulePage(studentCode, SEMESTER, null, 20));
+
+        write("EnrollmentService.enrollStudentInCourse",
+                () -> enrollmentService.enrollStudentInCourse(studentCode, openCourse));
+        write("EnrollmentService.dropCourse", () -> enrollmentService.dropCourse(studentCode, openCourse));
+        write("BulkEnrollmentService.enrollBatch", () -> bulkEnrollmentService.enrollBatch(batch));
+        write("EnrollmentService.enableHotCourse", () -> {
+            enrollmentService.enableHotCourse(courseCode);
+            return null;
+        });
+        write("EnrollmentService.getHotCourses", enrollmentService::getHotCourses);
+        write("EnrollmentService.disableHotCourse", () -> {
+            enrollmentService.disableHotCourse(courseCode);
+            return null;
+        });
+
+        String probeStudent = prefix + "9999";
+        String probeCourse = prefix + "999";
+        Long[] created = new Long[3];
+        write("StudentService.createStudent",
+                () -> created[0] = studentService.createStudent(newStudent(probeStudent, "Probe")).getId());
+        write("StudentService.updateStudent",
+                () -> studentService.updateStudent(created[0], newStudent(probeStudent, "Renamed")));
+        write("StudentService.deleteStudent", () -> {
+            studentService.deleteStudent(created[0]);
+            return null;
+        });
+        write("CourseService.createCourse",
+                () -> created[1] = courseService.createCourse(course(probeCourse, 30, coreCourse)).getId());
+        write("CourseService.updateCourse",
+                () -> courseService.updateCourse(created[1], course(probeCourse, 40, coreCourse)));
+        write("CourseService.addPrerequisite", () -> {
+            courseService.addPrerequisite(probeCourse, courseCode);
+            return null;
+        });
+        write("CourseService.removePrerequisite", () -> {
+            courseService.removePrerequisite(probeCourse, courseCode);
+            return null;
+        });
+        write("ScheduleService.createSchedule", () -> created[2] = scheduleService.createSchedule(
+                newSchedule(probeCourse, DayOfWeek.SUNDAY, LocalTime.of(20, 0))).getId());
+        write("ScheduleService.updateSchedule", () -> scheduleService.updateSchedule(created[2],
+                newSchedule(probeCourse, DayOfWeek.SUNDAY, LocalTime.of(21, 0))));
+        write("ScheduleService.deleteSchedule", () -> {
+            scheduleService.deleteSchedule(created[2]);
+            return null;
+        });
+        write("CourseService.deleteCourse", () -> {
+            courseService.deleteCourse(created[1]);
+            return null;
+        });
+    }
+
+    List<Probe> getProbes() {
+        return probes;
+    }
+
+    private void read(String name, Call call) {
+        probes.add(new Probe(name, true, call));
+    }
+
+    private void write(String name, Call call) {
+        probes.add(new Probe(name, false, call));
+    }
+
+    // Helper method to create a course with a single weekly meeting
+    private Long createCourse(String courseCode, int maxCapacity, String prerequisiteCode, DayOfWeek day, LocalTime start) {
+        Long id = courseService.createCourse(course(courseCode, maxCapacity, prerequisiteCode)).getId();
+        scheduleService.createSchedule(newSchedule(courseCode, day, start));
+        return id;
+    }
+
+    private static StudentDTO newStudent(String studentId, String lastName) {
+        StudentDTO student = student(studentId);
+        student.setLastName(lastName);
+        return student;
+    }
+
+    private static ScheduleDTO newSchedule(String courseCode, DayOfWeek day, LocalTime start) {
+        return new ScheduleDTO(null, courseCode, day, start, start.plusMinutes(50), "R" + start.getHour(), SEMESTER);
+    }
+}
@@ -0,0 +1,149 @@
+package com.enrollment.system.service;
+
+import com.enrollment.system.service.metrics.QueryCount;
+import com.enrollment.system.service.metrics.StatementCountingDataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Guards the number of SQL statements every service method issues, counted at the
+ * DataSource so JdbcTemplate statements count as well as JPA ones.
+ *
+ * Each probe runs against a small data set and then against a second one with twice as
+ * many students and courses and twice the enrollments per student, inside one transaction
+ * the way a request would run it. A method whose count differs between the two issues
+ * queries per row; one whose count differs from EXPECTED changed its query pattern. If a
+ * change means to alter a count, update EXPECTED with it.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:querycount;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("test")
+class ServiceQueryCountTest {
+
+    // Statements per call, as QueryCount prints them
+    private static final Map<String, String> EXPECTED = Map.ofEntries(
+            Map.entry("StudentService.getAllStudents", "select=1 insert=0 update=0 delete=0 other=0"),
+            Map.entry("StudentService.getStudentsPage", "select=1 insert=0 update=0 delete=0 other=0"),
+            Map.entry("StudentService.getStudentById", "select=1 insert=0 update=0 delete=0 other=0"),
+            Map.entry("StudentService.getStudentByStudentId", "select=1 insert=0 update=0 delete=0 other=0"),
+            Map.entry("StudentService.searchStudents", "select=0 insert=0 update=0 delete=0 other=0"),
+            Map.entry("CourseService.getAllCourses", "select=2 insert=0 update=0 delete=0 other=0"),
+            Map.entry("CourseService.getCoursesPage", "select=2 insert=0 update=0 delete=0 other=0"),
+            Map.entry("CourseService.getCourseById", "select=2 insert=0 update=0 delete=0 other=0"),
+            Map.entry("CourseService.getCourseByCourseCode", "select=1 insert=0 update=0 delete=0 other=0"),
+            Map.entry("CourseService.searchCourses", "select=1 insert=0 update=0 delete=0 other=0"),
+            Map.entry("CourseService.getEnrolledCoursesByStudentId", "select=2 insert=0 update=0 delete=0 other=0"),
+            Map.entry("CourseService.getEnrolledCoursesPageByStudentId", "select=2 insert=0 update=0 delete=0 other=0"),
+            Map.entry("CourseService.getAvailableCoursesByStudentId", "select=2 insert=0 update=0 delete=0 other=0"),
+            Map.entry("CourseService.getAvailableCoursesPageByStudentId", "select=2 insert=0 update=0 delete=0 other=0"),
+            Map.entry("CourseService.getCourseCapacities", "select=1 insert=0 update=0 delete=0 other=0"),
+            Map.entry("CourseService.getPrerequisiteClosure", "select=0 insert=0 update=0 delete=0 other=0"),
+            Map.entry("CourseService.getCatalogCacheStats", "select=0 insert=0 update=0 delete=0 other=0"),
+            Map.entry("EnrollmentService.getAllEnrollments", "select=1 insert=0 update=0 delete=0 other=0"),
+            Map.entry("EnrollmentService.getEnrollmentsPage", "select=1 insert=0 update=0 delete=0 other=0"),
+            Map.entry("EnrollmentService.getEnrollmentById", "select=1 insert=0 update=0 delete=0 other=0"),
+            Map.entry("EnrollmentService.getEnrollmentsByStudentId", "select=1 insert=0 update=0 delete=0 other=0"),
+            Map.entry("EnrollmentService.getEnrollmentsByCourseId", "select=1 insert=0 update=0 delete=0 other=0"),
+            Map.entry("EnrollmentService.getEnrollmentsPageByStudentId", "select=1 insert=0 update=0 delete=0 other=0"),
+            Map.entry("EnrollmentService.getEnrollmentsPageByCourseId", "select=1 insert=0 update=0 delete=0 other=0"),
+            Map.entry("EnrollmentService.checkEligibility", "select=5 insert=0 update=0 delete=0 other=0"),
+            Map.entry("EnrollmentService.checkPrerequisites", "select=3 insert=0 update=0 delete=0 other=0"),
+            Map.entry("EnrollmentService.checkTimeConflict", "select=1 insert=0 update=0 delete=0 other=0"),
+            Map.entry("EnrollmentService.checkCourseCapacity", "select=1 insert=0 update=0 delete=0 other=0"),
+            Map.entry("EnrollmentService.getWaitlistPosition", "select=3 insert=0 update=0 delete=0 other=0"),
+            Map.entry("ScheduleService.getAllSchedules", "select=1 insert=0 update=0 delete=0 other=0"),
+            Map.entry("ScheduleService.getSchedulesPage", "select=1 insert=0 update=0 delete=0 other=0"),
+            Map.entry("ScheduleService.getScheduleById", "select=1 insert=0 update=0 delete=0 other=0"),
+            Map.entry("ScheduleService.getSchedulesByCourseId", "select=1 insert=0 update=0 delete=0 other=0"),
+            Map.entry("ScheduleService.getSchedulesPageByCourseId", "select=1 insert=0 update=0 delete=0 other=0"),
+            Map.entry("ScheduleService.getSchedulesBySemester", "select=1 insert=0 update=0 delete=0 other=0"),
+            Map.entry("ScheduleService.getStudentSchedule", "select=2 insert=0 update=0 delete=0 other=0"),
+            Map.entry("ScheduleService.getStudentSchedulePage", "select=2 insert=0 update=0 delete=0 other=0"),
+            Map.entry("EnrollmentService.enrollStudentInCourse", "select=5 insert=1 update=1 delete=0 other=0"),
+            Map.entry("EnrollmentService.dropCourse", "select=3 insert=0 update=2 delete=0 other=0"),
+            Map.entry("BulkEnrollmentService.enrollBatch", "select=7 insert=1 update=1 delete=0 other=0"),
+            Map.entry("EnrollmentService.enableHotCourse", "select=1 insert=0 update=0 delete=0 other=0"),
+            Map.entry("EnrollmentService.getHotCourses", "select=0 insert=0 update=0 delete=0 other=0"),
+            Map.entry("EnrollmentService.disableHotCourse", "select=0 insert=0 update=0 delete=0 other=0"),
+            Map.entry("StudentService.createStudent", "select=2 insert=1 update=0 delete=0 other=0"),
+            Map.entry("StudentService.updateStudent", "select=1 insert=0 update=1 delete=0 other=0"),
+            Map.entry("StudentService.deleteStudent", "select=4 insert=0 update=1 delete=2 other=0"),
+            Map.entry("CourseService.createCourse", "select=5 insert=2 update=0 delete=0 other=0"),
+            Map.entry("CourseService.updateCourse", "select=4 insert=0 update=1 delete=0 other=0"),
+            Map.entry("CourseService.addPrerequisite", "select=6 insert=1 update=0 delete=0 other=0"),
+            Map.entry("CourseService.removePrerequisite", "select=4 insert=0 update=0 delete=1 other=0"),
+            Map.entry("ScheduleService.createSchedule", "select=3 insert=1 update=0 delete=0 other=0"),
+            Map.entry("ScheduleService.updateSchedule", "select=4 insert=0 update=1 delete=0 other=0"),
+            Map.entry("ScheduleService.deleteSchedule", "select=3 insert=0 update=0 delete=1 other=0"),
+            Map.entry("CourseService.deleteCourse", "select=3 insert=0 update=0 delete=3 other=0")
+    );
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void statementCountsMatchTheExpectedAndDoNotGrowWithData() {
+        Map<String, QueryCount> small = measure(new ServiceProbes(context, "QS", 5, 5, 2));
+        Map<String, QueryCount> large = measure(new ServiceProbes(context, "QL", 10, 10, 4));
+
+        List<Executable> checks = new ArrayList<>();
+        checks.add(() -> assertEquals(EXPECTED.keySet(), large.keySet(), "probed methods"));
+        large.forEach((name, count) -> {
+            checks.add(() -> assertEquals(EXPECTED.get(name), count.toString(), name));
+            checks.add(() -> assertEquals(EXPECTED.get(name), small.get(name).toString(),
+                    name + " on the smaller data set"));
+        });
+        assertAll(checks);
+    }
+
+    private Map<String, QueryCount> measure(ServiceProbes serviceProbes) {
+        Map<String, QueryCount> counts = new LinkedHashMap<>();
+        for (ServiceProbes.Probe probe : serviceProbes.getProbes()) {
+            if (probe.read) {
+                transactionTemplate.execute(status -> probe.call.run());
+            }
+            StatementCountingDataSource.start();
+            try {
+                transactionTemplate.execute(status -> probe.call.run());
+            } finally {
+                counts.put(probe.name, StatementCountingDataSource.stop());
+            }
+        }
+        return counts;
+    }
+
+    @TestConfiguration
+    static class CountingConfig {
+
+        @Bean
+        static BeanPostProcessor statementCountingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource && beanName.equals("dataSource")
+                            ? new StatementCountingDataSource((DataSource) bean)
+                            : bean;
+                }
+            };
+        }
+    }
+}
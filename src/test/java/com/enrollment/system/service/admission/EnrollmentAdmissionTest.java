@@ -0,0 +1,152 @@
+package com.enrollment.system.service.admission;
+
+import com.enrollment.system.exception.AdmissionDeniedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class EnrollmentAdmissionTest {
+
+    private static final Duration GRACE = Duration.ofSeconds(10);
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    // The admission's clock, stepped by the tests
+    private long nanos = 1_000_000_000L;
+
+    @Test
+    void letsEveryoneThroughWhenDisabled() {
+        EnrollmentAdmission admission = admission(false, 1, 1, 1);
+
+        for (int request = 0; request < 10; request++) {
+            admission.admit("S1");
+        }
+        assertEquals(0, decisions("admitted"));
+    }
+
+    @Test
+    void queuesInArrivalOrderOnceTheBurstIsSpent() {
+        EnrollmentAdmission admission = admission(true, 1, 2, 10);
+        admission.admit("S1");
+        admission.admit("S2");
+
+        assertDenied(admission, "S3", 1, 1);
+        assertDenied(admission, "S4", 2, 2);
+        assertDenied(admission, "S5", 3, 3);
+
+        // One token refills and calls the front of the line, not whoever asks first
+        elapse(Duration.ofSeconds(1));
+        assertDenied(admission, "S5", 2, 2);
+        assertDenied(admission, "S4", 1, 1);
+        admission.admit("S3");
+
+        elapse(Duration.ofSeconds(1));
+        admission.admit("S4");
+        assertDenied(admission, "S5", 1, 1);
+        assertEquals(4, decisions("admitted"));
+    }
+
+    @Test
+    void givesAStudentOneTicketHoweverOftenTheyRetry() {
+        EnrollmentAdmission admission = admission(true, 1, 1, 2);
+        admission.admit("S1");
+        assertDenied(admission, "S2", 1, 1);
+        for (int retry = 0; retry < 5; retry++) {
+            assertDenied(admission, "S2", 1, 1);
+        }
+        assertDenied(admission, "S3", 2, 2);
+
+        assertEquals(2, admission.getQueueDepth());
+        // A full room turns away newcomers but still answers those holding a ticket
+        AdmissionDeniedException full = assertThrows(AdmissionDeniedException.class, () -> admission.admit("S4"));
+        assertEquals(0, full.getPosition());
+        assertDenied(admission, "S3", 2, 2);
+        assertEquals(1, decisions("rejected"));
+    }
+
+    @Test
+    void passesALapsedCallToTheNextInLine() {
+        // One token per 100 seconds, so only a lapse can call the next student within the test
+        EnrollmentAdmission admission = admission(true, 0.01, 1, 10);
+        admission.admit("S1");
+        assertDenied(admission, "S2", 1, 100);
+        assertDenied(admission, "S3", 2, 200);
+
+        elapse(Duration.ofSeconds(100));
+        assertDenied(admission, "S3", 1, 100);
+        assertEquals(1, admission.getCalledCount());
+
+        // S2 was called and never came back; its token calls S3 at once
+        elapse(GRACE);
+        assertEquals(0, admission.getQueueDepth());
+        assertEquals(1, admission.getCalledCount());
+        admission.admit("S3");
+        assertEquals(1, decisions("expired"));
+        // The lapsed student starts over at the back of the line
+        assertDenied(admission, "S2", 1, 100);
+    }
+
+    @Test
+    void refillsAtTheRateUpToTheBurst() {
+        EnrollmentAdmission admission = admission(true, 2, 3, 10);
+        for (String student : new String[]{"S1", "S2", "S3"}) {
+            admission.admit(student);
+        }
+        assertEquals(0, admission.getAvailableTokens(), 1e-9);
+
+        elapse(Duration.ofMillis(750));
+        assertEquals(1.5, admission.getAvailableTokens(), 1e-9);
+        admission.admit("S4");
+        assertDenied(admission, "S5", 1, 1);
+
+        elapse(Duration.ofMinutes(1));
+        admission.admit("S5");
+        // S5's call came out of a full bucket, which holds no more than the burst
+        assertEquals(2, admission.getAvailableTokens(), 1e-9);
+    }
+
+    @Test
+    void readsTheGaugesWithoutCallingOrLapsingTickets() {
+        EnrollmentAdmission admission = admission(true, 1, 1, 10);
+        admission.admit("S1");
+        assertDenied(admission, "S2", 1, 1);
+
+        // Projected as called, but only an admit actually calls S2 and starts its grace period
+        elapse(Duration.ofSeconds(1));
+        for (int scrape = 0; scrape < 3; scrape++) {
+            assertEquals(0, admission.getQueueDepth());
+            assertEquals(1, admission.getCalledCount());
+            assertEquals(0, admission.getAvailableTokens(), 1e-9);
+        }
+
+        // Had a scrape called S2 a second in, the call would have lapsed by now
+        elapse(GRACE.plusSeconds(1));
+        assertEquals(1, admission.getCalledCount());
+        admission.admit("S2");
+        assertEquals(0, decisions("expired"));
+        assertEquals(2, decisions("admitted"));
+    }
+
+    // Helper method to build an admission on the test clock
+    private EnrollmentAdmission admission(boolean enabled, double permitsPerSecond, int burst, int maxQueue) {
+        return new EnrollmentAdmission(meterRegistry, enabled, permitsPerSecond, burst, maxQueue, GRACE, () -> nanos);
+    }
+
+    private void elapse(Duration duration) {
+        nanos += duration.toNanos();
+    }
+
+    private double decisions(String outcome) {
+        return meterRegistry.get(EnrollmentAdmission.DECISIONS).tag("outcome", outcome).counter().count();
+    }
+
+    private static void assertDenied(EnrollmentAdmission admission, String studentId, long position, long retryAfterSeconds) {
+        AdmissionDeniedException denied = assertThrows(AdmissionDeniedException.class, () -> admission.admit(studentId));
+        assertEquals(position, denied.getPosition(), "position of " + studentId);
+        assertEquals(retryAfterSeconds, denied.getRetryAfterSeconds(), "retry after for " + studentId);
+    }
+}
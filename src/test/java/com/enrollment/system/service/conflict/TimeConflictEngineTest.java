@@ -0,0 +1,184 @@
+package com.enrollment.system.service.conflict;
+
+import com.enrollment.system.config.PrimaryReads;
+import com.enrollment.system.event.EnrollmentChangedEvent;
+import com.enrollment.system.event.ScheduleChangedEvent;
+import com.enrollment.system.model.Course;
+import com.enrollment.system.model.Enrollment.EnrollmentStatus;
+import com.enrollment.system.model.Schedule;
+import com.enrollment.system.repository.ScheduleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TimeConflictEngineTest {
+
+    private static final Long STUDENT_ID = 1L;
+    private static final String FALL = "Fall 2023";
+    private static final String SPRING = "Spring 2024";
+
+    // The committed schedules and enrollments the mocked repository answers from
+    private final Map<Long, List<Schedule>> schedules = new HashMap<>();
+    private final Set<Long> enrolledCourses = new HashSet<>();
+    private ScheduleRepository scheduleRepository;
+    private TimeConflictEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        scheduleRepository = mock(ScheduleRepository.class);
+        when(scheduleRepository.findByCourseId(anyLong()))
+                .thenAnswer(invocation -> new ArrayList<>(schedules.getOrDefault(invocation.<Long>getArgument(0), List.of())));
+        when(scheduleRepository.findStudentScheduleByStudentIdAndSemester(anyLong(), anyString())).thenAnswer(invocation -> {
+            String semester = invocation.getArgument(1);
+            List<Schedule> week = new ArrayList<>();
+            for (Long courseId : enrolledCourses) {
+                for (Schedule schedule : schedules.getOrDefault(courseId, List.of())) {
+                    if (schedule.getSemester().equals(semester)) {
+                        week.add(schedule);
+                    }
+                }
+            }
+            return week;
+        });
+        engine = new TimeConflictEngine(scheduleRepository,
+                new PrimaryReads(mock(PlatformTransactionManager.class), ""), 100, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void checksAgainstTheStudentsEnrolledMeetings() {
+        meet(10L, DayOfWeek.MONDAY, "09:00", "10:00", FALL);
+        meet(11L, DayOfWeek.MONDAY, "09:30", "10:30", FALL);
+        meet(12L, DayOfWeek.MONDAY, "10:05", "11:00", FALL);
+        meet(13L, DayOfWeek.MONDAY, "10:00", "11:00", FALL);
+        enrolledCourses.add(10L);
+
+        assertTrue(engine.hasConflict(STUDENT_ID, 11L, FALL));
+        assertFalse(engine.hasConflict(STUDENT_ID, 12L, FALL));
+        // Back to back counts as a clash, as in the hasTimeConflict query
+        assertTrue(engine.hasConflict(STUDENT_ID, 13L, FALL));
+        assertFalse(engine.hasConflict(STUDENT_ID, 11L, SPRING));
+        assertEquals(FALL, engine.getPrimarySemester(10L));
+        verify(scheduleRepository, times(1)).findStudentScheduleByStudentIdAndSemester(STUDENT_ID, FALL);
+    }
+
+    @Test
+    void courseWithoutMeetingsNeverConflicts() {
+        meet(10L, DayOfWeek.MONDAY, "09:00", "10:00", FALL);
+        enrolledCourses.add(10L);
+
+        assertFalse(engine.hasConflict(STUDENT_ID, 20L, FALL));
+        assertNull(engine.getPrimarySemester(20L));
+        verify(scheduleRepository, never()).findStudentScheduleByStudentIdAndSemester(anyLong(), anyString());
+    }
+
+    @Test
+    void patchesTheCachedWeekOnEnrollAndDrop() {
+        meet(10L, DayOfWeek.MONDAY, "09:00", "10:00", FALL);
+        meet(11L, DayOfWeek.MONDAY, "09:30", "10:30", FALL);
+        meet(12L, DayOfWeek.TUESDAY, "13:00", "14:00", FALL);
+        meet(13L, DayOfWeek.TUESDAY, "13:30", "14:30", FALL);
+        enrolledCourses.add(10L);
+        assertFalse(engine.hasConflict(STUDENT_ID, 13L, FALL));
+
+        enroll(12L);
+        assertTrue(engine.hasConflict(STUDENT_ID, 13L, FALL));
+
+        drop(10L);
+        assertFalse(engine.hasConflict(STUDENT_ID, 11L, FALL));
+        assertTrue(engine.hasConflict(STUDENT_ID, 13L, FALL));
+
+        // Waitlist moves neither claim nor release a seat
+        engine.onEnrollmentChanged(new EnrollmentChangedEvent(99L, STUDENT_ID, 11L, "C11", null, EnrollmentStatus.WAITLISTED));
+        assertFalse(engine.hasConflict(STUDENT_ID, 10L, FALL));
+        verify(scheduleRepository, times(1)).findStudentScheduleByStudentIdAndSemester(STUDENT_ID, FALL);
+    }
+
+    @Test
+    void patchesTheCachedWeekWhenAMeetingMoves() {
+        Schedule moving = meet(10L, DayOfWeek.MONDAY, "09:00", "10:00", FALL);
+        meet(11L, DayOfWeek.MONDAY, "09:30", "10:30", FALL);
+        meet(12L, DayOfWeek.WEDNESDAY, "09:30", "10:30", FALL);
+        enrolledCourses.add(10L);
+        assertTrue(engine.hasConflict(STUDENT_ID, 11L, FALL));
+        assertFalse(engine.hasConflict(STUDENT_ID, 12L, FALL));
+
+        moving.setDayOfWeek(DayOfWeek.WEDNESDAY);
+        engine.onScheduleChanged(new ScheduleChangedEvent(10L, FALL, 10L, FALL));
+
+        assertFalse(engine.hasConflict(STUDENT_ID, 11L, FALL));
+        assertTrue(engine.hasConflict(STUDENT_ID, 12L, FALL));
+        verify(scheduleRepository, times(1)).findStudentScheduleByStudentIdAndSemester(STUDENT_ID, FALL);
+    }
+
+    @Test
+    void moveToAnotherSemesterLeavesTheOldWeek() {
+        Schedule moving = meet(10L, DayOfWeek.MONDAY, "09:00", "10:00", FALL);
+        meet(11L, DayOfWeek.MONDAY, "09:30", "10:30", FALL);
+        meet(12L, DayOfWeek.MONDAY, "09:30", "10:30", SPRING);
+        enrolledCourses.add(10L);
+        assertTrue(engine.hasConflict(STUDENT_ID, 11L, FALL));
+        assertFalse(engine.hasConflict(STUDENT_ID, 12L, SPRING));
+
+        moving.setSemester(SPRING);
+        engine.onScheduleChanged(new ScheduleChangedEvent(10L, SPRING, 10L, FALL));
+
+        assertFalse(engine.hasConflict(STUDENT_ID, 11L, FALL));
+        assertTrue(engine.hasConflict(STUDENT_ID, 12L, SPRING));
+    }
+
+    @Test
+    void firstMeetingOfAnEnrolledCourseRebuildsTheWeek() {
+        meet(11L, DayOfWeek.MONDAY, "09:30", "10:30", FALL);
+        enrolledCourses.add(10L);
+        assertFalse(engine.hasConflict(STUDENT_ID, 11L, FALL));
+
+        // The cached week cannot tell that the student is enrolled in a course it had no meetings for
+        meet(10L, DayOfWeek.MONDAY, "09:00", "10:00", FALL);
+        engine.onScheduleChanged(new ScheduleChangedEvent(10L, FALL, null, null));
+
+        assertTrue(engine.hasConflict(STUDENT_ID, 11L, FALL));
+        verify(scheduleRepository, times(2)).findStudentScheduleByStudentIdAndSemester(STUDENT_ID, FALL);
+    }
+
+    private Schedule meet(Long courseId, DayOfWeek dayOfWeek, String start, String end, String semester) {
+        Course course = new Course();
+        course.setId(courseId);
+        course.setCourseCode("C" + courseId);
+        Schedule schedule = new Schedule(null, course, dayOfWeek, LocalTime.parse(start), LocalTime.parse(end), "R1", semester);
+        schedules.computeIfAbsent(courseId, id -> new ArrayList<>()).add(schedule);
+        return schedule;
+    }
+
+    private void enroll(Long courseId) {
+        enrolledCourses.add(courseId);
+        engine.onEnrollmentChanged(new EnrollmentChangedEvent(courseId, STUDENT_ID, courseId, "C" + courseId, null, EnrollmentStatus.ENROLLED));
+    }
+
+    private void drop(Long courseId) {
+        enrolledCourses.remove(courseId);
+        engine.onEnrollmentChanged(new EnrollmentChangedEvent(courseId, STUDENT_ID, courseId, "C" + courseId,
+                EnrollmentStatus.ENROLLED, EnrollmentStatus.DROPPED));
+    }
+}
@@ -0,0 +1,108 @@
+package com.enrollment.system.service.conflict;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WeeklySlotBitmapTest {
+
+    @Test
+    void overlappingMeetingsConflict() {
+        assertTrue(conflict(DayOfWeek.MONDAY, "09:00", "10:30", DayOfWeek.MONDAY, "10:00", "11:30"));
+        assertTrue(conflict(DayOfWeek.MONDAY, "09:00", "12:00", DayOfWeek.MONDAY, "10:00", "10:15"));
+    }
+
+    @Test
+    void backToBackMeetingsConflictLikeTheClosedIntervalQuery() {
+        // hasTimeConflict compares start <= other end and end >= other start, so touching meetings clash
+        assertTrue(conflict(DayOfWeek.TUESDAY, "09:00", "10:00", DayOfWeek.TUESDAY, "10:00", "11:00"));
+    }
+
+    @Test
+    void gapsShorterThanASlotConflictOnlyInsideOneSlot() {
+        // 10:01 and 10:04 share the 10:00 slot
+        assertTrue(conflict(DayOfWeek.WEDNESDAY, "09:00", "10:01", DayOfWeek.WEDNESDAY, "10:04", "11:00"));
+        // 10:04 and 10:05 fall on either side of a slot boundary
+        assertFalse(conflict(DayOfWeek.WEDNESDAY, "09:00", "10:04", DayOfWeek.WEDNESDAY, "10:05", "11:00"));
+        assertFalse(conflict(DayOfWeek.WEDNESDAY, "09:00", "09:55", DayOfWeek.WEDNESDAY, "10:00", "11:00"));
+    }
+
+    @Test
+    void daysAndMidnightSeparateMeetings() {
+        assertFalse(conflict(DayOfWeek.MONDAY, "09:00", "10:00", DayOfWeek.TUESDAY, "09:00", "10:00"));
+        assertFalse(conflict(DayOfWeek.MONDAY, "23:00", "23:59", DayOfWeek.TUESDAY, "00:00", "01:00"));
+        // The last slot of the week sits in the last word
+        assertTrue(conflict(DayOfWeek.SUNDAY, "23:55", "23:59", DayOfWeek.SUNDAY, "23:58", "23:59"));
+        assertFalse(conflict(DayOfWeek.SUNDAY, "23:55", "23:59", DayOfWeek.MONDAY, "00:00", "00:04"));
+    }
+
+    @Test
+    void combinesAndCopiesIndependently() {
+        WeeklySlotBitmap monday = new WeeklySlotBitmap().mark(DayOfWeek.MONDAY, time("09:00"), time("10:00"));
+        WeeklySlotBitmap friday = new WeeklySlotBitmap().mark(DayOfWeek.FRIDAY, time("14:00"), time("15:00"));
+        WeeklySlotBitmap copy = monday.copy();
+        WeeklySlotBitmap union = monday.copy().or(friday);
+
+        assertTrue(new WeeklySlotBitmap().isEmpty());
+        assertFalse(monday.isEmpty());
+        assertEquals(monday, copy);
+        assertEquals(monday.hashCode(), copy.hashCode());
+        copy.mark(DayOfWeek.THURSDAY, time("08:00"), time("08:30"));
+        assertNotEquals(monday, copy);
+        assertTrue(union.intersects(monday));
+        assertTrue(union.intersects(friday));
+        assertFalse(monday.intersects(friday));
+    }
+
+    @Test
+    void neverMissesAnOverlapAndOnlyAddsSubSlotGaps() {
+        Random random = new Random(11);
+        for (int round = 0; round < 20000; round++) {
+            int[] a = randomMeeting(random);
+            int[] b = randomMeeting(random);
+            boolean overlaps = a[0] <= b[1] && a[1] >= b[0];
+            boolean reported = bitmap(a).intersects(bitmap(b));
+
+            if (overlaps) {
+                assertTrue(reported, "missed " + describe(a) + " and " + describe(b));
+            } else if (reported) {
+                int gap = Math.max(a[0], b[0]) - Math.min(a[1], b[1]);
+                assertTrue(gap < WeeklySlotBitmap.SLOT_MINUTES, "gap of " + gap + " minutes reported as a conflict");
+            }
+        }
+    }
+
+    // Minutes into the day of a start and end on a Monday, around midday so they often come close
+    private static int[] randomMeeting(Random random) {
+        int start = 8 * 60 + random.nextInt(6 * 60);
+        int end = start + 1 + random.nextInt(120);
+        return new int[] {start, end};
+    }
+
+    private static WeeklySlotBitmap bitmap(int[] meeting) {
+        return new WeeklySlotBitmap().mark(DayOfWeek.MONDAY,
+                LocalTime.ofSecondOfDay(meeting[0] * 60L), LocalTime.ofSecondOfDay(meeting[1] * 60L));
+    }
+
+    private static String describe(int[] meeting) {
+        return LocalTime.ofSecondOfDay(meeting[0] * 60L) + "-" + LocalTime.ofSecondOfDay(meeting[1] * 60L);
+    }
+
+    private static boolean conflict(DayOfWeek day, String start, String end,
+                                    DayOfWeek otherDay, String otherStart, String otherEnd) {
+        WeeklySlotBitmap meeting = new WeeklySlotBitmap().mark(day, time(start), time(end));
+        WeeklySlotBitmap other = new WeeklySlotBitmap().mark(otherDay, time(otherStart), time(otherEnd));
+        return meeting.intersects(other);
+    }
+
+    private static LocalTime time(String value) {
+        return LocalTime.parse(value);
+    }
+}
@@ -0,0 +1,165 @@
+package com.enrollment.system.service.impl;
+
+import com.enrollment.system.dto.BatchEnrollmentItemDTO;
+import com.enrollment.system.dto.BatchEnrollmentResponseDTO;
+import com.enrollment.system.dto.BatchEnrollmentResultDTO;
+import com.enrollment.system.dto.CourseDTO;
+import com.enrollment.system.dto.EnrollmentDTO;
+import com.enrollment.system.dto.ScheduleDTO;
+import com.enrollment.system.exception.EnrollmentException;
+import com.enrollment.system.repository.TermRepository;
+import com.enrollment.system.service.BulkEnrollmentService;
+import com.enrollment.system.service.CourseService;
+import com.enrollment.system.service.EnrollmentService;
+import com.enrollment.system.service.ScheduleService;
+import com.enrollment.system.service.StudentService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.enrollment.system.service.ServiceFixtures.course;
+import static com.enrollment.system.service.ServiceFixtures.student;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class BulkEnrollmentServiceImplTest {
+
+    @Autowired
+    private BulkEnrollmentService bulkEnrollmentService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private ScheduleService scheduleService;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private TermRepository termRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void reportsEachRejectionAndKeepsTheAcceptedItems() {
+        for (String studentId : List.of("BLK001", "BLK002", "BLK003", "BLK004")) {
+            studentService.createStudent(student(studentId));
+        }
+        CourseDTO morning = createCourse("BLK101", 10, DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(10, 30));
+        CourseDTO overlapping = createCourse("BLK102", 10, DayOfWeek.MONDAY, LocalTime.of(10, 0), LocalTime.of(11, 0));
+        CourseDTO small = createCourse("BLK103", 1, DayOfWeek.TUESDAY, LocalTime.of(9, 0), LocalTime.of(10, 0));
+        CourseDTO waited = createCourse("BLK104", 10, DayOfWeek.WEDNESDAY, LocalTime.of(9, 0), LocalTime.of(10, 0));
+        createCourse("BLK105", 10, DayOfWeek.THURSDAY, LocalTime.of(9, 0), LocalTime.of(10, 0));
+        createCourse("BLK106", 10, DayOfWeek.FRIDAY, LocalTime.of(9, 0), LocalTime.of(10, 0));
+        courseService.addPrerequisite("BLK105", "BLK106");
+
+        enrollmentService.enrollStudentInCourse("BLK002", "BLK101");
+        // A line another node let BLK004 join while the seat it frees is still open
+        jdbcTemplate.update(
+                "INSERT INTO enrollments (student_id, course_id, term_id, enrollment_date, status) " +
+                "VALUES (?, ?, ?, CURRENT_TIMESTAMP, 'WAITLISTED')",
+                studentService.getStudentByStudentId("BLK004").getId(), waited.getId(),
+                termRepository.findByName("Fall 2023").orElseThrow().getId());
+
+        BatchEnrollmentResponseDTO response = bulkEnrollmentService.enrollBatch(List.of(
+                item("BLK001", "BLK101"),
+                item(null, "BLK101"),
+                item("BLK999", "BLK101"),
+                item("BLK001", "BLK999"),
+                item("BLK002", "BLK101"),
+                item("BLK001", "BLK101"),
+                item("BLK001", "BLK105"),
+                item("BLK001", "BLK103"),
+                item("BLK003", "BLK103"),
+                item("BLK003", "BLK104"),
+                item("BLK002", "BLK102"),
+                item("BLK001", "BLK102"),
+                item("BLK003", "BLK102")));
+
+        List<String> messages = response.getResults().stream()
+                .map(BatchEnrollmentResultDTO::getMessage)
+                .collect(Collectors.toList());
+        assertEquals(List.of(
+                "Enrolled",
+                "Student ID and course code are required",
+                "Student not found with student ID: BLK999",
+                "Course not found with course code: BLK999",
+                "Student is already enrolled in this course",
+                "Student is already enrolled in this course",
+                "Student does not meet prerequisites for this course",
+                "Enrolled",
+                "Course has reached maximum capacity",
+                "Course seats are held for waitlisted students",
+                "Course has time conflict with student's schedule",
+                "Course has time conflict with student's schedule",
+                "Enrolled"), messages);
+        assertEquals(3, response.getEnrolledCount());
+        assertEquals(10, response.getRejectedCount());
+        for (BatchEnrollmentResultDTO result : response.getResults()) {
+            if ("Enrolled".equals(result.getMessage())) {
+                assertTrue(result.isEnrolled());
+                assertNotNull(result.getEnrollmentId());
+            } else {
+                assertFalse(result.isEnrolled());
+                assertNull(result.getEnrollmentId());
+            }
+        }
+
+        assertEquals(Set.of("BLK001", "BLK002"), enrolledStudents(morning.getId()));
+        assertEquals(Set.of("BLK003"), enrolledStudents(overlapping.getId()));
+        assertEquals(Set.of("BLK001"), enrolledStudents(small.getId()));
+        assertEquals(Set.of("BLK004"), enrolledStudents(waited.getId()));
+        assertEquals(2, courseService.getCourseById(morning.getId()).getCurrentEnrollment());
+        assertEquals(1, courseService.getCourseById(overlapping.getId()).getCurrentEnrollment());
+        assertEquals(0, courseService.getCourseById(waited.getId()).getCurrentEnrollment());
+    }
+
+    @Test
+    void rejectsABatchWithAnEmptyItem() {
+        studentService.createStudent(student("BLK201"));
+        CourseDTO course = createCourse("BLK201", 10, DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(10, 0));
+
+        EnrollmentException ex = assertThrows(EnrollmentException.class,
+                () -> bulkEnrollmentService.enrollBatch(Arrays.asList(item("BLK201", "BLK201"), null)));
+
+        assertEquals("Batch item 1 is empty", ex.getMessage());
+        assertEquals(Set.of(), enrolledStudents(course.getId()));
+    }
+
+    // Helper method to list everyone holding a row in the course, enrolled or waiting
+    private Set<String> enrolledStudents(Long courseId) {
+        return enrollmentService.getEnrollmentsByCourseId(courseId).stream()
+                .map(EnrollmentDTO::getStudentId)
+                .collect(Collectors.toSet());
+    }
+
+    private CourseDTO createCourse(String courseCode, int maxCapacity, DayOfWeek day, LocalTime start, LocalTime end) {
+        CourseDTO created = courseService.createCourse(course(courseCode, maxCapacity));
+        scheduleService.createSchedule(new ScheduleDTO(null, courseCode, day, start, end, "R1", "Fall 2023"));
+        return created;
+    }
+
+    private static BatchEnrollmentItemDTO item(String studentId, String courseCode) {
+        return new BatchEnrollmentItemDTO(studentId, courseCode);
+    }
+}
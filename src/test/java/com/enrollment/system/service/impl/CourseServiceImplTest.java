@@ -0,0 +1,108 @@
+package com.enrollment.system.service.impl;
+
+import com.enrollment.system.exception.EnrollmentException;
+import com.enrollment.system.model.Course;
+import com.enrollment.system.repository.CourseRepository;
+import com.enrollment.system.service.CourseService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.enrollment.system.service.ServiceFixtures.course;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CourseServiceImplTest {
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void rejectsAPrerequisiteThatClosesACycle() {
+        courseService.createCourse(course("CYC101", 30));
+        courseService.createCourse(course("CYC102", 30));
+        courseService.createCourse(course("CYC103", 30));
+        courseService.addPrerequisite("CYC103", "CYC102");
+        courseService.addPrerequisite("CYC102", "CYC101");
+
+        assertThrows(EnrollmentException.class, () -> courseService.addPrerequisite("CYC101", "CYC103"));
+        assertThrows(EnrollmentException.class, () -> courseService.addPrerequisite("CYC101", "CYC101"));
+        assertEquals(Set.of("CYC101", "CYC102"), courseService.getPrerequisiteClosure("CYC103"));
+        assertEquals(Set.of(), courseService.getPrerequisiteClosure("CYC101"));
+    }
+
+    @Test
+    void checksCommittedRowsTheGraphHasNotSeen() {
+        courseService.createCourse(course("ROW101", 30));
+        courseService.createCourse(course("ROW102", 30));
+        assertEquals(Set.of(), courseService.getPrerequisiteClosure("ROW102"));
+
+        // Written straight to the table, as another node would, so no event reaches this node's graph
+        transactionTemplate.executeWithoutResult(status -> {
+            Course course = courseRepository.findByCourseCode("ROW102").orElseThrow();
+            course.addPrerequisite(courseRepository.findByCourseCode("ROW101").orElseThrow());
+        });
+        assertEquals(Set.of(), courseService.getPrerequisiteClosure("ROW102"));
+
+        assertThrows(EnrollmentException.class, () -> courseService.addPrerequisite("ROW101", "ROW102"));
+    }
+
+    @Test
+    void concurrentOppositeEdgesCannotBothCommit() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < 10; round++) {
+                String first = "RACE" + round + "A";
+                String second = "RACE" + round + "B";
+                courseService.createCourse(course(first, 30));
+                courseService.createCourse(course(second, 30));
+
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<Boolean>> results = new ArrayList<>();
+                results.add(executor.submit(() -> tryAdd(start, first, second)));
+                results.add(executor.submit(() -> tryAdd(start, second, first)));
+                start.countDown();
+
+                int added = 0;
+                for (Future<Boolean> result : results) {
+                    added += result.get(30, TimeUnit.SECONDS) ? 1 : 0;
+                }
+                assertEquals(1, added, "round " + round);
+                assertTrue(courseService.getPrerequisiteClosure(first).isEmpty()
+                        || courseService.getPrerequisiteClosure(second).isEmpty());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private boolean tryAdd(CountDownLatch start, String courseCode, String prerequisiteCode) throws InterruptedException {
+        start.await();
+        try {
+            courseService.addPrerequisite(courseCode, prerequisiteCode);
+            return true;
+        } catch (EnrollmentException ex) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.enrollment.system.service.impl;
+
+import com.enrollment.system.dto.CourseDTO;
+import com.enrollment.system.dto.EnrollmentDTO;
+import com.enrollment.system.dto.ScheduleDTO;
+import com.enrollment.system.dto.StudentDTO;
+import com.enrollment.system.model.Enrollment.EnrollmentStatus;
+import com.enrollment.system.service.CourseService;
+import com.enrollment.system.service.EnrollmentService;
+import com.enrollment.system.service.ScheduleService;
+import com.enrollment.system.service.StudentService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.concurrent.TimeUnit;
+
+import static com.enrollment.system.service.ServiceFixtures.course;
+import static com.enrollment.system.service.ServiceFixtures.student;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class StudentServiceImplTest {
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private ScheduleService scheduleService;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Test
+    void deletingAStudentPromotesTheNextInLine() throws InterruptedException {
+        StudentDTO leaving = studentService.createStudent(student("DEL001"));
+        studentService.createStudent(student("DEL002"));
+        studentService.createStudent(student("DEL003"));
+        CourseDTO course = courseService.createCourse(course("DEL101", 1));
+        scheduleService.createSchedule(new ScheduleDTO(
+                null, "DEL101", DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(10, 30), "R1", "Fall 2023"));
+
+        assertEquals(EnrollmentStatus.ENROLLED, enrollmentService.enrollStudentInCourse("DEL001", "DEL101").getStatus());
+        assertEquals(EnrollmentStatus.WAITLISTED, enrollmentService.enrollStudentInCourse("DEL002", "DEL101").getStatus());
+        assertEquals(EnrollmentStatus.WAITLISTED, enrollmentService.enrollStudentInCourse("DEL003", "DEL101").getStatus());
+
+        studentService.deleteStudent(leaving.getId());
+
+        assertTrue(awaitStatus("DEL002", course.getId(), EnrollmentStatus.ENROLLED), "first in line was not promoted");
+        assertEquals(1, courseService.getCourseById(course.getId()).getCurrentEnrollment());
+        assertEquals(1, enrollmentService.getWaitlistPosition("DEL003", "DEL101").getPosition());
+    }
+
+    // Helper method to wait for the background promotion pass
+    private boolean awaitStatus(String studentId, Long courseId, EnrollmentStatus status) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            for (EnrollmentDTO enrollment : enrollmentService.getEnrollmentsByCourseId(courseId)) {
+                if (enrollment.getStudentId().equals(studentId) && enrollment.getStatus() == status) {
+                    return true;
+                }
+            }
+            Thread.sleep(20);
+        }
+        return false;
+    }
+}
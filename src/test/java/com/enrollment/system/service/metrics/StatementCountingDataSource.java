@@ -0,0 +1,125 @@
+package com.enrollment.system.service.metrics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Counts the SQL statements executed on the current thread between start() and stop(),
+ * whoever issues them. Unlike QueryCounter, which only sees what Hibernate prepares,
+ * this sits under JPA and JdbcTemplate alike. A JDBC batch is one round trip and
+ * counts once per batch, however many rows it carries.
+ */
+public class StatementCountingDataSource extends DelegatingDataSource {
+
+    private static final ThreadLocal<QueryCount> CURRENT = new ThreadLocal<>();
+
+    public StatementCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    public static void start() {
+        CURRENT.set(new QueryCount());
+    }
+
+    // Ends counting on this thread and returns what was seen, which is empty if counting was not started
+    public static QueryCount stop() {
+        QueryCount count = CURRENT.get();
+        CURRENT.remove();
+        return count == null ? new QueryCount() : count;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return countingConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return countingConnection(super.getConnection(username, password));
+    }
+
+    private static void record(String sql) {
+        QueryCount count = CURRENT.get();
+        if (count != null && sql != null) {
+            count.record(sql);
+        }
+    }
+
+    private static Connection countingConnection(Connection connection) {
+        return proxy(Connection.class, connection, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (result instanceof CallableStatement) {
+                return countingStatement(CallableStatement.class, (Statement) result, (String) args[0]);
+            }
+            if (result instanceof PreparedStatement) {
+                return countingStatement(PreparedStatement.class, (Statement) result, (String) args[0]);
+            }
+            if (result instanceof Statement) {
+                return countingStatement(Statement.class, (Statement) result, null);
+            }
+            return result;
+        });
+    }
+
+    // Prepared statements carry their SQL from the connection; plain statements pass it to each call
+    private static <S extends Statement> S countingStatement(Class<S> type, Statement statement, String preparedSql) {
+        List<String> batch = new ArrayList<>();
+        return proxy(type, statement, (target, method, args) -> {
+            String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : preparedSql;
+            switch (method.getName()) {
+                case "execute":
+                case "executeQuery":
+                case "executeUpdate":
+                case "executeLargeUpdate":
+                    record(sql);
+                    break;
+                case "addBatch":
+                    if (batch.isEmpty() || preparedSql == null) {
+                        batch.add(sql);
+                    }
+                    break;
+                case "clearBatch":
+                    batch.clear();
+                    break;
+                case "executeBatch":
+                case "executeLargeBatch":
+                    batch.forEach(StatementCountingDataSource::record);
+                    batch.clear();
+                    break;
+                default:
+            }
+            return invoke(target, method, args);
+        });
+    }
+
+    private interface Handler {
+        Object handle(Object target, Method method, Object[] args) throws Throwable;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Object target, Handler handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> handler.handle(target, method, args);
+        return (T) Proxy.newProxyInstance(StatementCountingDataSource.class.getClassLoader(), new Class<?>[]{type},
+                invocationHandler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.enrollment.system.service.prerequisite;
+
+import com.enrollment.system.config.PrimaryReads;
+import com.enrollment.system.event.CourseChangedEvent;
+import com.enrollment.system.event.CourseChangedEvent.ChangeType;
+import com.enrollment.system.repository.CourseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PrerequisiteGraphTest {
+
+    // The committed course_prerequisites rows the mocked repository answers from
+    private final Map<Long, Set<Long>> edges = new LinkedHashMap<>();
+    private final PrimaryReads primaryReads = new PrimaryReads(mock(PlatformTransactionManager.class), "");
+    private CourseRepository courseRepository;
+    private PrerequisiteGraph graph;
+
+    @BeforeEach
+    void setUp() {
+        courseRepository = mock(CourseRepository.class);
+        when(courseRepository.findAllCourseCodes()).thenAnswer(invocation -> {
+            List<Object[]> rows = new ArrayList<>();
+            edges.keySet().forEach(id -> rows.add(new Object[] {id, codeOf(id)}));
+            return rows;
+        });
+        when(courseRepository.findAllPrerequisiteIds()).thenAnswer(invocation -> edgeRows(edges.keySet()));
+        when(courseRepository.findPrerequisiteIdsByCourseIds(anyCollection()))
+                .thenAnswer(invocation -> edgeRows(invocation.getArgument(0)));
+        graph = new PrerequisiteGraph(courseRepository, primaryReads, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void loadsTransitiveClosures() {
+        // 4 -> 3 -> 2 -> 1, and 4 -> 5
+        create(1L, 2L, 3L, 4L, 5L);
+        edges.get(2L).add(1L);
+        edges.get(3L).add(2L);
+        edges.get(4L).addAll(List.of(3L, 5L));
+
+        assertEquals(Set.of("C1", "C2", "C3", "C5"), graph.getTransitivePrerequisiteCodes(4L));
+        assertEquals(Set.of(1L, 2L, 3L, 5L), graph.getTransitivePrerequisiteIds(4L));
+        assertEquals(Set.of(3L, 5L), graph.getDirectPrerequisiteIds(4L));
+        assertEquals(Set.of("C3"), graph.getMissingPrerequisiteCodes(4L, Set.of(5L)));
+        assertFalse(graph.hasPrerequisites(1L));
+        verify(courseRepository, times(1)).findAllPrerequisiteIds();
+    }
+
+    @Test
+    void rejectsEdgesThatCloseACycle() {
+        create(1L, 2L, 3L);
+        edges.get(3L).add(2L);
+        edges.get(2L).add(1L);
+
+        assertTrue(graph.wouldCreateCycle(1L, 1L));
+        assertTrue(graph.wouldCreateCycle(2L, 3L));
+        assertTrue(graph.wouldCreateCycle(1L, 3L));
+        assertTrue(graph.wouldCreateCycle(1L, 2L));
+        assertFalse(graph.wouldCreateCycle(3L, 1L));
+        assertFalse(graph.wouldCreateCycle(1L, 99L));
+    }
+
+    @Test
+    void addingAnEdgeExtendsEveryDependentClosure() {
+        create(1L, 2L, 3L, 4L);
+        edges.get(4L).add(3L);
+        edges.get(3L).add(2L);
+        assertEquals(Set.of("C2", "C3"), graph.getTransitivePrerequisiteCodes(4L));
+
+        addEdge(2L, 1L);
+
+        assertEquals(Set.of("C1", "C2", "C3"), graph.getTransitivePrerequisiteCodes(4L));
+        assertEquals(Set.of("C1", "C2"), graph.getTransitivePrerequisiteCodes(3L));
+        assertTrue(graph.wouldCreateCycle(1L, 4L));
+    }
+
+    @Test
+    void removingAnEdgeShrinksOnlyWhatIsNoLongerReachable() {
+        // 4 reaches 1 both through 3 and through 2
+        create(1L, 2L, 3L, 4L);
+        edges.get(4L).addAll(List.of(2L, 3L));
+        edges.get(3L).add(1L);
+        edges.get(2L).add(1L);
+        graph.getTransitivePrerequisiteCodes(4L);
+
+        removeEdge(3L, 1L);
+        assertEquals(Set.of("C1", "C2", "C3"), graph.getTransitivePrerequisiteCodes(4L));
+        assertEquals(Set.of(), graph.getTransitivePrerequisiteCodes(3L));
+
+        removeEdge(2L, 1L);
+        assertEquals(Set.of("C2", "C3"), graph.getTransitivePrerequisiteCodes(4L));
+        assertFalse(graph.wouldCreateCycle(1L, 4L));
+    }
+
+    @Test
+    void deletingACourseDropsItFromDependents() {
+        create(1L, 2L, 3L);
+        edges.get(3L).add(2L);
+        edges.get(2L).add(1L);
+        graph.getTransitivePrerequisiteCodes(3L);
+
+        edges.remove(2L);
+        edges.get(3L).remove(2L);
+        graph.onCourseChanged(new CourseChangedEvent(2L, "C2", "C2", ChangeType.DELETED));
+
+        assertEquals(Set.of(), graph.getTransitivePrerequisiteCodes(3L));
+        assertEquals(Set.of(), graph.getDirectPrerequisiteIds(3L));
+        assertFalse(graph.wouldCreateCycle(1L, 3L));
+    }
+
+    @Test
+    void newCoursesJoinWithoutAReload() {
+        create(1L);
+        graph.getTransitivePrerequisiteCodes(1L);
+
+        create(2L);
+        edges.get(2L).add(1L);
+        graph.onCourseChanged(new CourseChangedEvent(2L, "C2", null, ChangeType.CREATED));
+
+        assertEquals(Set.of("C1"), graph.getTransitivePrerequisiteCodes(2L));
+        verify(courseRepository, times(1)).findAllPrerequisiteIds();
+    }
+
+    @Test
+    void reloadsForCoursesItHasNotSeen() {
+        create(1L);
+        assertFalse(graph.hasPrerequisites(1L));
+
+        // Created through another node, so no event reached this one
+        create(2L);
+        edges.get(2L).add(1L);
+
+        assertTrue(graph.hasPrerequisites(2L));
+        assertEquals(Set.of("C1"), graph.getMissingPrerequisiteCodes(2L, Set.of()));
+        verify(courseRepository, times(2)).findAllPrerequisiteIds();
+    }
+
+    @Test
+    void reloadsAfterTheTtl() throws InterruptedException {
+        graph = new PrerequisiteGraph(courseRepository, primaryReads, Duration.ofMillis(1));
+        create(1L, 2L);
+        assertEquals(Set.of(), graph.getDirectPrerequisiteIds(2L));
+
+        // Re-wired by SQL; only the TTL brings the edge in
+        edges.get(2L).add(1L);
+        Thread.sleep(5);
+
+        assertEquals(Set.of(1L), graph.getDirectPrerequisiteIds(2L));
+        verify(courseRepository, times(2)).findAllPrerequisiteIds();
+    }
+
+    @Test
+    void incrementalUpdatesMatchAFullReload() {
+        Random random = new Random(7);
+        int courses = 30;
+        for (long id = 1; id <= courses; id++) {
+            create(id);
+        }
+        graph.getTransitivePrerequisiteCodes(1L);
+
+        for (int round = 0; round < 300; round++) {
+            long course = 1 + random.nextInt(courses);
+            long prerequisite = 1 + random.nextInt(courses);
+            if (!edges.containsKey(course) || !edges.containsKey(prerequisite)) {
+                continue;
+            }
+            if (edges.get(course).contains(prerequisite)) {
+                removeEdge(course, prerequisite);
+            } else if (graph.wouldCreateCycle(course, prerequisite)) {
+                assertTrue(reachable(prerequisite).contains(course) || course == prerequisite);
+            } else {
+                addEdge(course, prerequisite);
+            }
+            if (round % 50 == 49) {
+                long deleted = 1 + random.nextInt(courses);
+                if (edges.remove(deleted) != null) {
+                    edges.values().forEach(prerequisites -> prerequisites.remove(deleted));
+                    graph.onCourseChanged(new CourseChangedEvent(deleted, codeOf(deleted), codeOf(deleted), ChangeType.DELETED));
+                }
+            }
+            for (Long id : edges.keySet()) {
+                Set<String> expected = new TreeSet<>();
+                reachable(id).forEach(reached -> expected.add(codeOf(reached)));
+                assertEquals(expected, graph.getTransitivePrerequisiteCodes(id), "closure of " + codeOf(id));
+            }
+        }
+        verify(courseRepository, times(1)).findAllPrerequisiteIds();
+    }
+
+    private void create(Long... ids) {
+        for (Long id : ids) {
+            edges.put(id, new HashSet<>());
+        }
+    }
+
+    private void addEdge(Long course, Long prerequisite) {
+        edges.get(course).add(prerequisite);
+        graph.onCourseChanged(new CourseChangedEvent(course, codeOf(course), codeOf(course), ChangeType.PREREQUISITES_CHANGED));
+    }
+
+    private void removeEdge(Long course, Long prerequisite) {
+        edges.get(course).remove(prerequisite);
+        graph.onCourseChanged(new CourseChangedEvent(course, codeOf(course), codeOf(course), ChangeType.PREREQUISITES_CHANGED));
+    }
+
+    private Set<Long> reachable(Long from) {
+        Set<Long> reached = new HashSet<>();
+        Deque<Long> pending = new ArrayDeque<>(edges.get(from));
+        while (!pending.isEmpty()) {
+            Long next = pending.pop();
+            if (reached.add(next)) {
+                pending.addAll(edges.get(next));
+            }
+        }
+        return reached;
+    }
+
+    private List<Object[]> edgeRows(Collection<Long> courseIds) {
+        List<Object[]> rows = new ArrayList<>();
+        for (Long courseId : courseIds) {
+            edges.getOrDefault(courseId, Set.of()).forEach(prerequisite -> rows.add(new Object[] {courseId, prerequisite}));
+        }
+        return rows;
+    }
+
+    private static String codeOf(Long id) {
+        return "C" + id;
+    }
+}
@@ -0,0 +1,193 @@
+package com.enrollment.system.service.search;
+
+import com.enrollment.system.event.CourseChangedEvent;
+import com.enrollment.system.event.CourseChangedEvent.ChangeType;
+import com.enrollment.system.event.ScheduleChangedEvent;
+import com.enrollment.system.model.Course;
+import com.enrollment.system.repository.CourseRepository;
+import com.enrollment.system.repository.ScheduleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CourseSearchIndexTest {
+
+    // The committed courses and their meetings' semesters the mocked repositories answer from
+    private final Map<Long, Course> courses = new TreeMap<>();
+    private final Map<Long, Set<String>> semesters = new TreeMap<>();
+    private CourseSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        CourseRepository courseRepository = mock(CourseRepository.class);
+        ScheduleRepository scheduleRepository = mock(ScheduleRepository.class);
+        when(courseRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(0);
+            Pageable pageable = invocation.getArgument(1);
+            return courses.values().stream()
+                    .filter(course -> course.getId() > afterId)
+                    .limit(pageable.getPageSize())
+                    .collect(Collectors.toList());
+        });
+        when(courseRepository.findById(anyLong()))
+                .thenAnswer(invocation -> Optional.ofNullable(courses.get(invocation.<Long>getArgument(0))));
+        when(scheduleRepository.findAllCourseSemesters()).thenAnswer(invocation -> semesterRows(semesters.keySet()));
+        when(scheduleRepository.findCourseSemestersByCourseIds(anyCollection()))
+                .thenAnswer(invocation -> semesterRows(invocation.getArgument(0)));
+        index = new CourseSearchIndex(courseRepository, scheduleRepository);
+    }
+
+    @Test
+    void ranksCodeAndNameMatchesAboveDescriptionMentions() {
+        course(1L, "ALG101", "Algorithms", "Sorting, searching and graphs", 3, "Fall 2023");
+        course(2L, "DS201", "Data Structures", "Trees, heaps and the algorithms over them", 3, "Fall 2023");
+        course(3L, "ART101", "Drawing", "Still life", 3, "Fall 2023");
+        index.rebuild();
+
+        assertEquals(List.of("ALG101", "DS201"), codes(index.search("algorithms", null, null)));
+        // The whole code is a word of its own, weighted above the name
+        assertEquals(List.of("DS201"), codes(index.search("ds201", null, null)));
+        assertEquals(List.of(), codes(index.search("calculus", null, null)));
+    }
+
+    @Test
+    void ranksRareWordsAboveCommonOnes() {
+        course(1L, "CS101", "Intro", "programming basics", 3, "Fall 2023");
+        course(2L, "CS102", "Intro", "programming compilers", 3, "Fall 2023");
+        course(3L, "CS103", "Intro", "programming networks", 3, "Fall 2023");
+        index.rebuild();
+
+        // Every course mentions programming; only one mentions compilers
+        List<CourseSearchIndex.Match> matches = index.search("programming compilers", null, null);
+        assertEquals("CS102", matches.get(0).toDTO(0).getCourseCode());
+        assertEquals(3, matches.size());
+        assertTrue(matches.get(0).getScore() > 2 * matches.get(1).getScore());
+        assertEquals(matches.get(1).getScore(), matches.get(2).getScore(), 1e-9);
+    }
+
+    @Test
+    void completesOnlyTheWordStillBeingTyped() {
+        course(1L, "ALG101", "Algorithms", "Sorting", 3, "Fall 2023");
+        course(2L, "ALG102", "Algebra", "Groups", 3, "Fall 2023");
+        course(3L, "ALG103", "Algo", "Puzzles", 3, "Fall 2023");
+        index.rebuild();
+
+        List<CourseSearchIndex.Match> typing = index.search("algo", null, null);
+        // The exact word outranks its completions, which are discounted
+        assertEquals(List.of("ALG103", "ALG101"), codes(typing));
+        assertEquals(List.of("ALG103"), codes(index.search("algo ", null, null)));
+        assertEquals(List.of(), codes(index.search("the and of", null, null)));
+    }
+
+    @Test
+    void filtersOnCreditHoursAndSemester() {
+        course(1L, "MTH101", "Calculus", "Limits", 3, "Fall 2023");
+        course(2L, "MTH102", "Calculus II", "Series", 4, "Fall 2023", "Spring 2024");
+        course(3L, "MTH103", "Calculus III", "Vectors", 4, "Spring 2024");
+        index.rebuild();
+
+        assertEquals(List.of("MTH102", "MTH103"), sorted(codes(index.search("calculus", 4, null))));
+        assertEquals(List.of("MTH102", "MTH103"), sorted(codes(index.search("calculus", null, "spring 2024"))));
+        assertEquals(List.of("MTH102"), codes(index.search("calculus", 4, " Fall 2023 ")));
+        assertEquals(List.of(), codes(index.search("calculus", 5, null)));
+
+        // A meeting moved out of Fall 2023 takes the course out of that semester
+        semesters.put(2L, Set.of("Spring 2024"));
+        index.onScheduleChanged(new ScheduleChangedEvent(2L, "Spring 2024", null, "Fall 2023"));
+        assertEquals(List.of("MTH101"), codes(index.search("calculus", null, "Fall 2023")));
+    }
+
+    @Test
+    void followsCourseEditsAndDeletes() {
+        course(1L, "BIO101", "Biology", "Cells", 3, "Fall 2023");
+        course(2L, "BIO102", "Genetics", "Cells and inheritance", 3, "Fall 2023");
+        index.rebuild();
+
+        course(1L, "BIO101", "Ecology", "Populations", 3, "Fall 2023");
+        index.onCourseChanged(new CourseChangedEvent(1L, "BIO101", "BIO101", ChangeType.UPDATED));
+        assertEquals(List.of(), codes(index.search("biology", null, null)));
+        assertEquals(List.of("BIO101"), codes(index.search("ecology", null, null)));
+        assertEquals(List.of("BIO102"), codes(index.search("cells", null, null)));
+
+        courses.remove(2L);
+        index.onCourseChanged(new CourseChangedEvent(2L, "BIO102", "BIO102", ChangeType.DELETED));
+        assertEquals(List.of(), codes(index.search("cells", null, null)));
+        assertEquals(1, index.size());
+        // Words only the deleted course used leave the vocabulary with it
+        assertEquals(3, index.vocabularySize());
+    }
+
+    @Test
+    void compactsOrdinalsLeftByRepeatedEdits() {
+        course(1L, "PHY101", "Physics", "Motion", 3, "Fall 2023");
+        course(2L, "PHY102", "Optics", "Light and motion", 3, "Fall 2023");
+        index.rebuild();
+        long builtBytes = index.postingBytes();
+        List<Double> builtScores = scores(index.search("motion", null, null));
+
+        // Each edit retires the course's ordinal; past 64 dead slots the index renumbers
+        for (int edit = 0; edit < 200; edit++) {
+            index.onCourseChanged(new CourseChangedEvent(1L + edit % 2, null, null, ChangeType.UPDATED));
+        }
+
+        assertEquals(2, index.size());
+        assertEquals(List.of("PHY101", "PHY102"), codes(index.search("motion", null, null)));
+        assertEquals(builtScores, scores(index.search("motion", null, null)));
+        // Uncompacted, the gaps to ordinals past 127 would take a second byte
+        assertEquals(builtBytes, index.postingBytes());
+    }
+
+    // Helper method to store a course and the semesters it meets in, as the repositories return them
+    private void course(Long id, String courseCode, String name, String description, int creditHours,
+            String... courseSemesters) {
+        Course course = new Course();
+        course.setId(id);
+        course.setCourseCode(courseCode);
+        course.setName(name);
+        course.setDescription(description);
+        course.setCreditHours(creditHours);
+        course.setMaxCapacity(30);
+        courses.put(id, course);
+        semesters.put(id, Set.of(courseSemesters));
+    }
+
+    private List<Object[]> semesterRows(Collection<Long> courseIds) {
+        List<Object[]> rows = new ArrayList<>();
+        for (Long courseId : new HashSet<>(courseIds)) {
+            for (String semester : semesters.getOrDefault(courseId, Set.of())) {
+                rows.add(new Object[]{courseId, semester});
+            }
+        }
+        return rows;
+    }
+
+    private static List<String> codes(List<CourseSearchIndex.Match> matches) {
+        return matches.stream().map(match -> match.toDTO(0).getCourseCode()).collect(Collectors.toList());
+    }
+
+    private static List<Double> scores(List<CourseSearchIndex.Match> matches) {
+        return matches.stream().map(CourseSearchIndex.Match::getScore).collect(Collectors.toList());
+    }
+
+    private static List<String> sorted(List<String> values) {
+        return values.stream().sorted().collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,73 @@
+package com.enrollment.system.service.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntPostingsTest {
+
+    @Test
+    void keepsValuesSortedAndDistinct() {
+        IntPostings postings = new IntPostings();
+        assertTrue(postings.add(7));
+        assertTrue(postings.add(2));
+        assertTrue(postings.add(9));
+        assertTrue(postings.add(0));
+        assertFalse(postings.add(7));
+
+        assertEquals(List.of(0, 2, 7, 9), values(postings));
+    }
+
+    @Test
+    void removesOnlyWhatItHolds() {
+        IntPostings postings = new IntPostings();
+        postings.add(1);
+        postings.add(4);
+        postings.add(6);
+
+        assertFalse(postings.remove(5));
+        assertTrue(postings.remove(1));
+        assertTrue(postings.remove(6));
+        assertFalse(postings.remove(6));
+
+        assertEquals(List.of(4), values(postings));
+    }
+
+    @Test
+    void growsAndShrinksLikeASortedSet() {
+        IntPostings postings = new IntPostings();
+        TreeSet<Integer> expected = new TreeSet<>();
+        Random random = new Random(42);
+        for (int step = 0; step < 5000; step++) {
+            int value = random.nextInt(300);
+            // Adds outnumber removals at first and removals win later, so the array grows and then shrinks
+            if (random.nextInt(5000) < 5000 - step) {
+                assertEquals(expected.add(value), postings.add(value));
+            } else {
+                assertEquals(expected.remove(value), postings.remove(value));
+            }
+        }
+        for (int value : new ArrayList<>(expected)) {
+            assertTrue(postings.remove(value));
+        }
+
+        assertEquals(0, postings.size());
+        assertTrue(postings.add(3));
+        assertEquals(List.of(3), values(postings));
+    }
+
+    private static List<Integer> values(IntPostings postings) {
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < postings.size(); i++) {
+            values.add(postings.get(i));
+        }
+        return values;
+    }
+}
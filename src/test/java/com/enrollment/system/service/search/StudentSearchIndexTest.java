@@ -0,0 +1,159 @@
+package com.enrollment.system.service.search;
+
+import com.enrollment.system.dto.StudentSearchResultDTO;
+import com.enrollment.system.event.StudentChangedEvent;
+import com.enrollment.system.event.StudentChangedEvent.ChangeType;
+import com.enrollment.system.model.Student;
+import com.enrollment.system.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StudentSearchIndexTest {
+
+    // The committed students the mocked repository answers from
+    private final Map<Long, Student> students = new TreeMap<>();
+    private StudentRepository studentRepository;
+    private StudentSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository = mock(StudentRepository.class);
+        when(studentRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(0);
+            Pageable pageable = invocation.getArgument(1);
+            return students.values().stream()
+                    .filter(student -> student.getId() > afterId)
+                    .limit(pageable.getPageSize())
+                    .collect(Collectors.toList());
+        });
+        index = new StudentSearchIndex(studentRepository);
+    }
+
+    @Test
+    void matchesExactWordsBeforePrefixes() {
+        save(1L, "S0001", "Alice", "Smith", "alice.smith@uni.edu");
+        save(2L, "S0002", "Alicia", "Smythe", "asmythe@uni.edu");
+        save(3L, "S0003", "Bob", "Jones", "bjones@uni.edu");
+
+        assertEquals(List.of("S0001"), ids(index.search("alice", null)));
+        // The shorter completion is the closer one
+        assertEquals(List.of("S0001", "S0002"), ids(index.search("ali", null)));
+        assertEquals(List.of("S0001"), ids(index.search("ali", 1)));
+        // Matching more of the query words ranks first
+        assertEquals(List.of("S0001", "S0002"), ids(index.search("ali smith", null)));
+        assertEquals(List.of("S0003"), ids(index.search("bjones", null)));
+    }
+
+    @Test
+    void ranksTheWholeStudentIdFirst() {
+        save(1L, "S0001", "Alice", "Smith", "alice@uni.edu");
+        save(2L, "S0002", "Alicia", "S0001", "alicia@uni.edu");
+
+        List<StudentSearchResultDTO> results = index.search("s0001", null);
+
+        assertEquals(List.of("S0001", "S0002"), ids(results));
+        assertEquals(results.get(1).getScore() + 1.0, results.get(0).getScore(), 1e-9);
+    }
+
+    @Test
+    void fallsBackToTrigramsForTypos() {
+        save(1L, "S0001", "Alice", "Smith", "alice@uni.edu");
+        save(2L, "S0002", "Alicia", "Smythe", "alicia@uni.edu");
+        save(3L, "S0003", "Bob", "Jones", "bob@uni.edu");
+
+        assertEquals(List.of("S0001"), ids(index.search("smitth", null)));
+        assertEquals(List.of("S0003"), ids(index.search("joness", null)));
+        // Too short to compare trigrams, and prefixing nothing
+        assertEquals(List.of(), ids(index.search("zq", null)));
+        assertEquals(List.of(), ids(index.search("  ", null)));
+    }
+
+    @Test
+    void releasesTokensNoStudentUsesAnyMore() {
+        save(1L, "S0001", "Alice", "Smith", "a1@uni.edu");
+        save(2L, "S0002", "Bob", "Jones", "b2@uni.edu");
+        // s0001, a1@uni.edu, alice, smith and a1, plus uni and edu shared with Bob
+        int bobsTokens = index.vocabularySize() - 5;
+
+        save(1L, "S0001", "Alice", "Brown", "a1@uni.edu");
+        assertEquals(List.of(), ids(index.search("smith", null)));
+        // The released word's trigrams go with it, so a typo of it finds nothing either
+        assertEquals(List.of(), ids(index.search("smitth", null)));
+        assertEquals(List.of("S0001"), ids(index.search("brown", null)));
+
+        index.onStudentChanged(new StudentChangedEvent(1L, null, null, null, null, null, ChangeType.DELETED));
+        assertEquals(1, index.size());
+        assertEquals(bobsTokens, index.vocabularySize());
+        assertEquals(List.of(), ids(index.search("alice", null)));
+        assertEquals(List.of("S0002"), ids(index.search("uni", null)));
+    }
+
+    @Test
+    void reusesFreedOrdinalsAndTokenIdsWithoutStaleMatches() {
+        save(1L, "S0001", "Alice", "Smith", "alice@uni.edu");
+        save(2L, "S0002", "Bob", "Jones", "bob@uni.edu");
+        index.onStudentChanged(new StudentChangedEvent(1L, null, null, null, null, null, ChangeType.DELETED));
+        // Takes Alice's ordinal and the ids of her tokens
+        save(3L, "S0003", "Carol", "Green", "carol@uni.edu");
+
+        assertEquals(2, index.size());
+        assertEquals(List.of(), ids(index.search("alice", null)));
+        assertEquals(List.of(), ids(index.search("smitth", null)));
+        assertEquals(List.of("S0003"), ids(index.search("carol", null)));
+        assertEquals(List.of("S0003"), ids(index.search("greeen", null)));
+        assertEquals(List.of("S0002", "S0003"),
+                ids(index.search("uni", null)).stream().sorted().collect(Collectors.toList()));
+
+        StudentSearchIndex fresh = new StudentSearchIndex(studentRepository);
+        students.remove(1L);
+        fresh.rebuild();
+        assertEquals(fresh.vocabularySize(), index.vocabularySize());
+    }
+
+    @Test
+    void rebuildsFromTheRepository() {
+        for (long id = 1; id <= 1500; id++) {
+            Student student = new Student();
+            student.setId(id);
+            student.setStudentId(String.format("R%04d", id));
+            student.setFirstName("First");
+            student.setLastName("Last" + id);
+            student.setEmail("r" + id + "@uni.edu");
+            students.put(id, student);
+        }
+
+        index.rebuild();
+
+        // More students than one load page
+        assertEquals(1500, index.size());
+        assertEquals(List.of("R1234"), ids(index.search("last1234", null)));
+    }
+
+    // Helper method to commit a student and publish the change, as the student service does
+    private void save(Long id, String studentId, String firstName, String lastName, String email) {
+        Student student = new Student();
+        student.setId(id);
+        student.setStudentId(studentId);
+        student.setFirstName(firstName);
+        student.setLastName(lastName);
+        student.setEmail(email);
+        ChangeType changeType = students.put(id, student) == null ? ChangeType.CREATED : ChangeType.UPDATED;
+        index.onStudentChanged(new StudentChangedEvent(id, studentId, firstName, lastName, email, null, changeType));
+    }
+
+    private static List<String> ids(List<StudentSearchResultDTO> results) {
+        return results.stream().map(StudentSearchResultDTO::getStudentId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,126 @@
+package com.enrollment.system.service.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VarIntPostingsTest {
+
+    @Test
+    void readsBackAppendedPostingsOfEveryWidth() {
+        VarIntPostings postings = postings(0, 1, 5, 3, 200, 2, 20000, 1, 3000000, 400);
+
+        assertEquals(List.of(List.of(0, 1), List.of(5, 3), List.of(200, 2), List.of(20000, 1), List.of(3000000, 400)),
+                read(postings));
+        assertEquals(5, postings.size());
+        assertEquals(3000000, postings.lastDoc());
+        // Gaps of 1, 5, 195, 19800 and 2980000 take 1, 1, 2, 3 and 4 bytes; the frequency 400 takes 2
+        assertEquals(1 + 1 + 1 + 1 + 2 + 1 + 3 + 1 + 4 + 2, postings.byteSize());
+    }
+
+    @Test
+    void rejectsPostingsOutOfOrder() {
+        VarIntPostings postings = postings(4, 1);
+
+        assertThrows(IllegalArgumentException.class, () -> postings.append(4, 1));
+        assertThrows(IllegalArgumentException.class, () -> postings.append(2, 1));
+        assertEquals(List.of(List.of(4, 1)), read(postings));
+    }
+
+    @Test
+    void removesTheFirstPosting() {
+        VarIntPostings postings = postings(2, 1, 3, 2, 9, 3);
+
+        assertTrue(postings.remove(2));
+
+        assertEquals(List.of(List.of(3, 2), List.of(9, 3)), read(postings));
+        assertEquals(9, postings.lastDoc());
+    }
+
+    @Test
+    void removesAMiddlePosting() {
+        VarIntPostings postings = postings(2, 1, 3, 2, 9, 3);
+
+        assertTrue(postings.remove(3));
+
+        assertEquals(List.of(List.of(2, 1), List.of(9, 3)), read(postings));
+        assertEquals(2, postings.size());
+    }
+
+    @Test
+    void removesTheLastPostingAndAppendsAfterTheNewLast() {
+        VarIntPostings postings = postings(2, 1, 3, 2, 9, 3);
+
+        assertTrue(postings.remove(9));
+        assertEquals(3, postings.lastDoc());
+        postings.append(5, 4);
+
+        assertEquals(List.of(List.of(2, 1), List.of(3, 2), List.of(5, 4)), read(postings));
+    }
+
+    @Test
+    void mergesGapsIntoAWiderVarInt() {
+        // Gaps of 100 fit a byte each; the merged gap of 200 needs two
+        VarIntPostings postings = postings(0, 1, 100, 1, 200, 7, 201, 1);
+        int before = postings.byteSize();
+
+        assertTrue(postings.remove(100));
+
+        assertEquals(List.of(List.of(0, 1), List.of(200, 7), List.of(201, 1)), read(postings));
+        assertEquals(before - 1, postings.byteSize());
+    }
+
+    @Test
+    void ignoresDocumentsItDoesNotHold() {
+        VarIntPostings postings = postings(2, 1, 9, 3);
+
+        assertFalse(postings.remove(5));
+        assertFalse(postings.remove(1));
+        assertFalse(postings.remove(10));
+        assertTrue(postings.remove(2));
+        assertFalse(postings.remove(2));
+
+        assertEquals(List.of(List.of(9, 3)), read(postings));
+    }
+
+    @Test
+    void emptiesAndRefills() {
+        VarIntPostings postings = new VarIntPostings();
+        for (int doc = 0; doc < 1000; doc += 3) {
+            postings.append(doc, 1 + doc % 5);
+        }
+        for (int doc = 0; doc < 1000; doc += 3) {
+            assertTrue(postings.remove(doc));
+        }
+
+        assertEquals(0, postings.size());
+        assertEquals(0, postings.byteSize());
+        assertEquals(-1, postings.lastDoc());
+        postings.append(0, 2);
+        assertEquals(List.of(List.of(0, 2)), read(postings));
+    }
+
+    // Helper method to build a list from (document, frequency) pairs
+    private static VarIntPostings postings(int... pairs) {
+        VarIntPostings postings = new VarIntPostings();
+        for (int i = 0; i < pairs.length; i += 2) {
+            postings.append(pairs[i], pairs[i + 1]);
+        }
+        return postings;
+    }
+
+    private static List<List<Integer>> read(VarIntPostings postings) {
+        List<List<Integer>> pairs = new ArrayList<>();
+        VarIntPostings.Cursor cursor = postings.cursor();
+        while (cursor.next()) {
+            pairs.add(List.of(cursor.doc(), cursor.frequency()));
+        }
+        return pairs;
+    }
+}
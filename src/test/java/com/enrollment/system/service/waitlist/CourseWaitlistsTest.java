@@ -0,0 +1,174 @@
+package com.enrollment.system.service.waitlist;
+
+import com.enrollment.system.config.PrimaryReads;
+import com.enrollment.system.event.EnrollmentChangedEvent;
+import com.enrollment.system.model.Enrollment.EnrollmentStatus;
+import com.enrollment.system.repository.EnrollmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CourseWaitlistsTest {
+
+    private static final Long COURSE_ID = 1L;
+
+    private EnrollmentRepository enrollmentRepository;
+    private CourseWaitlists courseWaitlists;
+
+    @BeforeEach
+    void setUp() {
+        enrollmentRepository = mock(EnrollmentRepository.class);
+        courseWaitlists = new CourseWaitlists(enrollmentRepository, new PrimaryReads(mock(PlatformTransactionManager.class), ""));
+    }
+
+    @Test
+    void loadsTheLineInJoinOrderOnce() {
+        when(enrollmentRepository.findWaitlistedIdsByCourseId(COURSE_ID)).thenReturn(List.of(10L, 11L, 12L));
+
+        assertEquals(List.of(10L, 11L, 12L), line());
+        assertEquals(2, courseWaitlists.position(COURSE_ID, 11L));
+        assertEquals(0, courseWaitlists.position(COURSE_ID, 99L));
+        assertNull(courseWaitlists.get(COURSE_ID, 0));
+        assertNull(courseWaitlists.get(COURSE_ID, 4));
+        verify(enrollmentRepository, times(1)).findWaitlistedIdsByCourseId(anyLong());
+    }
+
+    @Test
+    void appendsJoinsAndRemovesLeaves() {
+        when(enrollmentRepository.findWaitlistedIdsByCourseId(COURSE_ID)).thenReturn(List.of(10L, 11L));
+        courseWaitlists.size(COURSE_ID);
+
+        courseWaitlists.onEnrollmentChanged(join(12L));
+        courseWaitlists.onEnrollmentChanged(promote(10L));
+        courseWaitlists.onEnrollmentChanged(join(13L));
+        courseWaitlists.onEnrollmentChanged(drop(12L));
+
+        assertEquals(List.of(11L, 13L), line());
+        assertEquals(1, courseWaitlists.position(COURSE_ID, 11L));
+        assertEquals(2, courseWaitlists.position(COURSE_ID, 13L));
+        assertEquals(0, courseWaitlists.position(COURSE_ID, 12L));
+    }
+
+    @Test
+    void ignoresRepeatedJoinsAndUnknownLeaves() {
+        when(enrollmentRepository.findWaitlistedIdsByCourseId(COURSE_ID)).thenReturn(List.of(10L));
+        courseWaitlists.size(COURSE_ID);
+
+        courseWaitlists.onEnrollmentChanged(join(10L));
+        courseWaitlists.onEnrollmentChanged(drop(99L));
+        courseWaitlists.remove(COURSE_ID, 98L);
+
+        assertEquals(List.of(10L), line());
+    }
+
+    @Test
+    void keepsOrderWhenCompactingAfterInterleavedRemovals() {
+        when(enrollmentRepository.findWaitlistedIdsByCourseId(COURSE_ID)).thenReturn(List.of());
+        courseWaitlists.size(COURSE_ID);
+        List<Long> expected = new ArrayList<>();
+        // 16 slots to start with; joins and leaves fill them and force compaction several times over
+        for (long id = 1; id <= 200; id++) {
+            courseWaitlists.onEnrollmentChanged(join(id));
+            expected.add(id);
+            if (id % 3 == 0) {
+                Long leaving = expected.remove(expected.size() / 2);
+                courseWaitlists.onEnrollmentChanged(drop(leaving));
+            }
+            if (id % 7 == 0) {
+                Long promoted = expected.remove(0);
+                courseWaitlists.onEnrollmentChanged(promote(promoted));
+            }
+        }
+
+        assertEquals(expected, line());
+        for (int k = 1; k <= expected.size(); k++) {
+            assertEquals(k, courseWaitlists.position(COURSE_ID, expected.get(k - 1)));
+        }
+    }
+
+    @Test
+    void skipsEventsForLinesNotLoadedYet() {
+        courseWaitlists.onEnrollmentChanged(join(10L));
+        when(enrollmentRepository.findWaitlistedIdsByCourseId(COURSE_ID)).thenReturn(List.of(11L));
+
+        // The load reads the committed rows, which already reflect the earlier event
+        assertEquals(List.of(11L), line());
+    }
+
+    @Test
+    void appliesEventsCommittedDuringTheLoadOnTopOfIt() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(enrollmentRepository.findWaitlistedIdsByCourseId(COURSE_ID)).thenAnswer(invocation -> {
+            loading.countDown();
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+            // The load already sees 12 joined, but not 13 joined or 11 gone
+            return List.of(10L, 11L, 12L);
+        });
+
+        Thread load = new Thread(() -> courseWaitlists.size(COURSE_ID));
+        load.start();
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        Thread events = new Thread(() -> {
+            courseWaitlists.onEnrollmentChanged(join(12L));
+            courseWaitlists.onEnrollmentChanged(join(13L));
+            courseWaitlists.onEnrollmentChanged(drop(11L));
+        });
+        events.start();
+        awaitBlocked(events);
+        release.countDown();
+        load.join(5000);
+        events.join(5000);
+
+        assertEquals(List.of(10L, 12L, 13L), line());
+        verify(enrollmentRepository, times(1)).findWaitlistedIdsByCourseId(anyLong());
+    }
+
+    // Helper method to list the line through the k-th lookup
+    private List<Long> line() {
+        return LongStream.rangeClosed(1, courseWaitlists.size(COURSE_ID))
+                .mapToObj(k -> courseWaitlists.get(COURSE_ID, (int) k))
+                .collect(Collectors.toList());
+    }
+
+    private static void awaitBlocked(Thread thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != Thread.State.BLOCKED) {
+            assertTrue(System.nanoTime() < deadline, "event thread never waited for the load");
+            Thread.sleep(1);
+        }
+    }
+
+    private static EnrollmentChangedEvent join(Long enrollmentId) {
+        return event(enrollmentId, null, EnrollmentStatus.WAITLISTED);
+    }
+
+    private static EnrollmentChangedEvent promote(Long enrollmentId) {
+        return event(enrollmentId, EnrollmentStatus.WAITLISTED, EnrollmentStatus.ENROLLED);
+    }
+
+    private static EnrollmentChangedEvent drop(Long enrollmentId) {
+        return event(enrollmentId, EnrollmentStatus.WAITLISTED, EnrollmentStatus.DROPPED);
+    }
+
+    private static EnrollmentChangedEvent event(Long enrollmentId, EnrollmentStatus previous, EnrollmentStatus next) {
+        return new EnrollmentChangedEvent(enrollmentId, 100L + enrollmentId, COURSE_ID, "CS101", previous, next);
+    }
+}
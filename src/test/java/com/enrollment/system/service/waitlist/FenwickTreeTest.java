@@ -0,0 +1,97 @@
+package com.enrollment.system.service.waitlist;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FenwickTreeTest {
+
+    @Test
+    void countsAndFindsSetFlags() {
+        FenwickTree tree = new FenwickTree(8);
+        tree.add(1, 1);
+        tree.add(4, 1);
+        tree.add(7, 1);
+
+        assertEquals(0, tree.prefixSum(0));
+        assertEquals(1, tree.prefixSum(1));
+        assertEquals(2, tree.prefixSum(6));
+        assertEquals(3, tree.prefixSum(7));
+        assertEquals(1, tree.findKth(1));
+        assertEquals(4, tree.findKth(2));
+        assertEquals(7, tree.findKth(3));
+        assertEquals(-1, tree.findKth(4));
+    }
+
+    @Test
+    void skipsClearedFlags() {
+        FenwickTree tree = new FenwickTree(8);
+        for (int slot = 0; slot < 8; slot++) {
+            tree.add(slot, 1);
+        }
+        tree.add(0, -1);
+        tree.add(3, -1);
+        tree.add(7, -1);
+
+        assertEquals(1, tree.findKth(1));
+        assertEquals(2, tree.findKth(2));
+        assertEquals(4, tree.findKth(3));
+        assertEquals(6, tree.findKth(5));
+        assertEquals(-1, tree.findKth(6));
+        assertEquals(2, tree.prefixSum(3));
+        assertEquals(5, tree.prefixSum(7));
+    }
+
+    @Test
+    void buildsFromFlagsLikeSeparateUpdates() {
+        // Capacities that are not powers of two leave a partial top range for findKth to skip
+        boolean[] flags = {true, false, true, true, false, false, true, false, true, true, false};
+        FenwickTree built = new FenwickTree(flags, 13);
+        FenwickTree added = new FenwickTree(13);
+        for (int slot = 0; slot < flags.length; slot++) {
+            if (flags[slot]) {
+                added.add(slot, 1);
+            }
+        }
+
+        assertEquals(13, built.capacity());
+        for (int slot = 0; slot < 13; slot++) {
+            assertEquals(added.prefixSum(slot), built.prefixSum(slot), "prefix sum at slot " + slot);
+        }
+        for (int k = 1; k <= 7; k++) {
+            assertEquals(added.findKth(k), built.findKth(k), "slot of flag " + k);
+        }
+    }
+
+    @Test
+    void matchesAListUnderRandomUpdates() {
+        Random random = new Random(42);
+        int capacity = 100;
+        FenwickTree tree = new FenwickTree(capacity);
+        boolean[] flags = new boolean[capacity];
+
+        for (int round = 0; round < 2000; round++) {
+            int slot = random.nextInt(capacity);
+            tree.add(slot, flags[slot] ? -1 : 1);
+            flags[slot] = !flags[slot];
+
+            List<Integer> setSlots = new ArrayList<>();
+            for (int i = 0; i < capacity; i++) {
+                if (flags[i]) {
+                    setSlots.add(i);
+                }
+            }
+            int probe = random.nextInt(capacity);
+            assertEquals(setSlots.stream().filter(i -> i <= probe).count(), tree.prefixSum(probe));
+            if (!setSlots.isEmpty()) {
+                int k = 1 + random.nextInt(setSlots.size());
+                assertEquals(setSlots.get(k - 1), tree.findKth(k));
+            }
+            assertEquals(-1, tree.findKth(setSlots.size() + 1));
+        }
+    }
+}